@@ -101,7 +101,9 @@ public class StatisticsService {
     }
 
     private String getUserIdentifier() {
-        String userIdentifier = httpRequest.getHeader("x-authenticated-user");
+        String userIdentifier = ValidationJobContext.current()
+                .map(ValidationJobContext::getUserIdentifier)
+                .orElseGet(() -> httpRequest.getHeader(ValidationJobContext.USER_IDENTIFIER_HEADER));
         return StringUtils.isEmpty(userIdentifier) ? NA : userIdentifier;
     }
 
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.statistics;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Optional;
+
+/**
+ * Request values needed by statistics, captured when a validation is handed over to another thread.
+ * Worker threads have no HTTP request of their own and the original request may already be recycled
+ * by the servlet container, so the values are copied while the submitting request is still active.
+ */
+public final class ValidationJobContext {
+
+    static final String USER_IDENTIFIER_HEADER = "x-authenticated-user";
+
+    private static final ThreadLocal<ValidationJobContext> CURRENT_CONTEXT = new ThreadLocal<>();
+
+    private final String userIdentifier;
+
+    private ValidationJobContext(String userIdentifier) {
+        this.userIdentifier = userIdentifier;
+    }
+
+    public static ValidationJobContext of(HttpServletRequest request) {
+        return new ValidationJobContext(request.getHeader(USER_IDENTIFIER_HEADER));
+    }
+
+    public static Optional<ValidationJobContext> current() {
+        return Optional.ofNullable(CURRENT_CONTEXT.get());
+    }
+
+    public String getUserIdentifier() {
+        return userIdentifier;
+    }
+
+    /**
+     * Runs the task with this context bound to the current thread. Context of the current thread is restored
+     * afterwards, as the task may also be run by the submitting thread itself.
+     */
+    public void run(Runnable task) {
+        ValidationJobContext previousContext = CURRENT_CONTEXT.get();
+        CURRENT_CONTEXT.set(this);
+        try {
+            task.run();
+        } finally {
+            if (previousContext == null) {
+                CURRENT_CONTEXT.remove();
+            } else {
+                CURRENT_CONTEXT.set(previousContext);
+            }
+        }
+    }
+}
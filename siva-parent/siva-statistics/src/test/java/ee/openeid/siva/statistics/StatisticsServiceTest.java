@@ -200,6 +200,30 @@ public class StatisticsServiceTest {
         verify(loggerMock, never()).info(eq(getMarker(SIGNATURE_LOG_MARKER)), anyString());
     }
 
+    @Test
+    public void testValidationStatisticsUserIdentifierIsTakenFromValidationJobContext() {
+        SimpleReport report = createDummySimpleReport("ASiC-E", 0, 0);
+
+        HttpServletRequest mockedRequest = mock(HttpServletRequest.class);
+        statisticsService.setHttpRequest(mockedRequest);
+        HttpServletRequest submittingRequest = mock(HttpServletRequest.class);
+        when(submittingRequest.getHeader(X_AUTHENTICATED_USER)).thenReturn("job-user");
+
+        ValidationJobContext.of(submittingRequest).run(() ->
+                statisticsService.publishValidationStatistic(TimeUnit.MILLISECONDS.toNanos(1000L), report.getValidationConclusion()));
+
+        verify(loggerMock).info(getMarker(CONTAINER_LOG_MARKER),
+                "{\"stats\":{" +
+                        "\"type\":\"ASiC-E\"," +
+                        "\"usrId\":\"job-user\"," +
+                        "\"dur\":1000," +
+                        "\"sigCt\":0," +
+                        "\"vSigCt\":0," +
+                        "\"sigRslt\":[]," +
+                        "\"sigType\":\"N/A\"}}");
+        verify(mockedRequest, never()).getHeader(anyString());
+    }
+
     private SimpleReport createDummySimpleReport(String signatureForm, int validSignaturesCount, int totalSignaturesCount) {
         ValidationConclusion validationConclusion = new ValidationConclusion();
         validationConclusion.setSignaturesCount(totalSignaturesCount);
@@ -17,8 +17,12 @@
 package ee.openeid.siva.proxy;
 
 import ee.openeid.siva.proxy.document.ProxyDocument;
+import ee.openeid.siva.proxy.document.typeresolver.DocumentFormatSniffer;
 import ee.openeid.siva.statistics.StatisticsService;
 import ee.openeid.siva.validation.document.ValidationDocument;
+import ee.openeid.siva.validation.document.container.ZipContainerIndex;
+import ee.openeid.siva.validation.document.content.DocumentContent;
+import ee.openeid.siva.validation.document.content.DocumentContentFactory;
 import ee.openeid.siva.validation.document.report.Reports;
 import ee.openeid.siva.validation.document.report.SimpleReport;
 import ee.openeid.siva.validation.document.report.TimeStampTokenValidationData;
@@ -28,10 +32,6 @@ import ee.openeid.siva.validation.exception.MalformedDocumentException;
 import ee.openeid.siva.validation.service.ValidationService;
 import ee.openeid.validation.service.timemark.report.DDOCContainerValidationReportBuilder;
 import ee.openeid.validation.service.timestamptoken.TimeStampTokenValidationService;
-import eu.europa.esig.dss.asic.common.ZipUtils;
-import eu.europa.esig.dss.exception.IllegalInputException;
-import eu.europa.esig.dss.model.DSSDocument;
-import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -40,15 +40,9 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.Set;
 
 @Service
 public class ContainerValidationProxy extends ValidationProxy {
@@ -63,9 +57,11 @@ public class ContainerValidationProxy extends ValidationProxy {
     private static final String TIMEMARK_CONTAINER_SERVICE = "timemarkContainer";
     private static final String TIMESTAMP_TOKEN_SERVICE = "timeStampToken";
     private static final String MIME_TYPE_FILE_NAME = "mimetype";
-    private static final String ASICS_MIME_TYPE = "application/vnd.etsi.asic-s+zip";
     private static final String META_INF_FOLDER = "META-INF/";
     private static final String DOCUMENT_FORMAT_NOT_RECOGNIZED = "Document format not recognized/handled";
+    private static final Set<String> GENERIC_FILE_TYPES = Set.of("PDF", "ASICE", "SCE");
+
+    private DocumentContentFactory documentContentFactory;
 
     @Autowired
     public ContainerValidationProxy(StatisticsService statisticsService,
@@ -76,28 +72,28 @@ public class ContainerValidationProxy extends ValidationProxy {
 
     @Override
     public SimpleReport validateRequest(ProxyRequest proxyRequest) {
-        Reports reports;
-        SimpleReport report;
-
         ValidationService validationService = getServiceForType(proxyRequest);
-        reports = validate(validationService, proxyRequest);
-        report = chooseReport(reports, proxyRequest.getReportType());
-        if (validationService instanceof TimeStampTokenValidationService
-                && report.getValidationConclusion().getTimeStampTokens().stream()
-                .allMatch(token -> token.getIndication() == TimeStampTokenValidationData.Indication.TOTAL_PASSED)) {
-            report = generateDataFileReport(proxyRequest, report);
+        ValidationDocument validationDocument = createValidationDocument(proxyRequest);
+        try {
+            SimpleReport report = chooseReport(validationService.validateDocument(validationDocument), proxyRequest.getReportType());
+            if (validationService instanceof TimeStampTokenValidationService
+                    && report.getValidationConclusion().getTimeStampTokens().stream()
+                    .allMatch(token -> token.getIndication() == TimeStampTokenValidationData.Indication.TOTAL_PASSED)) {
+                report = generateDataFileReport(proxyRequest, validationDocument, report);
+            }
+            return report;
+        } finally {
+            closeContent(validationDocument);
         }
-
-        return report;
     }
 
-    SimpleReport generateDataFileReport(ProxyRequest proxyRequest, SimpleReport report) {
+    SimpleReport generateDataFileReport(ProxyRequest proxyRequest, ValidationDocument validationDocument, SimpleReport report) {
         ProxyDocument proxyDocument = (ProxyDocument) proxyRequest;
-        ProxyDocument dataFileProxyDocument = generateDataFileProxyDocument(proxyDocument);
+        ProxyDocument dataFileProxyDocument = generateDataFileProxyDocument(proxyDocument, ZipContainerIndex.of(validationDocument));
         ValidationService dataFileValidationService = getServiceForType(dataFileProxyDocument);
         SimpleReport dataFileReport = null;
         try {
-            dataFileReport = chooseReport(dataFileValidationService.validateDocument(createValidationDocument(dataFileProxyDocument)), proxyDocument.getReportType());
+            dataFileReport = chooseReport(validate(dataFileValidationService, dataFileProxyDocument), proxyDocument.getReportType());
             removeUnnecessaryWarning(dataFileReport.getValidationConclusion());
         } catch (MalformedDocumentException e) {
             if (e.getCause() == null || !DOCUMENT_FORMAT_NOT_RECOGNIZED.equalsIgnoreCase(e.getCause().getMessage())) {
@@ -118,20 +114,56 @@ public class ContainerValidationProxy extends ValidationProxy {
         if (DDOC_FILE_TYPE.equals(extension) || BDOC_FILE_TYPE.equals(extension)) {
             return TIMEMARK_CONTAINER_SERVICE + SERVICE_BEAN_NAME_POSTFIX;
         } else if (extension.equals(ASICS_EXTENSION) || extension.equals(SCS_FILE_TYPE) || extension.equals(ZIP_FILE_TYPE)) {
-            return decideAsicsValidatorService(proxyDocument.getBytes(), extension);
+            return decideAsicsValidatorService(proxyDocument, extension);
+        } else if (GENERIC_FILE_TYPES.contains(extension)) {
+            return GENERIC_SERVICE + SERVICE_BEAN_NAME_POSTFIX;
+        }
+        return constructValidatorNameFromContent(proxyDocument);
+    }
+
+    private String constructValidatorNameFromContent(ProxyDocument proxyDocument) {
+        switch (DocumentFormatSniffer.sniff(proxyDocument.getBytes())) {
+            case DDOC:
+                return TIMEMARK_CONTAINER_SERVICE + SERVICE_BEAN_NAME_POSTFIX;
+            case ASIC_S:
+                return decideAsicsValidatorService(proxyDocument, ASICS_EXTENSION);
+            default:
+                return GENERIC_SERVICE + SERVICE_BEAN_NAME_POSTFIX;
         }
-        return GENERIC_SERVICE + SERVICE_BEAN_NAME_POSTFIX;
     }
 
     ValidationDocument createValidationDocument(ProxyRequest proxyRequest) {
         ValidationDocument validationDocument = new ValidationDocument();
         ProxyDocument proxyDocument = (ProxyDocument) proxyRequest;
         validationDocument.setName(proxyDocument.getName());
-        validationDocument.setBytes(proxyDocument.getBytes());
+        setDocumentContent(validationDocument, proxyDocument);
+        if (proxyDocument.getDocumentDigest() != null) {
+            validationDocument.setSha256Digest(proxyDocument.getDocumentDigest());
+        }
         validationDocument.setSignaturePolicy(proxyDocument.getSignaturePolicy());
+        validationDocument.setContainerIndex(proxyDocument.getContainerIndex());
+        validationDocument.setReportType(toRequestedReportType(proxyDocument.getReportType()));
+        validationDocument.setValidationLevel(toRequestedValidationLevel(proxyDocument.getValidationLevel()));
         return validationDocument;
     }
 
+    private void setDocumentContent(ValidationDocument validationDocument, ProxyDocument proxyDocument) {
+        byte[] bytes = proxyDocument.getBytes();
+        if (documentContentFactory == null || bytes == null) {
+            validationDocument.setBytes(bytes);
+            return;
+        }
+        DocumentContent content = documentContentFactory.create(bytes);
+        if (content.isInMemory()) {
+            validationDocument.setBytes(bytes);
+        } else {
+            validationDocument.setContent(content);
+            // The content now owns the document, the request must not keep a second copy on the heap. The container
+            //  index of the request reads from the released bytes, so it is rebuilt from the content when needed.
+            proxyDocument.releaseBytes();
+        }
+    }
+
     private SimpleReport mergeReports(SimpleReport timeStampTokenReport, SimpleReport dataFileReport) {
         if (dataFileReport != null) {
             dataFileReport.getValidationConclusion().setTimeStampTokens(timeStampTokenReport.getValidationConclusion().getTimeStampTokens());
@@ -142,65 +174,64 @@ public class ContainerValidationProxy extends ValidationProxy {
         return timeStampTokenReport;
     }
 
-    private ProxyDocument generateDataFileProxyDocument(ProxyDocument proxyDocument) {
+    private ProxyDocument generateDataFileProxyDocument(ProxyDocument proxyDocument, ZipContainerIndex containerIndex) {
         ProxyDocument dataFileDocument = new ProxyDocument();
-        InMemoryDocument inMemoryDocument = getDataFile(proxyDocument.getBytes());
+        InMemoryDocument inMemoryDocument = getDataFile(containerIndex);
         dataFileDocument.setName(inMemoryDocument.getName());
         dataFileDocument.setSignaturePolicy(proxyDocument.getSignaturePolicy());
+        dataFileDocument.setReportType(proxyDocument.getReportType());
+        dataFileDocument.setValidationLevel(proxyDocument.getValidationLevel());
         dataFileDocument.setBytes(inMemoryDocument.getBytes());
         return dataFileDocument;
     }
 
     private Reports validate(ValidationService validationService, ProxyRequest proxyRequest) {
-        return validationService.validateDocument(createValidationDocument(proxyRequest));
+        ValidationDocument validationDocument = createValidationDocument(proxyRequest);
+        try {
+            return validationService.validateDocument(validationDocument);
+        } finally {
+            closeContent(validationDocument);
+        }
     }
 
-    private InMemoryDocument getDataFile(byte[] proxyDocument) {
-        try (ZipInputStream zipStream = new ZipInputStream(new ByteArrayInputStream(proxyDocument))) {
-            ZipEntry entry;
-            while ((entry = zipStream.getNextEntry()) != null) {
-                if (!entry.getName().startsWith(META_INF_FOLDER) && !entry.getName().equalsIgnoreCase(MIME_TYPE_FILE_NAME)) {
-                    return new InMemoryDocument(zipStream, entry.getName());
-                }
+    private static void closeContent(ValidationDocument validationDocument) {
+        if (validationDocument.getContent() != null) {
+            validationDocument.getContent().close();
+        }
+    }
+
+    private InMemoryDocument getDataFile(ZipContainerIndex containerIndex) {
+        for (ZipContainerIndex.Entry entry : containerIndex.getEntries()) {
+            if (!entry.getName().startsWith(META_INF_FOLDER) && !entry.getName().equalsIgnoreCase(MIME_TYPE_FILE_NAME)) {
+                return new InMemoryDocument(entry.getBytes(), entry.getName());
             }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
         }
         throw new IllegalArgumentException("Invalid document");
     }
 
-    private String decideAsicsValidatorService(byte[] document, String extension) {
-        DSSDocument dssDocument = new InMemoryDocument(document);
-        List<DSSDocument> containerContent;
-        try {
-            containerContent = ZipUtils.getInstance().extractContainerContent(dssDocument);
-        } catch (DSSException | IllegalInputException e) {
-            throw new MalformedDocumentException(e);
+    private static ZipContainerIndex getContainerIndex(ProxyDocument proxyDocument) {
+        if (proxyDocument.getContainerIndex() == null) {
+            proxyDocument.setContainerIndex(ZipContainerIndex.of(proxyDocument.getBytes()));
         }
+        return proxyDocument.getContainerIndex();
+    }
 
-        boolean isAsicsMimeType = false;
-        boolean isTimeStampExtension = false;
-
-        for (DSSDocument containerEntry : containerContent) {
-            if (isAsicsMimeType(containerEntry)) {
-                isAsicsMimeType = true;
-            }
-            if (isTimeStamp(containerEntry)) {
-                isTimeStampExtension = true;
-            }
+    private String decideAsicsValidatorService(ProxyDocument proxyDocument, String extension) {
+        if (extension.equals(ZIP_FILE_TYPE) && !DocumentFormatSniffer.isAsicsContainer(proxyDocument.getBytes())) {
+            return GENERIC_SERVICE + SERVICE_BEAN_NAME_POSTFIX;
         }
+        // Only the central directory is read, the index is handed over to the validation of the same request
+        boolean isTimeStampExtension = getContainerIndex(proxyDocument).getEntries().stream()
+                .anyMatch(ContainerValidationProxy::isTimeStamp);
 
-        if (extension.equals(ZIP_FILE_TYPE)) {
-            if (isAsicsMimeType && isTimeStampExtension) {
-                return TIMESTAMP_TOKEN_SERVICE + SERVICE_BEAN_NAME_POSTFIX;
-            }
-        } else {
-            if (isTimeStampExtension) {
-                return TIMESTAMP_TOKEN_SERVICE + SERVICE_BEAN_NAME_POSTFIX;
-            }
-        }
+        return isTimeStampExtension
+                ? TIMESTAMP_TOKEN_SERVICE + SERVICE_BEAN_NAME_POSTFIX
+                : GENERIC_SERVICE + SERVICE_BEAN_NAME_POSTFIX;
+    }
 
-        return GENERIC_SERVICE + SERVICE_BEAN_NAME_POSTFIX;
+    @Autowired(required = false)
+    public void setDocumentContentFactory(DocumentContentFactory documentContentFactory) {
+        this.documentContentFactory = documentContentFactory;
     }
 
     void removeUnnecessaryWarning(ValidationConclusion validationConclusion) {
@@ -212,23 +243,7 @@ public class ContainerValidationProxy extends ValidationProxy {
         validationConclusion.setValidationWarnings(newList);
     }
 
-    private static boolean isAsicsMimeType(DSSDocument entry) {
-        if (!entry.getName().equals(MIME_TYPE_FILE_NAME)) {
-            return false;
-        }
-        try (InputStream inputStream = entry.openStream()) {
-            byte[] expectedBytes = ASICS_MIME_TYPE.getBytes(StandardCharsets.US_ASCII);
-            byte[] readBuffer = new byte[expectedBytes.length];
-
-            return inputStream.read(readBuffer) == expectedBytes.length
-                    && Arrays.equals(readBuffer, expectedBytes)
-                    && inputStream.read() < 0;
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to read entry", e);
-        }
-    }
-
-    private static boolean isTimeStamp(DSSDocument entry) {
+    private static boolean isTimeStamp(ZipContainerIndex.Entry entry) {
         return entry.getName().toUpperCase().endsWith(TIMESTAMP_EXTENSION);
     }
 
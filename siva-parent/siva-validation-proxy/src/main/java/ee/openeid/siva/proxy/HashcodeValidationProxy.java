@@ -68,6 +68,7 @@ public class HashcodeValidationProxy extends ValidationProxy {
         validationDocument.setSignaturePolicy(signaturePolicy);
         validationDocument.setBytes(signatureFile.getSignature());
         validationDocument.setDatafiles(signatureFile.getDatafiles());
+        validationDocument.setReportType(Reports.Type.SIMPLE);
         return validationDocument;
     }
 }
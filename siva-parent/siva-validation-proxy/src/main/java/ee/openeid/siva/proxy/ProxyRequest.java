@@ -1,6 +1,7 @@
 package ee.openeid.siva.proxy;
 
 import ee.openeid.siva.proxy.document.ReportType;
+import ee.openeid.siva.proxy.document.ValidationLevel;
 import lombok.Data;
 
 @Data
@@ -9,4 +10,9 @@ public abstract class ProxyRequest {
     private String signaturePolicy;
 
     private ReportType reportType;
+
+    /**
+     * Requested validation level, {@code null} if the level of the signature policy should be used.
+     */
+    private ValidationLevel validationLevel;
 }
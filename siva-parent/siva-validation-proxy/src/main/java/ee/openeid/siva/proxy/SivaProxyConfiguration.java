@@ -16,11 +16,14 @@
 
 package ee.openeid.siva.proxy;
 
+import ee.openeid.siva.proxy.configuration.ValidationResultCacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 @ComponentScan("ee.openeid")
+@EnableConfigurationProperties(ValidationResultCacheProperties.class)
 public class SivaProxyConfiguration { }
 
 
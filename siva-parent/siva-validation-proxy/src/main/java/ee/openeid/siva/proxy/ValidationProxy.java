@@ -16,7 +16,12 @@
 
 package ee.openeid.siva.proxy;
 
+import ee.openeid.siva.proxy.cache.ValidationRequestCoalescer;
+import ee.openeid.siva.proxy.cache.ValidationRequestKey;
+import ee.openeid.siva.proxy.cache.ValidationResultCache;
+import ee.openeid.siva.proxy.document.ProxyDocument;
 import ee.openeid.siva.proxy.document.ReportType;
+import ee.openeid.siva.proxy.document.ValidationLevel;
 import ee.openeid.siva.proxy.exception.ValidatonServiceNotFoundException;
 import ee.openeid.siva.statistics.StatisticsService;
 import ee.openeid.siva.validation.document.report.Reports;
@@ -26,14 +31,17 @@ import ee.openeid.siva.validation.service.ValidationService;
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
 
+import javax.annotation.PostConstruct;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 public abstract class ValidationProxy {
     static final Logger LOGGER = LoggerFactory.getLogger(ValidationProxy.class);
@@ -44,6 +52,9 @@ public abstract class ValidationProxy {
     private final StatisticsService statisticsService;
     private final ApplicationContext applicationContext;
     private final Environment environment;
+    private ValidationResultCache validationResultCache;
+    private ValidationRequestCoalescer validationRequestCoalescer;
+    private volatile Map<String, ValidationService> validationServices;
 
     @Autowired
     public ValidationProxy(StatisticsService statisticsService, ApplicationContext applicationContext, Environment environment) {
@@ -54,7 +65,7 @@ public abstract class ValidationProxy {
 
     public SimpleReport validate(ProxyRequest proxyRequest) {
         long validationStartTime = System.nanoTime();
-        SimpleReport report = validateRequest(proxyRequest);
+        SimpleReport report = validateOrReuse(proxyRequest);
         long validationDuration = System.nanoTime() - validationStartTime;
 
         publishStatistics(report, validationDuration);
@@ -62,6 +73,20 @@ public abstract class ValidationProxy {
         return report;
     }
 
+    private SimpleReport validateOrReuse(ProxyRequest proxyRequest) {
+        boolean cacheEnabled = validationResultCache != null && validationResultCache.isEnabled();
+        boolean coalescerEnabled = validationRequestCoalescer != null && validationRequestCoalescer.isEnabled();
+        if (!(proxyRequest instanceof ProxyDocument) || (!cacheEnabled && !coalescerEnabled)) {
+            return validateRequest(proxyRequest);
+        }
+
+        ValidationRequestKey key = ValidationRequestKey.of((ProxyDocument) proxyRequest);
+        Supplier<SimpleReport> validation = cacheEnabled
+                ? () -> validationResultCache.getOrValidate(key, () -> validateRequest(proxyRequest))
+                : () -> validateRequest(proxyRequest);
+        return coalescerEnabled ? validationRequestCoalescer.validate(key, validation) : validation.get();
+    }
+
     private void publishStatistics(SimpleReport report, long validationDuration) {
         statisticsService.publishValidationStatistic(validationDuration, report.getValidationConclusion());
     }
@@ -101,15 +126,62 @@ public abstract class ValidationProxy {
         }
     }
 
+    static Reports.Type toRequestedReportType(ReportType reportType) {
+        if (reportType == null) {
+            return Reports.Type.SIMPLE;
+        }
+        return Arrays.stream(Reports.Type.values())
+                .filter(type -> type.name().equals(reportType.name()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    static eu.europa.esig.dss.validation.executor.ValidationLevel toRequestedValidationLevel(ValidationLevel validationLevel) {
+        if (validationLevel == null) {
+            return null;
+        }
+        return eu.europa.esig.dss.validation.executor.ValidationLevel.valueOf(validationLevel.name());
+    }
+
     ValidationService getServiceForType(ProxyRequest proxyRequest) {
         String validatorName = constructValidatorName(proxyRequest);
         LOGGER.info("Validation service: {}", validatorName);
-        try {
-            return (ValidationService) applicationContext.getBean(validatorName);
-        } catch (NoSuchBeanDefinitionException e) {
-            LOGGER.error("{} not found", validatorName, e);
+        ValidationService validationService = getValidationServices().get(validatorName);
+        if (validationService == null) {
+            LOGGER.error("{} not found", validatorName);
             throw new ValidatonServiceNotFoundException(validatorName + " not found");
         }
+        return validationService;
+    }
+
+    @PostConstruct
+    void initValidationServices() {
+        getValidationServices();
+    }
+
+    private Map<String, ValidationService> getValidationServices() {
+        Map<String, ValidationService> services = validationServices;
+        if (services == null) {
+            synchronized (this) {
+                services = validationServices;
+                if (services == null) {
+                    services = Map.copyOf(applicationContext.getBeansOfType(ValidationService.class));
+                    LOGGER.info("Registered validation services: {}", services.keySet());
+                    validationServices = services;
+                }
+            }
+        }
+        return services;
+    }
+
+    @Autowired(required = false)
+    public void setValidationResultCache(ValidationResultCache validationResultCache) {
+        this.validationResultCache = validationResultCache;
+    }
+
+    @Autowired(required = false)
+    public void setValidationRequestCoalescer(ValidationRequestCoalescer validationRequestCoalescer) {
+        this.validationRequestCoalescer = validationRequestCoalescer;
     }
 
     abstract String constructValidatorName(ProxyRequest proxyRequest);
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.proxy.cache;
+
+import ee.openeid.siva.proxy.configuration.ValidationResultCacheProperties;
+import ee.openeid.siva.proxy.report.ReportCopyUtils;
+import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.validation.document.report.builder.ReportBuilderUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs a single validation for identical requests that arrive while an earlier one is still being validated.
+ * Callers joining an ongoing validation receive their own copy of its report.
+ */
+@Component
+public class ValidationRequestCoalescer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ValidationRequestCoalescer.class);
+
+    private final ConcurrentMap<ValidationRequestKey, CompletableFuture<SimpleReport>> inFlightValidations = new ConcurrentHashMap<>();
+    private ValidationResultCacheProperties properties;
+
+    public boolean isEnabled() {
+        return properties.isCoalesceConcurrentRequests();
+    }
+
+    public SimpleReport validate(ValidationRequestKey key, Supplier<SimpleReport> validation) {
+        if (!isEnabled()) {
+            return validation.get();
+        }
+
+        CompletableFuture<SimpleReport> ownValidation = new CompletableFuture<>();
+        CompletableFuture<SimpleReport> ongoingValidation = inFlightValidations.putIfAbsent(key, ownValidation);
+        if (ongoingValidation != null) {
+            LOGGER.info("Joining ongoing validation of document {}", key.getDocumentHash());
+            SimpleReport report = ReportCopyUtils.copyOf(awaitReport(ongoingValidation));
+            report.getValidationConclusion().setValidationTime(ReportBuilderUtils.getValidationTime());
+            return report;
+        }
+
+        try {
+            SimpleReport report = validation.get();
+            ownValidation.complete(ReportCopyUtils.copyOf(report));
+            return report;
+        } catch (RuntimeException | Error e) {
+            ownValidation.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightValidations.remove(key, ownValidation);
+        }
+    }
+
+    @Autowired
+    public void setProperties(ValidationResultCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    int inFlightCount() {
+        return inFlightValidations.size();
+    }
+
+    private static SimpleReport awaitReport(CompletableFuture<SimpleReport> validation) {
+        try {
+            return validation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.proxy.cache;
+
+import ee.openeid.siva.proxy.document.ProxyDocument;
+import ee.openeid.siva.proxy.document.ReportType;
+import ee.openeid.siva.proxy.document.ValidationLevel;
+import lombok.Value;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Identifies validation requests that produce the same report: same document content, file name
+ * (which determines the validation service), signature policy, report type and validation level.
+ */
+@Value
+public class ValidationRequestKey {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    String documentHash;
+    String filename;
+    String signaturePolicy;
+    ReportType reportType;
+    ValidationLevel validationLevel;
+
+    /**
+     * Creates the key of the request, keeping the computed document digest in the request for the validated document
+     * hash of the report.
+     */
+    public static ValidationRequestKey of(ProxyDocument proxyDocument) {
+        if (proxyDocument.getDocumentDigest() == null) {
+            proxyDocument.setDocumentDigest(digest(proxyDocument.getBytes()));
+        }
+        return new ValidationRequestKey(
+                Base64.getEncoder().encodeToString(proxyDocument.getDocumentDigest()),
+                proxyDocument.getName(),
+                proxyDocument.getSignaturePolicy(),
+                proxyDocument.getReportType(),
+                proxyDocument.getValidationLevel()
+        );
+    }
+
+    private static byte[] digest(byte[] document) {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(document);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.proxy.cache;
+
+import ee.openeid.siva.proxy.configuration.ValidationResultCacheProperties;
+import ee.openeid.siva.proxy.report.ReportCopyUtils;
+import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.validation.document.report.builder.ReportBuilderUtils;
+import ee.openeid.tsl.TSLLoadedEvent;
+import lombok.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps reports of recently validated documents so that re-submitting an identical document with the same
+ * signature policy and report type does not trigger a new validation. Entries are bound to the trusted list
+ * generation they were created with and the whole cache is dropped whenever a new trusted list is loaded.
+ */
+@Component
+public class ValidationResultCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ValidationResultCache.class);
+
+    private final AtomicLong tslGeneration = new AtomicLong();
+    private ValidationResultCacheProperties properties;
+    private Map<CacheKey, CacheEntry> entries;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public SimpleReport getOrValidate(ValidationRequestKey requestKey, Supplier<SimpleReport> validation) {
+        if (!isEnabled()) {
+            return validation.get();
+        }
+
+        CacheKey key = new CacheKey(requestKey, tslGeneration.get());
+        SimpleReport cachedReport = get(key);
+        if (cachedReport != null) {
+            LOGGER.info("Reusing cached validation report for document {}", requestKey.getDocumentHash());
+            cachedReport.getValidationConclusion().setValidationTime(ReportBuilderUtils.getValidationTime());
+            return cachedReport;
+        }
+
+        SimpleReport report = validation.get();
+        if (report != null && report.getValidationConclusion() != null) {
+            put(key, ReportCopyUtils.copyOf(report));
+        }
+        return report;
+    }
+
+    @EventListener
+    public void onTSLLoaded(TSLLoadedEvent event) {
+        tslGeneration.set(event.getGeneration());
+        clear();
+        LOGGER.info("Validation result cache cleared after loading trusted list generation {}", event.getGeneration());
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized SimpleReport get(CacheKey key) {
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.getExpiresAt() - System.nanoTime() <= 0) {
+            entries.remove(key);
+            return null;
+        }
+        return ReportCopyUtils.copyOf(entry.getReport());
+    }
+
+    private synchronized void put(CacheKey key, SimpleReport report) {
+        if (key.getTslGeneration() != tslGeneration.get()) {
+            return;
+        }
+        entries.put(key, new CacheEntry(report, System.nanoTime() + properties.getTimeToLive().toNanos()));
+    }
+
+    @Autowired
+    public void setProperties(ValidationResultCacheProperties properties) {
+        this.properties = properties;
+        int maximumSize = properties.getMaximumSize();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    @Value
+    private static class CacheKey {
+        ValidationRequestKey requestKey;
+        long tslGeneration;
+    }
+
+    @Value
+    private static class CacheEntry {
+        SimpleReport report;
+        long expiresAt;
+    }
+}
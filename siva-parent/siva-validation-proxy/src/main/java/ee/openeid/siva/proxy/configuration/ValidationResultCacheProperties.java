@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.proxy.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("siva.validation-cache")
+public class ValidationResultCacheProperties {
+
+    /**
+     * Whether reports of previously validated documents are reused for identical requests.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of reports kept in the cache, least recently used reports are evicted first.
+     */
+    private int maximumSize = 1000;
+
+    /**
+     * Time a cached report is reused after the document was validated.
+     */
+    private Duration timeToLive = Duration.ofMinutes(10);
+
+    /**
+     * Whether identical requests arriving while an earlier one is still being validated wait for its report
+     * instead of being validated again. Independent of {@link #enabled}.
+     */
+    private boolean coalesceConcurrentRequests = false;
+}
@@ -18,8 +18,10 @@ package ee.openeid.siva.proxy.document;
 
 import ee.openeid.siva.proxy.ProxyRequest;
 import ee.openeid.siva.validation.document.Datafile;
+import ee.openeid.siva.validation.document.container.ZipContainerIndex;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.List;
 
@@ -32,4 +34,30 @@ public class ProxyDocument extends ProxyRequest {
     private String name;
 
     private List<Datafile> datafiles;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ZipContainerIndex containerIndex;
+
+    /**
+     * SHA-256 digest of {@link #bytes} once it has been computed for this request, {@code null} before that.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private byte[] documentDigest;
+
+    public void setBytes(byte[] bytes) {
+        this.bytes = bytes;
+        this.documentDigest = null;
+    }
+
+    /**
+     * Drops the reference to {@link #bytes} after the document has been handed over to storage that owns its content,
+     * keeping {@link #documentDigest} already computed from it. The {@link #containerIndex} is dropped as well, as its
+     * entries are read from the released bytes.
+     */
+    public void releaseBytes() {
+        this.bytes = null;
+        this.containerIndex = null;
+    }
 }
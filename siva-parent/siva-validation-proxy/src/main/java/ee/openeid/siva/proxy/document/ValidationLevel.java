@@ -0,0 +1,45 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.proxy.document;
+
+import ee.openeid.siva.proxy.document.typeresolver.UnsupportedTypeException;
+
+import java.util.Optional;
+
+import static java.util.Arrays.stream;
+
+/**
+ * Depth of signature validation requested by the client. Lower levels skip the processing of long-term and archival
+ * data, e.g. {@link #BASIC_SIGNATURES} only checks signature integrity and the trust of the signer certificate chain.
+ */
+public enum ValidationLevel {
+
+    BASIC_SIGNATURES,
+    LONG_TERM_DATA,
+    ARCHIVAL_DATA,
+    ;
+
+    public static ValidationLevel validationLevelFromString(String level) {
+        Optional<ValidationLevel> validationLevel = stream(ValidationLevel.class.getEnumConstants())
+                .filter(vl -> vl.name().equalsIgnoreCase(level))
+                .findAny();
+
+        if (!validationLevel.isPresent()) {
+            throw new UnsupportedTypeException("ValidationLevel of type '" + level + "' is not supported");
+        }
+        return validationLevel.get();
+    }
+}
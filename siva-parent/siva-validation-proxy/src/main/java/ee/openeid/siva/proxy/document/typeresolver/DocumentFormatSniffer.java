@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.proxy.document.typeresolver;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Recognizes documents whose format decides their validation service from their leading bytes only: DDOC by its root
+ * element and ASiC-S by the {@code mimetype} entry that ASiC containers store uncompressed as their first entry. The
+ * first local file header is the first entry seen by the validation services, as the container index rejects
+ * containers whose local file headers do not follow the central directory.
+ */
+public final class DocumentFormatSniffer {
+
+    public enum DocumentFormat {
+        DDOC, ASIC_S, UNKNOWN
+    }
+
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_FILE_HEADER_LENGTH = 30;
+    private static final byte[] MIMETYPE_ENTRY_NAME = "mimetype".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ASICS_MIME_TYPE = "application/vnd.etsi.asic-s+zip".getBytes(StandardCharsets.US_ASCII);
+    private static final int XML_SNIFF_LENGTH = 4096;
+    private static final String UTF8_BOM = "\u00EF\u00BB\u00BF";
+    private static final Pattern DDOC_ROOT_ELEMENT = Pattern.compile("<([\\w.-]+:)?SignedDoc[\\s>/]");
+
+    private DocumentFormatSniffer() {
+    }
+
+    /**
+     * @param document bytes of the document
+     * @return format of the document
+     */
+    public static DocumentFormat sniff(byte[] document) {
+        if (document == null) {
+            return DocumentFormat.UNKNOWN;
+        }
+        if (isZip(document)) {
+            return isAsicsContainer(document) ? DocumentFormat.ASIC_S : DocumentFormat.UNKNOWN;
+        }
+        return isDdoc(document) ? DocumentFormat.DDOC : DocumentFormat.UNKNOWN;
+    }
+
+    public static boolean isZip(byte[] document) {
+        return document != null && document.length >= LOCAL_FILE_HEADER_LENGTH
+                && littleEndian(document).getInt(0) == LOCAL_FILE_HEADER_SIGNATURE;
+    }
+
+    /**
+     * Checks the first local file header of a ZIP container without reading the rest of the container.
+     *
+     * @param document bytes of the document
+     * @return {@code true} if the first entry of the container is an uncompressed {@code mimetype} entry with the
+     * ASiC-S mimetype
+     */
+    public static boolean isAsicsContainer(byte[] document) {
+        if (!isZip(document)) {
+            return false;
+        }
+        ByteBuffer header = littleEndian(document);
+        int method = Short.toUnsignedInt(header.getShort(8));
+        long compressedSize = Integer.toUnsignedLong(header.getInt(18));
+        int nameLength = Short.toUnsignedInt(header.getShort(26));
+        int extraLength = Short.toUnsignedInt(header.getShort(28));
+        int dataOffset = LOCAL_FILE_HEADER_LENGTH + nameLength + extraLength;
+
+        return method == 0
+                && nameLength == MIMETYPE_ENTRY_NAME.length
+                && compressedSize == ASICS_MIME_TYPE.length
+                && dataOffset + compressedSize <= document.length
+                && Arrays.equals(document, LOCAL_FILE_HEADER_LENGTH, LOCAL_FILE_HEADER_LENGTH + nameLength,
+                MIMETYPE_ENTRY_NAME, 0, MIMETYPE_ENTRY_NAME.length)
+                && Arrays.equals(document, dataOffset, dataOffset + ASICS_MIME_TYPE.length,
+                ASICS_MIME_TYPE, 0, ASICS_MIME_TYPE.length);
+    }
+
+    private static boolean isDdoc(byte[] document) {
+        String prefix = new String(document, 0, Math.min(document.length, XML_SNIFF_LENGTH), StandardCharsets.ISO_8859_1);
+        if (prefix.startsWith(UTF8_BOM)) {
+            prefix = prefix.substring(UTF8_BOM.length());
+        }
+        return prefix.stripLeading().startsWith("<") && DDOC_ROOT_ELEMENT.matcher(prefix).find();
+    }
+
+    private static ByteBuffer littleEndian(byte[] document) {
+        return ByteBuffer.wrap(document).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
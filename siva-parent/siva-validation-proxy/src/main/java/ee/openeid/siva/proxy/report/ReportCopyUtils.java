@@ -0,0 +1,67 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.proxy.report;
+
+import ee.openeid.siva.validation.document.report.DetailedReport;
+import ee.openeid.siva.validation.document.report.DiagnosticReport;
+import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.validation.document.report.ValidationConclusion;
+
+import java.util.ArrayList;
+
+public final class ReportCopyUtils {
+
+    private ReportCopyUtils() {
+    }
+
+    /**
+     * Creates a copy of the report that can be handed out to a caller of its own. The validation conclusion is
+     * copied so that per-request changes (validation time, warnings) do not leak into the original, while the
+     * validation results themselves (signatures, detailed report, diagnostic data) are shared.
+     *
+     * @param report report to copy
+     * @return copy of the same report type
+     */
+    public static SimpleReport copyOf(SimpleReport report) {
+        ValidationConclusion validationConclusion = copyOf(report.getValidationConclusion());
+        if (report instanceof DetailedReport) {
+            return new DetailedReport(validationConclusion, ((DetailedReport) report).getValidationProcess());
+        } else if (report instanceof DiagnosticReport) {
+            return new DiagnosticReport(validationConclusion, ((DiagnosticReport) report).getDiagnosticData());
+        }
+        return new SimpleReport(validationConclusion);
+    }
+
+    private static ValidationConclusion copyOf(ValidationConclusion validationConclusion) {
+        if (validationConclusion == null) {
+            return null;
+        }
+        ValidationConclusion copy = new ValidationConclusion();
+        copy.setPolicy(validationConclusion.getPolicy());
+        copy.setValidationTime(validationConclusion.getValidationTime());
+        copy.setSignatureForm(validationConclusion.getSignatureForm());
+        if (validationConclusion.getValidationWarnings() != null) {
+            copy.setValidationWarnings(new ArrayList<>(validationConclusion.getValidationWarnings()));
+        }
+        copy.setValidatedDocument(validationConclusion.getValidatedDocument());
+        copy.setValidationLevel(validationConclusion.getValidationLevel());
+        copy.setSignatures(validationConclusion.getSignatures());
+        copy.setValidSignaturesCount(validationConclusion.getValidSignaturesCount());
+        copy.setSignaturesCount(validationConclusion.getSignaturesCount());
+        copy.setTimeStampTokens(validationConclusion.getTimeStampTokens());
+        return copy;
+    }
+}
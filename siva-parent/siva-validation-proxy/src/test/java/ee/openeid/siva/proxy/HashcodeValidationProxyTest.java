@@ -26,14 +26,13 @@ import ee.openeid.siva.validation.document.SignatureFile;
 import ee.openeid.siva.validation.document.ValidationDocument;
 import ee.openeid.siva.validation.document.report.Error;
 import ee.openeid.siva.validation.document.report.*;
+import ee.openeid.siva.validation.service.ValidationService;
 import ee.openeid.validation.service.generic.HashcodeGenericValidationService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.BDDMockito;
 import org.mockito.Mock;
-import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.Environment;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -41,6 +40,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -70,18 +70,19 @@ public class HashcodeValidationProxyTest {
 
     @Test
     public void applicationContextHasNoBeanWithGivenNameThrowsException() {
-        BDDMockito.given(applicationContext.getBean(anyString())).willThrow(new NoSuchBeanDefinitionException("Bean not loaded"));
+        when(applicationContext.getBeansOfType(ValidationService.class)).thenReturn(Collections.emptyMap());
 
         Assertions.assertThrows(ValidatonServiceNotFoundException.class, () -> {
             ProxyHashcodeDataSet proxyDocument = mockHashCodeDataSet();
             hashcodeValidationProxy.validate(proxyDocument);
-            verify(applicationContext).getBean(anyString());
         }, "hashcodeGenericValidationService not found");
+        verify(applicationContext).getBeansOfType(ValidationService.class);
     }
 
     @Test
     public void proxyDocumentShouldReturnValidationReport() {
-        when(applicationContext.getBean("hashcodeGenericValidationService")).thenReturn(validationServiceSpy);
+        when(applicationContext.getBeansOfType(ValidationService.class))
+                .thenReturn(Map.of("hashcodeGenericValidationService", validationServiceSpy));
 
         ProxyHashcodeDataSet proxyDocument = mockHashCodeDataSet();
         SimpleReport report = hashcodeValidationProxy.validate(proxyDocument);
@@ -90,7 +91,8 @@ public class HashcodeValidationProxyTest {
 
     @Test
     public void hashcodeValidationAlwaysReturnsSimpleReport() {
-        when(applicationContext.getBean("hashcodeGenericValidationService")).thenReturn(validationServiceSpy);
+        when(applicationContext.getBeansOfType(ValidationService.class))
+                .thenReturn(Map.of("hashcodeGenericValidationService", validationServiceSpy));
         ProxyHashcodeDataSet proxyDocument = mockHashCodeDataSet();
 
         for (ReportType reportType : ReportType.values()) {
@@ -19,10 +19,13 @@ package ee.openeid.siva.proxy;
 import ee.openeid.siva.proxy.document.DocumentType;
 import ee.openeid.siva.proxy.document.ProxyDocument;
 import ee.openeid.siva.proxy.document.ReportType;
+import ee.openeid.siva.proxy.document.ValidationLevel;
 import ee.openeid.siva.proxy.exception.ValidatonServiceNotFoundException;
 import ee.openeid.siva.statistics.StatisticsService;
+import ee.openeid.siva.validation.configuration.DocumentContentProperties;
 import ee.openeid.siva.validation.configuration.ReportConfigurationProperties;
 import ee.openeid.siva.validation.document.ValidationDocument;
+import ee.openeid.siva.validation.document.content.DocumentContentFactory;
 import ee.openeid.siva.validation.document.report.DetailedReport;
 import ee.openeid.siva.validation.document.report.DiagnosticReport;
 import ee.openeid.siva.validation.document.report.Error;
@@ -42,23 +45,26 @@ import ee.openeid.siva.validation.service.signature.policy.ConstraintLoadingSign
 import ee.openeid.siva.validation.service.signature.policy.SignaturePolicyService;
 import ee.openeid.siva.validation.service.signature.policy.properties.ValidationPolicy;
 import ee.openeid.validation.service.generic.GenericValidationService;
+import ee.openeid.validation.service.generic.configuration.AiaDataLoaderProperties;
 import ee.openeid.validation.service.generic.configuration.GenericSignaturePolicyProperties;
+import ee.openeid.validation.service.generic.verifier.CertificateVerifierProvider;
 import ee.openeid.validation.service.timemark.report.DDOCContainerValidationReportBuilder;
 import ee.openeid.validation.service.timestamptoken.TimeStampTokenValidationService;
 import ee.openeid.validation.service.timestamptoken.configuration.TimeStampTokenSignaturePolicyProperties;
+import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.BDDMockito;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
-import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.unit.DataSize;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -67,14 +73,16 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.any;
-import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -102,25 +110,48 @@ public class ValidationProxyTest {
     @Spy
     private StandardEnvironment environment;
 
+    private Map<String, ValidationService> validationServices;
+
     @BeforeEach
     public void setUp() {
         validationServiceSpy = new ValidationServiceSpy();
+        validationServices = new HashMap<>();
+        when(applicationContext.getBeansOfType(ValidationService.class)).thenReturn(validationServices);
     }
 
     @Test
     public void applicationContextHasNoBeanWithGivenNameThrowsException() throws Exception {
-        BDDMockito.given(applicationContext.getBean(anyString())).willThrow(new NoSuchBeanDefinitionException("Bean not loaded"));
-
         Assertions.assertThrows(ValidatonServiceNotFoundException.class, () -> {
             ProxyDocument proxyDocument = mockProxyDocumentWithDocument(DocumentType.PDF);
             validationProxy.validate(proxyDocument);
-            verify(applicationContext).getBean(anyString());
         }, "genericValidationService not found");
+        verify(applicationContext).getBeansOfType(ValidationService.class);
+    }
+
+    @Test
+    public void validationServicesAreLookedUpFromApplicationContextOnlyOnce() throws Exception {
+        validationServices.put(GENERIC_VALIDATION_SERVICE_BEAN, validationServiceSpy);
+
+        validationProxy.validate(mockProxyDocumentWithDocument(DocumentType.PDF));
+        validationProxy.validate(mockProxyDocumentWithDocument(DocumentType.PDF));
+
+        verify(applicationContext, times(1)).getBeansOfType(ValidationService.class);
+    }
+
+    @Test
+    public void misnamedDdocIsRoutedToTimemarkContainerValidationServiceByContent() throws Exception {
+        validationServices.put(TIMEMARK_CONTAINER_VALIDATION_SERVICE_BEAN, validationServiceSpy);
+
+        ProxyDocument proxyDocument = mockProxyDocumentWithExtension("xml");
+        proxyDocument.setBytes("<?xml version=\"1.0\" encoding=\"UTF-8\"?><SignedDoc format=\"DIGIDOC-XML\" version=\"1.3\"/>"
+                .getBytes(StandardCharsets.UTF_8));
+        SimpleReport report = validationProxy.validate(proxyDocument);
+        assertSimpleReport(report);
     }
 
     @Test
     public void proxyDocumentWithBDOCDocumentTypeShouldReturnValidationReport() throws Exception {
-        when(applicationContext.getBean(TIMEMARK_CONTAINER_VALIDATION_SERVICE_BEAN)).thenReturn(validationServiceSpy);
+        validationServices.put(TIMEMARK_CONTAINER_VALIDATION_SERVICE_BEAN, validationServiceSpy);
 
         ProxyDocument proxyDocument = mockProxyDocumentWithDocument(DocumentType.BDOC);
         SimpleReport report = validationProxy.validate(proxyDocument);
@@ -129,7 +160,7 @@ public class ValidationProxyTest {
 
     @Test
     public void proxyDocumentWithPDFDocumentTypeShouldReturnValidationReport() throws Exception {
-        when(applicationContext.getBean(GENERIC_VALIDATION_SERVICE_BEAN)).thenReturn(validationServiceSpy);
+        validationServices.put(GENERIC_VALIDATION_SERVICE_BEAN, validationServiceSpy);
 
         ProxyDocument proxyDocument = mockProxyDocumentWithDocument(DocumentType.PDF);
         SimpleReport report = validationProxy.validate(proxyDocument);
@@ -138,7 +169,7 @@ public class ValidationProxyTest {
 
     @Test
     public void proxyDocumentWithDDOCDocumentTypeShouldReturnValidationReport() throws Exception {
-        when(applicationContext.getBean(TIMEMARK_CONTAINER_VALIDATION_SERVICE_BEAN)).thenReturn(validationServiceSpy);
+        validationServices.put(TIMEMARK_CONTAINER_VALIDATION_SERVICE_BEAN, validationServiceSpy);
 
         ProxyDocument proxyDocument = mockProxyDocumentWithDocument(DocumentType.DDOC);
         SimpleReport report = validationProxy.validate(proxyDocument);
@@ -148,8 +179,8 @@ public class ValidationProxyTest {
     @Test
     public void proxyDocumentWithAsicsExtensionShouldReturnValidationReport() throws Exception {
 
-        when(applicationContext.getBean(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN)).thenReturn(getTimeStampValidationService());
-        when(applicationContext.getBean(TIMEMARK_CONTAINER_VALIDATION_SERVICE_BEAN)).thenReturn(validationServiceSpy);
+        validationServices.put(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN, getTimeStampValidationService());
+        validationServices.put(TIMEMARK_CONTAINER_VALIDATION_SERVICE_BEAN, validationServiceSpy);
 
         ProxyDocument proxyDocument = mockProxyDocumentWithExtension("asics");
         proxyDocument.setBytes(buildValidationDocument("timestamptoken-ddoc.asics"));
@@ -162,8 +193,8 @@ public class ValidationProxyTest {
     @Test
     public void proxyDocumentWithZipExtensionShouldReturnValidationReport() throws Exception {
 
-        when(applicationContext.getBean(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN)).thenReturn(getTimeStampValidationService());
-        when(applicationContext.getBean(TIMEMARK_CONTAINER_VALIDATION_SERVICE_BEAN)).thenReturn(validationServiceSpy);
+        validationServices.put(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN, getTimeStampValidationService());
+        validationServices.put(TIMEMARK_CONTAINER_VALIDATION_SERVICE_BEAN, validationServiceSpy);
 
         ProxyDocument proxyDocument = mockProxyDocumentWithExtension("zip");
         proxyDocument.setBytes(buildValidationDocument("timestamptoken-ddoc.zip"));
@@ -176,8 +207,8 @@ public class ValidationProxyTest {
     @Test
     public void proxyDocumentWithScsExtensionShouldReturnValidationReport() throws Exception {
 
-        when(applicationContext.getBean(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN)).thenReturn(getTimeStampValidationService());
-        when(applicationContext.getBean(TIMEMARK_CONTAINER_VALIDATION_SERVICE_BEAN)).thenReturn(validationServiceSpy);
+        validationServices.put(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN, getTimeStampValidationService());
+        validationServices.put(TIMEMARK_CONTAINER_VALIDATION_SERVICE_BEAN, validationServiceSpy);
 
         ProxyDocument proxyDocument = mockProxyDocumentWithExtension("scs");
         proxyDocument.setBytes(buildValidationDocument("timestamptoken-ddoc.asics"));
@@ -189,8 +220,8 @@ public class ValidationProxyTest {
 
     @Test
     public void proxyDocumentAsicsWithRandomDataFile() throws Exception {
-        when(applicationContext.getBean(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN)).thenReturn(getTimeStampValidationService());
-        when(applicationContext.getBean(GENERIC_VALIDATION_SERVICE_BEAN)).thenReturn(getGenericValidationService());
+        validationServices.put(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN, getTimeStampValidationService());
+        validationServices.put(GENERIC_VALIDATION_SERVICE_BEAN, getGenericValidationService());
         ProxyDocument proxyDocument = mockProxyDocumentWithExtension("asics");
         proxyDocument.setBytes(buildValidationDocument("TXTinsideAsics.asics"));
         SimpleReport report = validationProxy.validate(proxyDocument);
@@ -201,7 +232,7 @@ public class ValidationProxyTest {
     @Test
     public void proxyDocumentAsicsWithTwoDataFiles() throws Exception {
         Assertions.assertThrows(DocumentRequirementsException.class, () -> {
-            when(applicationContext.getBean(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN)).thenReturn(getTimeStampValidationService());
+            validationServices.put(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN, getTimeStampValidationService());
             ProxyDocument proxyDocument = mockProxyDocumentWithExtension("asics");
             proxyDocument.setBytes(buildValidationDocument("TwoDataFilesAsics.asics"));
             validationProxy.validate(proxyDocument);
@@ -210,8 +241,8 @@ public class ValidationProxyTest {
 
     @Test
     public void proxyDocumentAsicsWithDifferentMimeType() throws Exception {
-        when(applicationContext.getBean(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN)).thenReturn(getTimeStampValidationService());
-        when(applicationContext.getBean(GENERIC_VALIDATION_SERVICE_BEAN)).thenReturn(validationServiceSpy);
+        validationServices.put(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN, getTimeStampValidationService());
+        validationServices.put(GENERIC_VALIDATION_SERVICE_BEAN, validationServiceSpy);
         ProxyDocument proxyDocument = mockProxyDocumentWithExtension("zip");
         proxyDocument.setBytes(buildValidationDocument("timestamptoken-different-mimetype.zip"));
         SimpleReport report = validationProxy.validate(proxyDocument);
@@ -220,8 +251,8 @@ public class ValidationProxyTest {
 
     @Test
     public void proxyDocumentAsicsNoTeraWarning() throws Exception {
-        when(applicationContext.getBean(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN)).thenReturn(getTimeStampValidationService());
-        when(applicationContext.getBean(TIMEMARK_CONTAINER_VALIDATION_SERVICE_BEAN)).thenReturn(validationServiceSpy);
+        validationServices.put(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN, getTimeStampValidationService());
+        validationServices.put(TIMEMARK_CONTAINER_VALIDATION_SERVICE_BEAN, validationServiceSpy);
         ProxyDocument proxyDocument = mockProxyDocumentWithExtension("asics");
         proxyDocument.setBytes(buildValidationDocument("timestamptoken-ddoc.asics"));
         SimpleReport report = validationProxy.validate(proxyDocument);
@@ -238,6 +269,59 @@ public class ValidationProxyTest {
         assertTrue( validationConclusion.getValidationWarnings().isEmpty());
     }
 
+    @Test
+    public void requestedReportTypeIsPassedToValidationService() {
+        validationServices.put(GENERIC_VALIDATION_SERVICE_BEAN, validationServiceSpy);
+
+        validationProxy.validate(mockProxyDocumentWithDocument(DocumentType.PDF, ReportType.DIAGNOSTIC));
+        assertEquals(Reports.Type.DIAGNOSTIC, validationServiceSpy.validationDocument.getReportType());
+
+        validationProxy.validate(mockProxyDocumentWithDocument(DocumentType.PDF, null));
+        assertEquals(Reports.Type.SIMPLE, validationServiceSpy.validationDocument.getReportType());
+    }
+
+    @Test
+    public void documentDigestOfRequestIsReusedByValidationDocument() {
+        validationServices.put(GENERIC_VALIDATION_SERVICE_BEAN, validationServiceSpy);
+
+        ProxyDocument proxyDocument = mockProxyDocumentWithDocument(DocumentType.PDF, ReportType.SIMPLE);
+        // Digest computed for the request key must not be computed again for the report
+        proxyDocument.setDocumentDigest(new byte[]{1, 2, 3});
+        validationProxy.validate(proxyDocument);
+        assertArrayEquals(new byte[]{1, 2, 3}, validationServiceSpy.validationDocument.getSha256Digest());
+    }
+
+    @Test
+    public void documentMovedOffHeapIsReleasedFromRequest() {
+        validationServices.put(GENERIC_VALIDATION_SERVICE_BEAN, validationServiceSpy);
+        DocumentContentProperties documentContentProperties = new DocumentContentProperties();
+        documentContentProperties.setOffHeapThreshold(DataSize.ofBytes(1));
+        validationProxy.setDocumentContentFactory(new DocumentContentFactory(documentContentProperties));
+
+        ProxyDocument proxyDocument = mockProxyDocumentWithDocument(DocumentType.PDF, ReportType.SIMPLE);
+        proxyDocument.setDocumentDigest(new byte[]{1, 2, 3});
+        validationProxy.validate(proxyDocument);
+
+        assertNull(proxyDocument.getBytes());
+        assertArrayEquals(new byte[]{1, 2, 3}, proxyDocument.getDocumentDigest());
+        assertNull(validationServiceSpy.validationDocument.getBytes());
+        assertNotNull(validationServiceSpy.validationDocument.getContent());
+    }
+
+    @Test
+    public void requestedValidationLevelIsPassedToValidationService() {
+        validationServices.put(GENERIC_VALIDATION_SERVICE_BEAN, validationServiceSpy);
+
+        ProxyDocument proxyDocument = mockProxyDocumentWithDocument(DocumentType.PDF, ReportType.SIMPLE);
+        proxyDocument.setValidationLevel(ValidationLevel.BASIC_SIGNATURES);
+        validationProxy.validate(proxyDocument);
+        assertEquals(eu.europa.esig.dss.validation.executor.ValidationLevel.BASIC_SIGNATURES,
+                validationServiceSpy.validationDocument.getValidationLevel());
+
+        validationProxy.validate(mockProxyDocumentWithDocument(DocumentType.PDF, ReportType.SIMPLE));
+        assertNull(validationServiceSpy.validationDocument.getValidationLevel());
+    }
+
     @Test
     public void requestValidationReturnsReportInRequestedType() {
         mockValidationServices();
@@ -280,7 +364,9 @@ public class ValidationProxyTest {
     private void mockValidationServices() {
         Reports mockReports = mockReports();
         ValidationService validationServiceMock = mock(ValidationService.class);
-        when(applicationContext.getBean(anyString())).thenReturn(validationServiceMock);
+        validationServices.put(TIMEMARK_CONTAINER_VALIDATION_SERVICE_BEAN, validationServiceMock);
+        validationServices.put(TIMESTAMP_TOKEN_VALIDATION_SERVICE_BEAN, validationServiceMock);
+        validationServices.put(GENERIC_VALIDATION_SERVICE_BEAN, validationServiceMock);
         when(validationServiceMock.validateDocument(any())).thenReturn(mockReports);
     }
 
@@ -304,6 +390,8 @@ public class ValidationProxyTest {
         ConstraintLoadingSignaturePolicyService signaturePolicyService = new ConstraintLoadingSignaturePolicyService(policyProperties);
         validationService.setSignaturePolicyService(signaturePolicyService);
         validationService.setReportConfigurationProperties(new ReportConfigurationProperties(true));
+        validationService.setCertificateVerifierProvider(new CertificateVerifierProvider(
+                new TrustedListsCertificateSource(), new ProxyConfig(), new AiaDataLoaderProperties()));
         return validationService;
     }
 
@@ -347,9 +435,11 @@ public class ValidationProxyTest {
     private static class ValidationServiceSpy implements ValidationService {
 
         Reports reports;
+        ValidationDocument validationDocument;
 
         @Override
         public Reports validateDocument(ValidationDocument validationDocument) {
+            this.validationDocument = validationDocument;
             reports = createDummyReports();
             return reports;
         }
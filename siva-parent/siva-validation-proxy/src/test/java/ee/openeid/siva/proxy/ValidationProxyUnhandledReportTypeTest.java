@@ -29,10 +29,10 @@ import org.springframework.context.ApplicationContext;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
-import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.when;
@@ -62,7 +62,8 @@ public class ValidationProxyUnhandledReportTypeTest {
             reportTypeValues.add(mockedReportType);
             reportType.when(ReportType::values).thenReturn(reportTypeValues.toArray(new ReportType[reportTypeValues.size()]));
 
-            when(applicationContext.getBean(anyString())).thenReturn(validationService);
+            when(applicationContext.getBeansOfType(ValidationService.class))
+                    .thenReturn(Map.of("timemarkContainerValidationService", validationService));
             ProxyDocument proxyDocument = new ProxyDocument();
             proxyDocument.setReportType(mockedReportType);
             proxyDocument.setName("TEST_FILE_NAME.bdoc");
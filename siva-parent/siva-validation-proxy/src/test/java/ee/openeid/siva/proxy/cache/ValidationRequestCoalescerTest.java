@@ -0,0 +1,182 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.proxy.cache;
+
+import ee.openeid.siva.proxy.configuration.ValidationResultCacheProperties;
+import ee.openeid.siva.proxy.document.ProxyDocument;
+import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.validation.document.report.ValidationConclusion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ValidationRequestCoalescerTest {
+
+    private static final int FOLLOWER_COUNT = 3;
+
+    private ValidationRequestCoalescer coalescer;
+    private AtomicInteger validationCount;
+    private CountDownLatch validationStarted;
+    private CountDownLatch releaseValidation;
+
+    @BeforeEach
+    void setUp() {
+        ValidationResultCacheProperties properties = new ValidationResultCacheProperties();
+        properties.setCoalesceConcurrentRequests(true);
+        coalescer = new ValidationRequestCoalescer();
+        coalescer.setProperties(properties);
+        validationCount = new AtomicInteger();
+        validationStarted = new CountDownLatch(1);
+        releaseValidation = new CountDownLatch(1);
+    }
+
+    @Test
+    void concurrentIdenticalRequestsShareSingleValidation() throws Exception {
+        SimpleReport validatedReport = createReport();
+        AtomicReference<SimpleReport> leaderReport = new AtomicReference<>();
+        Thread leader = new Thread(() -> leaderReport.set(coalescer.validate(createKey(), blockingValidation(() -> validatedReport))));
+        leader.start();
+        validationStarted.await();
+
+        List<AtomicReference<SimpleReport>> followerReports = new ArrayList<>();
+        List<Thread> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWER_COUNT; i++) {
+            AtomicReference<SimpleReport> followerReport = new AtomicReference<>();
+            Thread follower = new Thread(() -> followerReport.set(coalescer.validate(createKey(), blockingValidation(SimpleReport::new))));
+            followerReports.add(followerReport);
+            followers.add(follower);
+            follower.start();
+        }
+        awaitWaiting(followers);
+
+        releaseValidation.countDown();
+        leader.join();
+        for (Thread follower : followers) {
+            follower.join();
+        }
+
+        assertEquals(1, validationCount.get());
+        assertSame(validatedReport, leaderReport.get());
+        for (AtomicReference<SimpleReport> followerReport : followerReports) {
+            assertNotSame(validatedReport, followerReport.get());
+            assertNotSame(validatedReport.getValidationConclusion(), followerReport.get().getValidationConclusion());
+            assertSame(validatedReport.getValidationConclusion().getSignatures(), followerReport.get().getValidationConclusion().getSignatures());
+        }
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void sequentialRequestsAreValidatedSeparately() {
+        releaseValidation.countDown();
+        coalescer.validate(createKey(), blockingValidation(this::createReport));
+        coalescer.validate(createKey(), blockingValidation(this::createReport));
+
+        assertEquals(2, validationCount.get());
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void validationFailureIsPropagatedAndNotRemembered() {
+        releaseValidation.countDown();
+        assertThrows(IllegalStateException.class, () -> coalescer.validate(createKey(), blockingValidation(() -> {
+            throw new IllegalStateException("Validation failed");
+        })));
+
+        coalescer.validate(createKey(), blockingValidation(this::createReport));
+        assertEquals(2, validationCount.get());
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void concurrentRequestsAreValidatedSeparatelyWhenCoalescingIsDisabled() throws Exception {
+        coalescer.setProperties(new ValidationResultCacheProperties());
+        Thread first = new Thread(() -> coalescer.validate(createKey(), blockingValidation(this::createReport)));
+        first.start();
+        validationStarted.await();
+
+        Thread second = new Thread(() -> coalescer.validate(createKey(), blockingValidation(this::createReport)));
+        second.start();
+        while (validationCount.get() < 2) {
+            Thread.sleep(10);
+        }
+        releaseValidation.countDown();
+        first.join();
+        second.join();
+
+        assertEquals(2, validationCount.get());
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void keyKeepsDocumentDigestInRequest() {
+        ProxyDocument document = new ProxyDocument();
+        document.setBytes("content".getBytes());
+        ValidationRequestKey key = ValidationRequestKey.of(document);
+
+        assertEquals(key.getDocumentHash(), Base64.getEncoder().encodeToString(document.getDocumentDigest()));
+        document.setBytes("other content".getBytes());
+        assertNull(document.getDocumentDigest());
+    }
+
+    private Supplier<SimpleReport> blockingValidation(Supplier<SimpleReport> validation) {
+        return () -> {
+            validationCount.incrementAndGet();
+            validationStarted.countDown();
+            try {
+                releaseValidation.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return validation.get();
+        };
+    }
+
+    private static void awaitWaiting(List<Thread> threads) throws InterruptedException {
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static ValidationRequestKey createKey() {
+        ProxyDocument document = new ProxyDocument();
+        document.setName("test.bdoc");
+        document.setBytes("content".getBytes());
+        document.setSignaturePolicy("POLv4");
+        return ValidationRequestKey.of(document);
+    }
+
+    private SimpleReport createReport() {
+        ValidationConclusion validationConclusion = new ValidationConclusion();
+        validationConclusion.setSignatures(new ArrayList<>());
+        return new SimpleReport(validationConclusion);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.proxy.cache;
+
+import ee.openeid.siva.proxy.configuration.ValidationResultCacheProperties;
+import ee.openeid.siva.proxy.document.ProxyDocument;
+import ee.openeid.siva.proxy.document.ReportType;
+import ee.openeid.siva.validation.document.report.DetailedReport;
+import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.validation.document.report.ValidationConclusion;
+import ee.openeid.siva.validation.document.report.ValidationWarning;
+import ee.openeid.tsl.TSLLoadedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidationResultCacheTest {
+
+    private static final String OLD_VALIDATION_TIME = "2000-01-01T00:00:00Z";
+
+    private ValidationResultCache cache;
+    private ValidationResultCacheProperties properties;
+    private AtomicInteger validationCount;
+    private ReportType validatedReportType;
+    private Supplier<SimpleReport> validator;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ValidationResultCacheProperties();
+        properties.setEnabled(true);
+        cache = new ValidationResultCache();
+        cache.setProperties(properties);
+        validationCount = new AtomicInteger();
+        validator = () -> {
+            validationCount.incrementAndGet();
+            return createReport(validatedReportType);
+        };
+    }
+
+    @Test
+    void identicalRequestIsValidatedOnce() {
+        SimpleReport first = cache.getOrValidate(createKey("test.bdoc", "content"), validator);
+        SimpleReport second = cache.getOrValidate(createKey("test.bdoc", "content"), validator);
+
+        assertEquals(1, validationCount.get());
+        assertNotSame(first, second);
+        assertNotSame(first.getValidationConclusion(), second.getValidationConclusion());
+        assertSame(first.getValidationConclusion().getSignatures(), second.getValidationConclusion().getSignatures());
+    }
+
+    @Test
+    void cachedReportHasRefreshedValidationTime() {
+        cache.getOrValidate(createKey("test.bdoc", "content"), validator);
+        SimpleReport cached = cache.getOrValidate(createKey("test.bdoc", "content"), validator);
+
+        assertNotEquals(OLD_VALIDATION_TIME, cached.getValidationConclusion().getValidationTime());
+    }
+
+    @Test
+    void changesToReturnedReportDoNotAffectCachedReport() {
+        SimpleReport first = cache.getOrValidate(createKey("test.bdoc", "content"), validator);
+        first.getValidationConclusion().getValidationWarnings().add(new ValidationWarning());
+
+        SimpleReport second = cache.getOrValidate(createKey("test.bdoc", "content"), validator);
+        assertTrue(second.getValidationConclusion().getValidationWarnings().isEmpty());
+    }
+
+    @Test
+    void differentContentPolicyOrReportTypeIsValidatedAgain() {
+        cache.getOrValidate(createKey("test.bdoc", "content"), validator);
+        cache.getOrValidate(createKey("test.bdoc", "other content"), validator);
+
+        ProxyDocument otherPolicy = createDocument("test.bdoc", "content");
+        otherPolicy.setSignaturePolicy("POLv3");
+        cache.getOrValidate(ValidationRequestKey.of(otherPolicy), validator);
+
+        ProxyDocument otherReportTypeDocument = createDocument("test.bdoc", "content");
+        otherReportTypeDocument.setReportType(ReportType.DETAILED);
+        ValidationRequestKey otherReportType = ValidationRequestKey.of(otherReportTypeDocument);
+        validatedReportType = ReportType.DETAILED;
+        SimpleReport detailedReport = cache.getOrValidate(otherReportType, validator);
+
+        assertEquals(4, validationCount.get());
+        assertTrue(cache.getOrValidate(otherReportType, validator) instanceof DetailedReport);
+        assertTrue(detailedReport instanceof DetailedReport);
+        assertEquals(4, validationCount.get());
+    }
+
+    @Test
+    void cacheIsClearedWhenTrustedListIsLoaded() {
+        cache.getOrValidate(createKey("test.bdoc", "content"), validator);
+        cache.onTSLLoaded(new TSLLoadedEvent(this, 2));
+        cache.getOrValidate(createKey("test.bdoc", "content"), validator);
+
+        assertEquals(2, validationCount.get());
+    }
+
+    @Test
+    void expiredEntryIsValidatedAgain() {
+        properties.setTimeToLive(Duration.ZERO);
+        cache.getOrValidate(createKey("test.bdoc", "content"), validator);
+        cache.getOrValidate(createKey("test.bdoc", "content"), validator);
+
+        assertEquals(2, validationCount.get());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedWhenCacheIsFull() {
+        properties.setMaximumSize(2);
+        cache.setProperties(properties);
+
+        cache.getOrValidate(createKey("first.bdoc", "content"), validator);
+        cache.getOrValidate(createKey("second.bdoc", "content"), validator);
+        cache.getOrValidate(createKey("first.bdoc", "content"), validator);
+        cache.getOrValidate(createKey("third.bdoc", "content"), validator);
+        assertEquals(2, cache.size());
+
+        cache.getOrValidate(createKey("first.bdoc", "content"), validator);
+        assertEquals(3, validationCount.get());
+        cache.getOrValidate(createKey("second.bdoc", "content"), validator);
+        assertEquals(4, validationCount.get());
+    }
+
+    @Test
+    void disabledCacheAlwaysValidates() {
+        properties.setEnabled(false);
+        cache.getOrValidate(createKey("test.bdoc", "content"), validator);
+        cache.getOrValidate(createKey("test.bdoc", "content"), validator);
+
+        assertEquals(2, validationCount.get());
+    }
+
+    private static ValidationRequestKey createKey(String name, String content) {
+        return ValidationRequestKey.of(createDocument(name, content));
+    }
+
+    private static ProxyDocument createDocument(String name, String content) {
+        ProxyDocument document = new ProxyDocument();
+        document.setName(name);
+        document.setBytes(content.getBytes());
+        document.setSignaturePolicy("POLv4");
+        return document;
+    }
+
+    private static SimpleReport createReport(ReportType reportType) {
+        ValidationConclusion validationConclusion = new ValidationConclusion();
+        validationConclusion.setValidationTime(OLD_VALIDATION_TIME);
+        validationConclusion.setValidationWarnings(new ArrayList<>());
+        validationConclusion.setSignatures(new ArrayList<>());
+        return reportType == ReportType.DETAILED
+                ? new DetailedReport(validationConclusion, null)
+                : new SimpleReport(validationConclusion);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.proxy.document.typeresolver;
+
+import ee.openeid.siva.proxy.document.typeresolver.DocumentFormatSniffer.DocumentFormat;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DocumentFormatSnifferTest {
+
+    private static final String ASICS_MIME_TYPE = "application/vnd.etsi.asic-s+zip";
+    private static final String ASICE_MIME_TYPE = "application/vnd.etsi.asic-e+zip";
+
+    @Test
+    void ddocIsRecognizedByRootElement() {
+        byte[] ddoc = bytes("\u00EF\u00BB\u00BF<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<SignedDoc format=\"DIGIDOC-XML\" version=\"1.3\">");
+        assertEquals(DocumentFormat.DDOC, DocumentFormatSniffer.sniff(ddoc));
+    }
+
+    @Test
+    void otherDocumentsAreNotRecognized() {
+        assertEquals(DocumentFormat.UNKNOWN, DocumentFormatSniffer.sniff(bytes("<?xml version=\"1.0\"?><root/>")));
+        assertEquals(DocumentFormat.UNKNOWN, DocumentFormatSniffer.sniff(bytes("%PDF-1.7\n%...")));
+    }
+
+    @Test
+    void asicsIsRecognizedByStoredMimetypeOfFirstEntry() throws IOException {
+        byte[] container = zipWithMimetype(ASICS_MIME_TYPE, true);
+
+        assertEquals(DocumentFormat.ASIC_S, DocumentFormatSniffer.sniff(container));
+        assertTrue(DocumentFormatSniffer.isAsicsContainer(container));
+    }
+
+    @Test
+    void compressedMimetypeEntryIsNotRecognized() throws IOException {
+        byte[] container = zipWithMimetype(ASICS_MIME_TYPE, false);
+
+        assertEquals(DocumentFormat.UNKNOWN, DocumentFormatSniffer.sniff(container));
+        assertFalse(DocumentFormatSniffer.isAsicsContainer(container));
+    }
+
+    @Test
+    void mimetypeEntryAfterFirstEntryIsNotRecognized() throws IOException {
+        byte[] mimetypeBytes = bytes(ASICS_MIME_TYPE);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("test.txt"));
+            zip.write(bytes("test"));
+            zip.closeEntry();
+            zip.putNextEntry(storedEntry("mimetype", mimetypeBytes));
+            zip.write(mimetypeBytes);
+            zip.closeEntry();
+        }
+
+        assertEquals(DocumentFormat.UNKNOWN, DocumentFormatSniffer.sniff(out.toByteArray()));
+    }
+
+    @Test
+    void otherZipContainersAreNotRecognized() throws IOException {
+        byte[] asice = zipWithMimetype(ASICE_MIME_TYPE, true);
+        assertEquals(DocumentFormat.UNKNOWN, DocumentFormatSniffer.sniff(asice));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(new ZipEntry("test.txt"));
+            zip.write(bytes("test"));
+            zip.closeEntry();
+        }
+        byte[] container = out.toByteArray();
+
+        assertTrue(DocumentFormatSniffer.isZip(container));
+        assertEquals(DocumentFormat.UNKNOWN, DocumentFormatSniffer.sniff(container));
+    }
+
+    @Test
+    void emptyOrMissingContentIsUnknown() {
+        assertEquals(DocumentFormat.UNKNOWN, DocumentFormatSniffer.sniff(null));
+        assertEquals(DocumentFormat.UNKNOWN, DocumentFormatSniffer.sniff(new byte[0]));
+        assertFalse(DocumentFormatSniffer.isZip(bytes("PK")));
+    }
+
+    private static byte[] zipWithMimetype(String mimetype, boolean stored) throws IOException {
+        byte[] mimetypeBytes = bytes(mimetype);
+        ZipEntry mimetypeEntry = stored ? storedEntry("mimetype", mimetypeBytes) : new ZipEntry("mimetype");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            zip.putNextEntry(mimetypeEntry);
+            zip.write(mimetypeBytes);
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("test.txt"));
+            zip.write(bytes("test"));
+            zip.closeEntry();
+        }
+        return out.toByteArray();
+    }
+
+    private static ZipEntry storedEntry(String name, byte[] content) {
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        entry.setCrc(crc.getValue());
+        return entry;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
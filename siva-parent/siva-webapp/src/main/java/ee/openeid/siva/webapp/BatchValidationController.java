@@ -0,0 +1,117 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.webapp.batch.BatchValidationService;
+import ee.openeid.siva.webapp.interceptor.ReportSignatureInterceptor;
+import ee.openeid.siva.webapp.request.JSONBatchValidationRequest;
+import ee.openeid.siva.webapp.response.BatchValidationResponse;
+import ee.openeid.siva.webapp.response.BatchValidationResult;
+import ee.openeid.siva.webapp.transformer.ValidationRequestToProxyDocumentTransformer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.Valid;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+@RestController
+public class BatchValidationController {
+
+    private static final byte NEWLINE = '\n';
+
+    private BatchValidationService batchValidationService;
+    private ValidationRequestToProxyDocumentTransformer transformer;
+    private ValidationExceptionHandler validationExceptionHandler;
+    private ReportSignatureInterceptor reportSignatureInterceptor;
+    private ObjectMapper objectMapper;
+
+    @RequestMapping(value = "/validateBatch", produces = MediaType.APPLICATION_JSON_VALUE, method = RequestMethod.POST)
+    public BatchValidationResponse validateBatch(@Valid @RequestBody JSONBatchValidationRequest validationRequest) {
+        List<BatchValidationResult> results = validate(validationRequest).stream()
+                .map(this::toBatchValidationResult)
+                .collect(Collectors.toList());
+        return new BatchValidationResponse(results);
+    }
+
+    /**
+     * Streams every document's result as a separate JSON line as soon as it and all the results before it are ready.
+     */
+    @RequestMapping(value = "/validateBatch", produces = MediaType.APPLICATION_NDJSON_VALUE, method = RequestMethod.POST)
+    public void validateBatchAsNdjson(@Valid @RequestBody JSONBatchValidationRequest validationRequest, HttpServletResponse response) throws IOException {
+        List<CompletableFuture<SimpleReport>> reports = validate(validationRequest);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        ServletOutputStream outputStream = response.getOutputStream();
+        for (CompletableFuture<SimpleReport> report : reports) {
+            BatchValidationResult result = toBatchValidationResult(report);
+            reportSignatureInterceptor.signValidationReport(result);
+            outputStream.write(objectMapper.writeValueAsBytes(result));
+            outputStream.write(NEWLINE);
+            outputStream.flush();
+        }
+    }
+
+    private List<CompletableFuture<SimpleReport>> validate(JSONBatchValidationRequest validationRequest) {
+        return batchValidationService.validate(validationRequest.getDocuments().stream()
+                .map(transformer::transform)
+                .collect(Collectors.toList()));
+    }
+
+    private BatchValidationResult toBatchValidationResult(CompletableFuture<SimpleReport> report) {
+        try {
+            return new BatchValidationResult(report.join());
+        } catch (CompletionException e) {
+            return new BatchValidationResult(validationExceptionHandler.toRequestValidationError(e.getCause()).getRequestErrors());
+        }
+    }
+
+    @Autowired
+    public void setBatchValidationService(BatchValidationService batchValidationService) {
+        this.batchValidationService = batchValidationService;
+    }
+
+    @Autowired
+    public void setTransformer(ValidationRequestToProxyDocumentTransformer transformer) {
+        this.transformer = transformer;
+    }
+
+    @Autowired
+    public void setValidationExceptionHandler(ValidationExceptionHandler validationExceptionHandler) {
+        this.validationExceptionHandler = validationExceptionHandler;
+    }
+
+    @Autowired
+    public void setReportSignatureInterceptor(ReportSignatureInterceptor reportSignatureInterceptor) {
+        this.reportSignatureInterceptor = reportSignatureInterceptor;
+    }
+
+    @Autowired
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+}
@@ -19,39 +19,115 @@ package ee.openeid.siva.webapp;
 import ee.openeid.siva.proxy.ContainerValidationProxy;
 import ee.openeid.siva.proxy.HashcodeValidationProxy;
 import ee.openeid.siva.proxy.document.ProxyHashcodeDataSet;
+import ee.openeid.siva.webapp.request.BinaryValidationRequest;
 import ee.openeid.siva.webapp.request.JSONHashcodeValidationRequest;
 import ee.openeid.siva.webapp.request.JSONValidationRequest;
 import ee.openeid.siva.webapp.response.ValidationResponse;
 import ee.openeid.siva.webapp.transformer.HashcodeValidationRequestToProxyDocumentTransformer;
 import ee.openeid.siva.webapp.transformer.ValidationRequestToProxyDocumentTransformer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
 import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.BindException;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
 
 @RestController
 public class ValidationController {
 
+    private static final DataSize DEFAULT_MAX_DOCUMENT_SIZE = DataSize.ofMegabytes(10);
+
     private ContainerValidationProxy containerValidationProxy;
     private HashcodeValidationProxy hashcodeValidationProxy;
     private ValidationRequestToProxyDocumentTransformer transformer;
     private HashcodeValidationRequestToProxyDocumentTransformer hashRequestTransformer;
+    private MultipartProperties multipartProperties;
+    private SpringValidatorAdapter validator;
 
     @RequestMapping(value = "/validate", produces = MediaType.APPLICATION_JSON_VALUE, method = RequestMethod.POST)
     public ValidationResponse validate(@Valid @RequestBody JSONValidationRequest validationRequest) {
         return new ValidationResponse(containerValidationProxy.validate(transformer.transform(validationRequest)));
     }
 
+    @RequestMapping(value = "/validate", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE, produces = MediaType.APPLICATION_JSON_VALUE, method = RequestMethod.POST)
+    public ValidationResponse validateBinary(BinaryValidationRequest validationRequest, HttpServletRequest request) throws IOException, BindException {
+        validationRequest.setDocument(readBoundedBody(request));
+        validate(validationRequest);
+        return new ValidationResponse(containerValidationProxy.validate(transformer.transform(validationRequest)));
+    }
+
+    @RequestMapping(value = "/validate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE, method = RequestMethod.POST)
+    public ValidationResponse validateMultipart(BinaryValidationRequest validationRequest, @RequestPart("document") MultipartFile document) throws IOException, BindException {
+        validationRequest.setDocument(document.getBytes());
+        validate(validationRequest);
+        return new ValidationResponse(containerValidationProxy.validate(transformer.transform(validationRequest)));
+    }
+
     @RequestMapping(value = "/validateHashcode", produces = MediaType.APPLICATION_JSON_VALUE, method = RequestMethod.POST)
     public ValidationResponse validateHashcode(@Valid @RequestBody JSONHashcodeValidationRequest validationRequest) {
         ProxyHashcodeDataSet proxyDocument = hashRequestTransformer.transform(validationRequest);
         return new ValidationResponse(hashcodeValidationProxy.validate(proxyDocument));
     }
 
+    /**
+     * Validates a binary or multipart request once its document is taken from the request body, so an empty document
+     * is reported together with other invalid request parameters, as for JSON requests.
+     */
+    private void validate(BinaryValidationRequest validationRequest) throws BindException {
+        BindException errors = new BindException(validationRequest, "binaryValidationRequest");
+        validator.validate(validationRequest, errors);
+        if (errors.hasErrors()) {
+            throw errors;
+        }
+    }
+
+    /**
+     * Reads a raw request body of at most {@code spring.servlet.multipart.max-file-size} bytes, the same limit that
+     * applies to documents uploaded as multipart. Neither the servlet container nor the multipart resolver limits
+     * bodies of other content types.
+     */
+    private byte[] readBoundedBody(HttpServletRequest request) throws IOException {
+        long maxDocumentSize = maxDocumentSize().toBytes();
+        if (request.getContentLengthLong() > maxDocumentSize) {
+            throw new MaxUploadSizeExceededException(maxDocumentSize);
+        }
+        try (InputStream body = request.getInputStream()) {
+            byte[] document = body.readNBytes(Math.toIntExact(Math.min(maxDocumentSize + 1, Integer.MAX_VALUE - 8)));
+            if (document.length > maxDocumentSize) {
+                throw new MaxUploadSizeExceededException(maxDocumentSize);
+            }
+            return document;
+        }
+    }
+
+    private DataSize maxDocumentSize() {
+        return Optional.ofNullable(multipartProperties)
+                .map(MultipartProperties::getMaxFileSize)
+                .orElse(DEFAULT_MAX_DOCUMENT_SIZE);
+    }
+
+    @InitBinder("binaryValidationRequest")
+    public void initBinaryValidationRequestBinder(WebDataBinder binder) {
+        // Document content is taken from the request body or multipart file, never from request parameters
+        binder.setDisallowedFields("document");
+    }
+
     @Autowired
     public void setContainerValidationProxy(ContainerValidationProxy containerValidationProxy) {
         this.containerValidationProxy = containerValidationProxy;
@@ -67,6 +143,16 @@ public class ValidationController {
         this.hashRequestTransformer = hashRequestTransformer;
     }
 
+    @Autowired
+    public void setValidator(Validator validator) {
+        this.validator = new SpringValidatorAdapter(validator);
+    }
+
+    @Autowired(required = false)
+    public void setMultipartProperties(MultipartProperties multipartProperties) {
+        this.multipartProperties = multipartProperties;
+    }
+
     @Autowired
     public void setHashcodeValidationProxy(HashcodeValidationProxy hashcodeValidationProxy) {
         this.hashcodeValidationProxy = hashcodeValidationProxy;
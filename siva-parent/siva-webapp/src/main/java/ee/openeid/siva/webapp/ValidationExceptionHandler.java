@@ -21,30 +21,52 @@ import ee.openeid.siva.validation.exception.MalformedDocumentException;
 import ee.openeid.siva.validation.exception.MalformedSignatureFileException;
 import ee.openeid.siva.validation.exception.ValidationServiceException;
 import ee.openeid.siva.validation.service.signature.policy.InvalidPolicyException;
+import ee.openeid.siva.webapp.async.ValidationJobNotFoundException;
+import ee.openeid.siva.webapp.batch.BatchSizeExceededException;
+import ee.openeid.siva.webapp.request.deserializer.InvalidBase64DocumentException;
 import ee.openeid.siva.webapp.response.erroneus.RequestValidationError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
+import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class ValidationExceptionHandler {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ValidationExceptionHandler.class);
+
     private MessageSource messageSource;
 
-    @ExceptionHandler(MethodArgumentNotValidException.class)
+    @ExceptionHandler(BindException.class)
     @ResponseStatus(value = HttpStatus.BAD_REQUEST)
-    public RequestValidationError invalidRequest(MethodArgumentNotValidException exception) {
+    public RequestValidationError invalidRequest(BindException exception) {
         RequestValidationError requestValidationError = new RequestValidationError();
         BindingResult bindingResult = exception.getBindingResult();
         bindingResult.getFieldErrors().forEach(br -> requestValidationError.addFieldError(br.getField(), br.getDefaultMessage()));
         return requestValidationError;
     }
 
+    /**
+     * Handles the cause of the {@link org.springframework.http.converter.HttpMessageNotReadableException} thrown when
+     * the request document is not valid base64. Other unreadable requests are left to the default exception resolvers.
+     */
+    @ExceptionHandler(InvalidBase64DocumentException.class)
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
+    public RequestValidationError handleInvalidBase64DocumentException(InvalidBase64DocumentException e) {
+        RequestValidationError requestValidationError = new RequestValidationError();
+        requestValidationError.addFieldError("document", getMessage("validation.error.message.base64"));
+        return requestValidationError;
+    }
+
     @ExceptionHandler(MalformedDocumentException.class)
     @ResponseStatus(value = HttpStatus.BAD_REQUEST)
     public RequestValidationError handleMalformedDocumentException(MalformedDocumentException e) {
@@ -69,6 +91,30 @@ public class ValidationExceptionHandler {
         return requestValidationError;
     }
 
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    @ResponseStatus(value = HttpStatus.PAYLOAD_TOO_LARGE)
+    public RequestValidationError handleMaxUploadSizeExceededException(MaxUploadSizeExceededException e) {
+        RequestValidationError requestValidationError = new RequestValidationError();
+        requestValidationError.addFieldError("document", getMessage("validation.error.message.document.requirements"));
+        return requestValidationError;
+    }
+
+    @ExceptionHandler(ValidationJobNotFoundException.class)
+    @ResponseStatus(value = HttpStatus.NOT_FOUND)
+    public RequestValidationError handleValidationJobNotFoundException(ValidationJobNotFoundException e) {
+        RequestValidationError requestValidationError = new RequestValidationError();
+        requestValidationError.addFieldError("jobId", getMessage("validation.job.error.message.notFound"));
+        return requestValidationError;
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+    public RequestValidationError handleRejectedExecutionException(RejectedExecutionException e) {
+        RequestValidationError requestValidationError = new RequestValidationError();
+        requestValidationError.addFieldError("document", getMessage("validation.job.error.message.rejected"));
+        return requestValidationError;
+    }
+
     @ExceptionHandler(ValidationServiceException.class)
     @ResponseStatus(value = HttpStatus.INTERNAL_SERVER_ERROR)
     public RequestValidationError handleValidationServiceException(ValidationServiceException e) {
@@ -77,6 +123,14 @@ public class ValidationExceptionHandler {
         return requestValidationError;
     }
 
+    @ExceptionHandler(BatchSizeExceededException.class)
+    @ResponseStatus(value = HttpStatus.BAD_REQUEST)
+    public RequestValidationError handleBatchSizeExceededException(BatchSizeExceededException e) {
+        RequestValidationError requestValidationError = new RequestValidationError();
+        requestValidationError.addFieldError("documents", e.getMessage());
+        return requestValidationError;
+    }
+
     @ExceptionHandler(InvalidPolicyException.class)
     @ResponseStatus(value = HttpStatus.BAD_REQUEST)
     public RequestValidationError handleInvalidPolicyException(InvalidPolicyException e) {
@@ -85,6 +139,21 @@ public class ValidationExceptionHandler {
         return requestValidationError;
     }
 
+    /**
+     * Maps the failure of a single document validation to the same errors as returned for a single document request.
+     * Used where one failing document must not fail the whole request, e.g. batch validation.
+     */
+    public RequestValidationError toRequestValidationError(Throwable e) {
+        if (e instanceof MalformedDocumentException) {
+            return handleMalformedDocumentException((MalformedDocumentException) e);
+        } else if (e instanceof DocumentRequirementsException) {
+            return handleDocumentRequirementsException((DocumentRequirementsException) e);
+        } else if (e instanceof InvalidPolicyException) {
+            return handleInvalidPolicyException((InvalidPolicyException) e);
+        }
+        LOGGER.error("Document validation failed", e);
+        return handleValidationServiceException(null);
+    }
 
     private String getMessage(String key) {
         return messageSource.getMessage(key, null, null);
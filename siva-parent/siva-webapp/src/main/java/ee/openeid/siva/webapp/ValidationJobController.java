@@ -0,0 +1,119 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp;
+
+import ee.openeid.siva.proxy.ContainerValidationProxy;
+import ee.openeid.siva.proxy.HashcodeValidationProxy;
+import ee.openeid.siva.proxy.document.ProxyDocument;
+import ee.openeid.siva.proxy.document.ProxyHashcodeDataSet;
+import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.webapp.async.ValidationJob;
+import ee.openeid.siva.webapp.async.ValidationJobService;
+import ee.openeid.siva.webapp.request.JSONHashcodeValidationRequest;
+import ee.openeid.siva.webapp.request.JSONValidationRequest;
+import ee.openeid.siva.webapp.response.ValidationJobResponse;
+import ee.openeid.siva.webapp.response.ValidationResponse;
+import ee.openeid.siva.webapp.transformer.HashcodeValidationRequestToProxyDocumentTransformer;
+import ee.openeid.siva.webapp.transformer.ValidationRequestToProxyDocumentTransformer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.validation.Valid;
+import java.util.concurrent.CompletionException;
+
+@RestController
+public class ValidationJobController {
+
+    private ValidationJobService validationJobService;
+    private ContainerValidationProxy containerValidationProxy;
+    private HashcodeValidationProxy hashcodeValidationProxy;
+    private ValidationRequestToProxyDocumentTransformer transformer;
+    private HashcodeValidationRequestToProxyDocumentTransformer hashRequestTransformer;
+
+    @RequestMapping(value = "/validations", produces = MediaType.APPLICATION_JSON_VALUE, method = RequestMethod.POST)
+    public ResponseEntity<ValidationJobResponse> submitValidation(@Valid @RequestBody JSONValidationRequest validationRequest) {
+        ProxyDocument proxyDocument = transformer.transform(validationRequest);
+        return accepted(validationJobService.submit(() -> containerValidationProxy.validate(proxyDocument)));
+    }
+
+    @RequestMapping(value = "/hashcodeValidations", produces = MediaType.APPLICATION_JSON_VALUE, method = RequestMethod.POST)
+    public ResponseEntity<ValidationJobResponse> submitHashcodeValidation(@Valid @RequestBody JSONHashcodeValidationRequest validationRequest) {
+        ProxyHashcodeDataSet proxyDocument = hashRequestTransformer.transform(validationRequest);
+        return accepted(validationJobService.submit(() -> hashcodeValidationProxy.validate(proxyDocument)));
+    }
+
+    @RequestMapping(value = "/validations/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE, method = RequestMethod.GET)
+    public ResponseEntity<Object> getValidation(@PathVariable String jobId) {
+        ValidationJob job = validationJobService.getJob(jobId);
+        if (!job.getResult().isDone()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(new ValidationJobResponse(job.getId(), job.getStatus()));
+        }
+        return ResponseEntity.ok(new ValidationResponse(getReport(job)));
+    }
+
+    private static ResponseEntity<ValidationJobResponse> accepted(ValidationJob job) {
+        return ResponseEntity
+                .accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath().path("/validations/{jobId}").buildAndExpand(job.getId()).toUri())
+                .body(new ValidationJobResponse(job.getId(), job.getStatus()));
+    }
+
+    private static SimpleReport getReport(ValidationJob job) {
+        try {
+            return job.getResult().join();
+        } catch (CompletionException e) {
+            // Rethrow the original validation failure to have it mapped like for synchronous validation
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Autowired
+    public void setValidationJobService(ValidationJobService validationJobService) {
+        this.validationJobService = validationJobService;
+    }
+
+    @Autowired
+    public void setContainerValidationProxy(ContainerValidationProxy containerValidationProxy) {
+        this.containerValidationProxy = containerValidationProxy;
+    }
+
+    @Autowired
+    public void setHashcodeValidationProxy(HashcodeValidationProxy hashcodeValidationProxy) {
+        this.hashcodeValidationProxy = hashcodeValidationProxy;
+    }
+
+    @Autowired
+    public void setTransformer(ValidationRequestToProxyDocumentTransformer transformer) {
+        this.transformer = transformer;
+    }
+
+    @Autowired
+    public void setHashRequestTransformer(HashcodeValidationRequestToProxyDocumentTransformer hashRequestTransformer) {
+        this.hashRequestTransformer = hashRequestTransformer;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp.async;
+
+import ee.openeid.siva.validation.document.report.SimpleReport;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+@Getter
+public class ValidationJob {
+
+    private final String id;
+    private final CompletableFuture<SimpleReport> result;
+    private volatile Instant finishedAt;
+
+    ValidationJob(String id, CompletableFuture<SimpleReport> result) {
+        this.id = id;
+        this.result = result;
+        result.whenComplete((report, throwable) -> finishedAt = Instant.now());
+    }
+
+    public ValidationJobStatus getStatus() {
+        if (!result.isDone()) {
+            return ValidationJobStatus.PENDING;
+        }
+        return result.isCompletedExceptionally() ? ValidationJobStatus.FAILED : ValidationJobStatus.COMPLETED;
+    }
+
+    boolean isExpired(Instant expiryThreshold) {
+        Instant finished = finishedAt;
+        return finished != null && finished.isBefore(expiryThreshold);
+    }
+}
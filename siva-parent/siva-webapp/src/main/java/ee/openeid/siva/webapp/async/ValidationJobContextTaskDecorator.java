@@ -0,0 +1,49 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp.async;
+
+import ee.openeid.siva.statistics.ValidationJobContext;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Captures the {@link ValidationJobContext} of the submitting thread when a task is submitted and binds it
+ * to the thread running the task. Context is taken from the current HTTP request or, for tasks submitted
+ * by another validation job (e.g. batch validation running in a worker thread), from the enclosing job.
+ * No HTTP request is bound to the worker thread.
+ */
+public class ValidationJobContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        ValidationJobContext context = captureContext();
+        if (context == null) {
+            return runnable;
+        }
+        return () -> context.run(runnable);
+    }
+
+    private static ValidationJobContext captureContext() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes instanceof ServletRequestAttributes) {
+            return ValidationJobContext.of(((ServletRequestAttributes) requestAttributes).getRequest());
+        }
+        return ValidationJobContext.current().orElse(null);
+    }
+}
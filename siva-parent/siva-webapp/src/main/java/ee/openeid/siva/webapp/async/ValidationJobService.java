@@ -0,0 +1,116 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp.async;
+
+import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.webapp.configuration.AsyncValidationConfigurationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs validations on a bounded worker pool and keeps their results in memory
+ * until they expire, so validation work is decoupled from HTTP request threads.
+ */
+@Service
+public class ValidationJobService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ValidationJobService.class);
+
+    private final Map<String, ValidationJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger storedJobs = new AtomicInteger();
+
+    private AsyncTaskExecutor validationJobExecutor;
+    private AsyncValidationConfigurationProperties properties;
+
+    public ValidationJob submit(Supplier<SimpleReport> validation) {
+        removeExpiredJobs();
+        reserveJobSlot();
+
+        String jobId = UUID.randomUUID().toString();
+        ValidationJob job;
+        try {
+            job = new ValidationJob(jobId, CompletableFuture.supplyAsync(validation, validationJobExecutor));
+        } catch (RuntimeException e) {
+            storedJobs.decrementAndGet();
+            throw e;
+        }
+        jobs.put(jobId, job);
+        LOGGER.debug("Submitted validation job {}", jobId);
+        return job;
+    }
+
+    private void reserveJobSlot() {
+        int stored;
+        do {
+            stored = storedJobs.get();
+            if (stored >= properties.getMaxStoredJobs()) {
+                throw new TaskRejectedException("Maximum number of stored validation jobs reached");
+            }
+        } while (!storedJobs.compareAndSet(stored, stored + 1));
+    }
+
+    public ValidationJob getJob(String jobId) {
+        removeExpiredJobs();
+        ValidationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ValidationJobNotFoundException(jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Removes expired jobs periodically, so results nobody polls for do not stay in memory
+     * until the next submission or lookup.
+     */
+    @Scheduled(fixedDelayString = "${siva.async-validation.expired-job-eviction-interval:PT1M}")
+    public void evictExpiredJobs() {
+        removeExpiredJobs();
+    }
+
+    private void removeExpiredJobs() {
+        Instant expiryThreshold = Instant.now().minus(properties.getResultTimeToLive());
+        jobs.forEach((jobId, job) -> {
+            if (job.isExpired(expiryThreshold) && jobs.remove(jobId, job)) {
+                storedJobs.decrementAndGet();
+            }
+        });
+    }
+
+    @Autowired
+    public void setValidationJobExecutor(@Qualifier("validationJobExecutor") AsyncTaskExecutor validationJobExecutor) {
+        this.validationJobExecutor = validationJobExecutor;
+    }
+
+    @Autowired
+    public void setProperties(AsyncValidationConfigurationProperties properties) {
+        this.properties = properties;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp.batch;
+
+import ee.openeid.siva.proxy.ContainerValidationProxy;
+import ee.openeid.siva.proxy.document.ProxyDocument;
+import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.webapp.configuration.BatchValidationConfigurationProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Fans the documents of a batch request out over the batch validation worker pool.
+ */
+@Service
+public class BatchValidationService {
+
+    private ContainerValidationProxy containerValidationProxy;
+    private AsyncTaskExecutor batchValidationExecutor;
+    private BatchValidationConfigurationProperties properties;
+
+    /**
+     * @return validation results in the same order as the given documents
+     */
+    public List<CompletableFuture<SimpleReport>> validate(List<ProxyDocument> proxyDocuments) {
+        if (proxyDocuments.size() > properties.getMaxBatchSize()) {
+            throw new BatchSizeExceededException(properties.getMaxBatchSize());
+        }
+        return proxyDocuments.stream()
+                .map(proxyDocument -> CompletableFuture.supplyAsync(() -> containerValidationProxy.validate(proxyDocument), batchValidationExecutor))
+                .collect(Collectors.toList());
+    }
+
+    @Autowired
+    public void setContainerValidationProxy(ContainerValidationProxy containerValidationProxy) {
+        this.containerValidationProxy = containerValidationProxy;
+    }
+
+    @Autowired
+    public void setBatchValidationExecutor(@Qualifier("batchValidationExecutor") AsyncTaskExecutor batchValidationExecutor) {
+        this.batchValidationExecutor = batchValidationExecutor;
+    }
+
+    @Autowired
+    public void setProperties(BatchValidationConfigurationProperties properties) {
+        this.properties = properties;
+    }
+}
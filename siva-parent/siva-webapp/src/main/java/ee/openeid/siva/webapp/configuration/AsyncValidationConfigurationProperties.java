@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("siva.async-validation")
+public class AsyncValidationConfigurationProperties {
+
+    /**
+     * Number of worker threads validating submitted documents.
+     */
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of submitted validations that may wait for a free worker before new submissions are rejected.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Time a finished validation result is kept available for polling.
+     */
+    private Duration resultTimeToLive = Duration.ofMinutes(10);
+
+    /**
+     * Maximum number of validation jobs (pending or finished) kept in memory.
+     */
+    private int maxStoredJobs = 1000;
+}
@@ -19,6 +19,7 @@ package ee.openeid.siva.webapp.interceptor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import ee.openeid.siva.signature.SignatureService;
 import ee.openeid.siva.validation.document.report.DetailedReport;
+import ee.openeid.siva.webapp.response.BatchValidationResponse;
 import ee.openeid.siva.webapp.response.ValidationResponse;
 import ee.openeid.siva.validation.configuration.ReportConfigurationProperties;
 import org.apache.commons.codec.binary.Base64;
@@ -57,23 +58,29 @@ public class ReportSignatureInterceptor implements ResponseBodyAdvice<Object> {
 
     @Override
     public Object beforeBodyWrite(Object responseObject, MethodParameter returnType, MediaType selectedContentType, Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request, ServerHttpResponse response) {
-        if (properties.isReportSignatureEnabled()) {
+        if (responseObject instanceof ValidationResponse) {
+            signValidationReport((ValidationResponse) responseObject);
+        } else if (responseObject instanceof BatchValidationResponse) {
+            ((BatchValidationResponse) responseObject).getValidationResults().forEach(this::signValidationReport);
+        }
+        return responseObject;
+    }
+
+    /**
+     * Adds the report signature into the response if report signing is enabled and the report is a detailed report.
+     */
+    public void signValidationReport(ValidationResponse validationResponse) {
+        if (properties.isReportSignatureEnabled() && validationResponse.getValidationReport() instanceof DetailedReport) {
             try {
-                if (responseObject instanceof ValidationResponse && ((ValidationResponse) responseObject).getValidationReport() instanceof DetailedReport) {
-                    LOGGER.debug("Starting to create report signature");
-                    ValidationResponse validationResponse = (ValidationResponse) responseObject;
-                    String validationReportJsonString = jacksonObjectMapper.writeValueAsString(validationResponse.getValidationReport());
-                    byte[] reportSignatureBytes = signatureService.getSignature(validationReportJsonString.getBytes(), "validationReport.json", "application/json");
-                    validationResponse.setValidationReportSignature(Base64.encodeBase64String(reportSignatureBytes));
-                    LOGGER.debug("Finished creating report signature");
-                    return validationResponse;
-                }
+                LOGGER.debug("Starting to create report signature");
+                String validationReportJsonString = jacksonObjectMapper.writeValueAsString(validationResponse.getValidationReport());
+                byte[] reportSignatureBytes = signatureService.getSignature(validationReportJsonString.getBytes(), "validationReport.json", "application/json");
+                validationResponse.setValidationReportSignature(Base64.encodeBase64String(reportSignatureBytes));
+                LOGGER.debug("Finished creating report signature");
             } catch (Exception e) {
                 LOGGER.error("Error producing report signature", e);
-                return responseObject;
             }
         }
-        return responseObject;
     }
 
     public void setJacksonObjectMapper(ObjectMapper jacksonObjectMapper) {
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp.request;
+
+import ee.openeid.siva.webapp.request.validation.annotations.*;
+import lombok.Data;
+
+import javax.validation.constraints.NotEmpty;
+
+/**
+ * Validation request where the document is uploaded as raw binary content
+ * and the rest of the request is given as request parameters. The document is
+ * not bound from request parameters, so the request is validated only after
+ * the document is taken from the request body.
+ */
+@Data
+public class BinaryValidationRequest implements ValidationRequest {
+
+    @NotEmpty(message = "{javax.validation.constraints.NotBlank.message}")
+    private byte[] document;
+
+    @ValidFilename
+    private String filename;
+
+    @ValidDocumentType
+    private String documentType;
+
+    @ValidSignaturePolicy
+    private String signaturePolicy;
+
+    @ValidReportType
+    private String reportType;
+
+    @ValidValidationLevel
+    private String validationLevel;
+}
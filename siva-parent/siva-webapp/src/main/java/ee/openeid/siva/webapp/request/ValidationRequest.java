@@ -18,7 +18,7 @@ package ee.openeid.siva.webapp.request;
 
 public interface ValidationRequest {
 
-    String getDocument();
+    byte[] getDocument();
 
     String getFilename();
 
@@ -28,4 +28,6 @@ public interface ValidationRequest {
 
     String getReportType();
 
+    String getValidationLevel();
+
 }
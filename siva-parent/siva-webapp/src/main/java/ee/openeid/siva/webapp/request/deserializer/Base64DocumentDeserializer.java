@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp.request.deserializer;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Decodes a base64 encoded JSON string value directly from the parser input buffer.
+ * The encoded text is never materialized as a {@link String}, validation and decoding
+ * happen in a single pass over the request body.
+ */
+public class Base64DocumentDeserializer extends StdDeserializer<byte[]> {
+
+    private static final Base64Variant BASE64_VARIANT = Base64Variants.MIME
+            .withReadPadding(Base64Variant.PaddingReadBehaviour.PADDING_ALLOWED);
+
+    public Base64DocumentDeserializer() {
+        super(byte[].class);
+    }
+
+    @Override
+    public byte[] deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.hasToken(JsonToken.VALUE_STRING)) {
+            throw new InvalidBase64DocumentException(parser, "Expected base64 encoded string, got " + parser.currentToken());
+        }
+        try {
+            return parser.getBinaryValue(BASE64_VARIANT);
+        } catch (JsonParseException e) {
+            throw new InvalidBase64DocumentException(parser, e.getOriginalMessage());
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp.request.validation.validators;
+
+import ee.openeid.siva.webapp.request.validation.annotations.ValidBase64Document;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+/**
+ * Base64 encoding itself is verified while deserializing the request,
+ * only decoded content presence is checked here.
+ */
+public class ValidBase64DocumentConstraintValidator implements ConstraintValidator<ValidBase64Document, byte[]> {
+
+    @Override
+    public boolean isValid(byte[] document, ConstraintValidatorContext context) {
+        return document != null && document.length > 0;
+    }
+}
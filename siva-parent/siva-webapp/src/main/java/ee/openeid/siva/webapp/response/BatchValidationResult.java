@@ -0,0 +1,46 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp.response;
+
+import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.webapp.response.erroneus.RequestFieldValidationError;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * Validation result of a single batch document, holding either the validation report or the errors that
+ * prevented validating the document.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class BatchValidationResult extends ValidationResponse {
+
+    private List<RequestFieldValidationError> requestErrors;
+
+    public BatchValidationResult() {
+    }
+
+    public BatchValidationResult(SimpleReport report) {
+        super(report);
+    }
+
+    public BatchValidationResult(List<RequestFieldValidationError> requestErrors) {
+        this.requestErrors = requestErrors;
+    }
+}
@@ -18,8 +18,12 @@ package ee.openeid.siva.webapp.soap.impl;
 
 import ee.openeid.siva.proxy.ContainerValidationProxy;
 import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.webapp.ValidationExceptionHandler;
+import ee.openeid.siva.webapp.batch.BatchValidationService;
+import ee.openeid.siva.webapp.response.erroneus.RequestFieldValidationError;
 import ee.openeid.siva.webapp.soap.SoapValidationRequest;
 import ee.openeid.siva.webapp.soap.ValidationWebService;
+import ee.openeid.siva.webapp.soap.response.BatchValidationResult;
 import ee.openeid.siva.webapp.soap.response.ValidationReport;
 import ee.openeid.siva.webapp.soap.transformer.SoapValidationRequestToProxyDocumentTransformer;
 import ee.openeid.siva.webapp.soap.transformer.ValidationReportSoapResponseTransformer;
@@ -28,14 +32,21 @@ import org.apache.cxf.interceptor.OutFaultInterceptors;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.xml.ws.Holder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 @OutFaultInterceptors(interceptors = {"ee.openeid.siva.webapp.soap.interceptor.SoapFaultResponseInterceptor", "ee.openeid.siva.webapp.soap.interceptor.SoapResponseHeaderInterceptor"})
 @SchemaValidation(type = SchemaValidation.SchemaValidationType.IN)
 public class ValidationWebServiceImpl implements ValidationWebService {
 
     private ContainerValidationProxy validationProxy;
+    private BatchValidationService batchValidationService;
     private SoapValidationRequestToProxyDocumentTransformer requestTransformer;
     private ValidationReportSoapResponseTransformer responseTransformer;
+    private ValidationExceptionHandler validationExceptionHandler;
 
     @Override
     public void validateDocument(SoapValidationRequest validationRequest, Holder<ValidationReport> validationReport, Holder<String> validationReportSignature) {
@@ -44,11 +55,42 @@ public class ValidationWebServiceImpl implements ValidationWebService {
         validationReport.value = responseValidationReport;
     }
 
+    @Override
+    public List<BatchValidationResult> validateDocumentBatch(List<SoapValidationRequest> validationRequests) {
+        List<CompletableFuture<SimpleReport>> reports = batchValidationService.validate(validationRequests.stream()
+                .map(requestTransformer::transform)
+                .collect(Collectors.toList()));
+
+        List<BatchValidationResult> results = new ArrayList<>();
+        for (int i = 0; i < validationRequests.size(); i++) {
+            results.add(toBatchValidationResult(validationRequests.get(i).getFilename(), reports.get(i)));
+        }
+        return results;
+    }
+
+    private BatchValidationResult toBatchValidationResult(String filename, CompletableFuture<SimpleReport> report) {
+        BatchValidationResult result = new BatchValidationResult();
+        result.setFilename(filename);
+        try {
+            result.setValidationReport(responseTransformer.toSoapResponse(report.join()));
+        } catch (CompletionException e) {
+            result.setErrorMessage(validationExceptionHandler.toRequestValidationError(e.getCause()).getRequestErrors().stream()
+                    .map(RequestFieldValidationError::getMessage)
+                    .collect(Collectors.joining("; ")));
+        }
+        return result;
+    }
+
     @Autowired
     public void setValidationProxy(ContainerValidationProxy validationProxy) {
         this.validationProxy = validationProxy;
     }
 
+    @Autowired
+    public void setBatchValidationService(BatchValidationService batchValidationService) {
+        this.batchValidationService = batchValidationService;
+    }
+
     @Autowired
     public void setRequestTransformer(SoapValidationRequestToProxyDocumentTransformer requestTransformer) {
         this.requestTransformer = requestTransformer;
@@ -58,4 +100,9 @@ public class ValidationWebServiceImpl implements ValidationWebService {
     public void setResponseTransformer(ValidationReportSoapResponseTransformer responseTransformer) {
         this.responseTransformer = responseTransformer;
     }
+
+    @Autowired
+    public void setValidationExceptionHandler(ValidationExceptionHandler validationExceptionHandler) {
+        this.validationExceptionHandler = validationExceptionHandler;
+    }
 }
@@ -30,6 +30,8 @@ import javax.xml.namespace.QName;
 import javax.xml.soap.SOAPBody;
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
+import java.util.ArrayList;
+import java.util.List;
 
 public abstract class AbstractRequestValidationInterceptor extends AbstractSoapInterceptor {
 
@@ -81,6 +83,19 @@ public abstract class AbstractRequestValidationInterceptor extends AbstractSoapI
         return elementNode.getNodeValue() == null ? elementNode.getTextContent() : elementNode.getNodeValue();
     }
 
+    List<String> getElementValuesFromBody(SOAPBody body, String elementName) {
+        List<String> values = new ArrayList<>();
+        NodeList nodeList = body.getElementsByTagName(elementName);
+        if (nodeList == null) {
+            return values;
+        }
+        for (int i = 0; i < nodeList.getLength(); i++) {
+            Node elementNode = nodeList.item(i);
+            values.add(elementNode.getNodeValue() == null ? elementNode.getTextContent() : elementNode.getNodeValue());
+        }
+        return values;
+    }
+
     void changeElementValue(Node elementNode, String newValue) {
         if (elementNode.getNodeValue() == null) {
             elementNode.setTextContent(newValue);
@@ -52,6 +52,7 @@ import java.io.StringWriter;
 public class ReportSignatureInterceptor extends AbstractSoapInterceptor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ReportSignatureInterceptor.class);
+    private static final String BATCH_REQUEST_ELEMENT = "ValidateDocumentBatch";
 
     @Autowired
     private SignatureService signatureService;
@@ -71,7 +72,7 @@ public class ReportSignatureInterceptor extends AbstractSoapInterceptor {
                 if (soapMessage != null) {
                     SOAPBody responseBody = soapMessage.getSOAPPart().getEnvelope().getBody();
                     SOAPBody requestBody = message.getExchange().getInMessage().getContent(SOAPMessage.class).getSOAPPart().getEnvelope().getBody();
-                    if (reportTypeIsDetailed(requestBody)) {
+                    if (!isBatchRequest(requestBody) && reportTypeIsDetailed(requestBody)) {
                         LOGGER.debug("Starting to create report signature");
                         byte[] validationReportBytes = getValidationReportContent(responseBody);
                         byte[] validationReportSignature = signatureService.getSignature(validationReportBytes, "validationReport.xml", "application/xml");
@@ -85,6 +86,13 @@ public class ReportSignatureInterceptor extends AbstractSoapInterceptor {
         }
     }
 
+    /**
+     * Batch responses contain multiple reports and have no place for a single report signature.
+     */
+    private boolean isBatchRequest(SOAPBody soapBody) {
+        return soapBody.getElementsByTagNameNS("*", BATCH_REQUEST_ELEMENT).getLength() > 0;
+    }
+
     private boolean reportTypeIsDetailed(SOAPBody soapBody) {
         Node reportTypeNode = soapBody.getElementsByTagName("ReportType").item(0);
         reportTypeNode = reportTypeNode == null ? null : reportTypeNode.getFirstChild();
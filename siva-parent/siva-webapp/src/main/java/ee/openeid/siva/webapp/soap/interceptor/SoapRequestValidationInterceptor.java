@@ -21,6 +21,8 @@ import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.xml.soap.SOAPBody;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.Pattern;
 
 public class SoapRequestValidationInterceptor extends AbstractRequestValidationInterceptor {
@@ -38,33 +40,41 @@ public class SoapRequestValidationInterceptor extends AbstractRequestValidationI
     }
 
     private void validateDocumentElement(SOAPBody body) {
-        String documentValue = getElementValueFromBody(body, "Document");
-        if (StringUtils.isBlank(documentValue) || !Base64.isBase64(documentValue)) {
+        List<String> documentValues = getRequiredElementValues(body, "Document");
+        if (documentValues.stream().anyMatch(documentValue -> StringUtils.isBlank(documentValue) || !Base64.isBase64(documentValue))) {
             throwFault(errorMessage("validation.error.message.base64"));
         }
     }
 
     private void validateFilenameElement(SOAPBody body) {
-        String filenameValue = getElementValueFromBody(body, "Filename");
-        if (StringUtils.isBlank(filenameValue) || filenameValue.length() > MAX_FILENAME_LENGTH || filenameValue.length() < 1) {
+        List<String> filenameValues = getRequiredElementValues(body, "Filename");
+        if (filenameValues.stream().anyMatch(filenameValue -> StringUtils.isBlank(filenameValue) || filenameValue.length() > MAX_FILENAME_LENGTH || filenameValue.length() < 1)) {
             throwFault(errorMessage("validation.error.message.filename"));
         }
     }
 
     private void validateDocumentTypeElement(SOAPBody body) {
-        String documentValue = getElementValueFromBody(body, "DocumentType");
-        if (!isValidDocumentType(documentValue)) {
+        if (!getElementValuesFromBody(body, "DocumentType").stream().allMatch(this::isValidDocumentType)) {
             throwFault(errorMessage("validation.error.message.documentType"));
         }
     }
 
     private void validateSignaturePolicyElement(SOAPBody body) {
-        String signaturePolicyValue = getElementValueFromBody(body, "SignaturePolicy");
-        if (signaturePolicyValue != null && (!SIGNATURE_POLICY_PATTERN.matcher(signaturePolicyValue).matches() || signaturePolicyValue.length() > MAX_POLICY_LENGTH || signaturePolicyValue.length() < 1)) {
-            throwFault(errorMessage("validation.error.message.signaturePolicy"));
+        for (String signaturePolicyValue : getElementValuesFromBody(body, "SignaturePolicy")) {
+            if (signaturePolicyValue != null && (!SIGNATURE_POLICY_PATTERN.matcher(signaturePolicyValue).matches() || signaturePolicyValue.length() > MAX_POLICY_LENGTH || signaturePolicyValue.length() < 1)) {
+                throwFault(errorMessage("validation.error.message.signaturePolicy"));
+            }
         }
     }
 
+    /**
+     * Batch requests contain multiple validation requests, every one of them is validated.
+     */
+    private List<String> getRequiredElementValues(SOAPBody body, String elementName) {
+        List<String> values = getElementValuesFromBody(body, elementName);
+        return values.isEmpty() ? Collections.singletonList(null) : values;
+    }
+
     private boolean isValidDocumentType(String inputDocumentType) {
         if (inputDocumentType == null) {
             return true;
@@ -18,8 +18,8 @@ package ee.openeid.siva.webapp.transformer;
 
 import ee.openeid.siva.proxy.document.ProxyDocument;
 import ee.openeid.siva.proxy.document.ReportType;
+import ee.openeid.siva.proxy.document.ValidationLevel;
 import ee.openeid.siva.webapp.request.ValidationRequest;
-import org.apache.commons.codec.binary.Base64;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -29,10 +29,11 @@ public class ValidationRequestToProxyDocumentTransformer {
         ProxyDocument proxyDocument = new ProxyDocument();
 
         proxyDocument.setName(validationRequest.getFilename());
-        proxyDocument.setBytes(Base64.decodeBase64(validationRequest.getDocument()));
+        proxyDocument.setBytes(validationRequest.getDocument());
         proxyDocument.setSignaturePolicy(validationRequest.getSignaturePolicy());
 
         setReportType(validationRequest, proxyDocument);
+        setValidationLevel(validationRequest, proxyDocument);
         return proxyDocument;
     }
 
@@ -44,4 +45,10 @@ public class ValidationRequestToProxyDocumentTransformer {
         }
     }
 
+    private void setValidationLevel(ValidationRequest validationRequest, ProxyDocument proxyDocument) {
+        if (validationRequest.getValidationLevel() != null) {
+            proxyDocument.setValidationLevel(ValidationLevel.validationLevelFromString(validationRequest.getValidationLevel()));
+        }
+    }
+
 }
@@ -17,7 +17,6 @@
 package ee.openeid.siva.testutils;
 
 import ee.openeid.siva.webapp.request.ValidationRequest;
-import org.apache.commons.codec.binary.Base64;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -27,7 +26,7 @@ public class MockValidationRequestBuilder {
 
     public static final String DEFAULT_FILENAME = "filename.pdf";
     public static final String DEFAULT_TYPE = "pdf";
-    public static final String DEFAULT_DOCUMENT = "ABC";
+    public static final byte[] DEFAULT_DOCUMENT = "ABC".getBytes();
     public static final String DEFAULT_SIGNATURE_POLICY = null;
     public static final String DEFAULT_REPORT_TYPE = "Simple";
     private MockValidationRequest validationRequest;
@@ -48,6 +47,11 @@ public class MockValidationRequestBuilder {
         return this;
     }
 
+    public MockValidationRequestBuilder withValidationLevel(String validationLevel) {
+        this.validationRequest.validationLevel = validationLevel;
+        return this;
+    }
+
     public MockValidationRequestBuilder withSignaturePolicy(String policy) {
         this.validationRequest.signaturePolicy = policy;
         return this;
@@ -58,13 +62,13 @@ public class MockValidationRequestBuilder {
         return this;
     }
 
-    public MockValidationRequestBuilder withDocument(String document) {
+    public MockValidationRequestBuilder withDocument(byte[] document) {
         this.validationRequest.document = document;
         return this;
     }
 
     public MockValidationRequestBuilder withDocument(Path documentPath) throws IOException {
-        this.validationRequest.document = Base64.encodeBase64String(Files.readAllBytes(documentPath));
+        this.validationRequest.document = Files.readAllBytes(documentPath);
         return this;
     }
 
@@ -74,14 +78,15 @@ public class MockValidationRequestBuilder {
 
     public static class MockValidationRequest implements ValidationRequest {
 
-        private String document = DEFAULT_DOCUMENT;
+        private byte[] document = DEFAULT_DOCUMENT;
         private String filename = DEFAULT_FILENAME;
         private String type = DEFAULT_TYPE;
         private String signaturePolicy = DEFAULT_SIGNATURE_POLICY;
         private String reportType = DEFAULT_REPORT_TYPE;
+        private String validationLevel;
 
         @Override
-        public String getDocument() {
+        public byte[] getDocument() {
             return document;
         }
 
@@ -105,6 +110,11 @@ public class MockValidationRequestBuilder {
             return reportType;
         }
 
+        @Override
+        public String getValidationLevel() {
+            return validationLevel;
+        }
+
         public void setType(String type) {
             this.type = type;
         }
@@ -112,5 +122,9 @@ public class MockValidationRequestBuilder {
         public void setReportType(String reportType) {
             this.reportType = reportType;
         }
+
+        public void setValidationLevel(String validationLevel) {
+            this.validationLevel = validationLevel;
+        }
     }
 }
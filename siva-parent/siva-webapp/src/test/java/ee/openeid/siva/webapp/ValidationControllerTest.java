@@ -32,9 +32,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.Environment;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 
+import javax.validation.Validation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.standaloneSetup;
@@ -57,6 +62,7 @@ public class ValidationControllerTest {
         ValidationProxySpy validationProxyServiceSpy = new ValidationProxySpy(statisticsService, applicationContext, environment);
         validationController.setContainerValidationProxy(validationProxyServiceSpy);
         validationController.setTransformer(transformerSpy);
+        validationController.setValidator(Validation.buildDefaultValidatorFactory().getValidator());
         mockMvc = standaloneSetup(validationController).build();
     }
 
@@ -67,7 +73,18 @@ public class ValidationControllerTest {
                 .content(validRequest().toString().getBytes())
         );
         assertEquals("filename.asd", transformerSpy.validationRequest.getFilename());
-        assertEquals("QVNE", transformerSpy.validationRequest.getDocument());
+        assertArrayEquals("ASD".getBytes(), transformerSpy.validationRequest.getDocument());
+    }
+
+    @Test
+    public void lineBrokenBase64DocumentIsDecoded() throws Exception {
+        JSONObject jsonObject = validRequest();
+        jsonObject.put("document", "QVNE\r\nQVNE\n");
+        mockMvc.perform(post("/validate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonObject.toString().getBytes())
+        );
+        assertArrayEquals("ASDASD".getBytes(), transformerSpy.validationRequest.getDocument());
     }
 
     @Test
@@ -141,6 +158,71 @@ public class ValidationControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void binaryRequestIsCorrectlyMappedToPOJO() throws Exception {
+        mockMvc.perform(post("/validate")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .param("filename", "filename.asd")
+                .param("reportType", "Detailed")
+                .content("ASD".getBytes()));
+        assertEquals("filename.asd", transformerSpy.validationRequest.getFilename());
+        assertEquals("Detailed", transformerSpy.validationRequest.getReportType());
+        assertArrayEquals("ASD".getBytes(), transformerSpy.validationRequest.getDocument());
+    }
+
+    @Test
+    public void binaryRequestWithoutFilenameReturnsErroneousResponse() throws Exception {
+        mockMvc.perform(post("/validate")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content("ASD".getBytes()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void binaryRequestWithInvalidReportTypeReturnsErroneousResponse() throws Exception {
+        mockMvc.perform(post("/validate")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .param("filename", "filename.asd")
+                .param("reportType", "INVALID_REPORT_TYPE")
+                .content("ASD".getBytes()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void binaryRequestWithEmptyDocumentReturnsErroneousResponse() throws Exception {
+        mockMvc.perform(post("/validate")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .param("filename", "filename.asd")
+                .content(new byte[0]))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void multipartRequestIsCorrectlyMappedToPOJO() throws Exception {
+        mockMvc.perform(multipart("/validate")
+                .file(new MockMultipartFile("document", "filename.asd", MediaType.APPLICATION_OCTET_STREAM_VALUE, "ASD".getBytes()))
+                .param("filename", "filename.asd")
+                .param("signaturePolicy", "POLv4"));
+        assertEquals("filename.asd", transformerSpy.validationRequest.getFilename());
+        assertEquals("POLv4", transformerSpy.validationRequest.getSignaturePolicy());
+        assertArrayEquals("ASD".getBytes(), transformerSpy.validationRequest.getDocument());
+    }
+
+    @Test
+    public void multipartRequestWithoutDocumentReturnsErroneousResponse() throws Exception {
+        mockMvc.perform(multipart("/validate")
+                .param("filename", "filename.asd"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void multipartRequestWithEmptyDocumentReturnsErroneousResponse() throws Exception {
+        mockMvc.perform(multipart("/validate")
+                .file(new MockMultipartFile("document", "filename.asd", MediaType.APPLICATION_OCTET_STREAM_VALUE, new byte[0]))
+                .param("filename", "filename.asd"))
+                .andExpect(status().isBadRequest());
+    }
+
     private String filenameWithIllegalCharacter(String illegalCharacter) {
         return "file" + illegalCharacter + "name.pdf";
     }
@@ -39,15 +39,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.context.MessageSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.MessageSource;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
 
+import javax.validation.Validation;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -55,6 +59,7 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 
 @ExtendWith(SpringExtension.class)
@@ -86,6 +91,7 @@ public class ValidationExceptionHandlerTest {
         validationController.setTransformer(new ValidationRequestToProxyDocumentTransformer());
         validationController.setHashcodeValidationProxy(hashcodeValidationProxy);
         validationController.setHashRequestTransformer(new HashcodeValidationRequestToProxyDocumentTransformer());
+        validationController.setValidator(Validation.buildDefaultValidatorFactory().getValidator());
         dataFilesController.setDataFilesProxy(dataFilesProxy);
         dataFilesController.setDataFilesTransformer(new DataFilesRequestToProxyDocumentTransformer());
 
@@ -108,6 +114,32 @@ public class ValidationExceptionHandlerTest {
                 .andReturn();
     }
 
+    @Test
+    public void testInvalidBase64DocumentExceptionHandler() throws Exception {
+        JSONObject request = request();
+        request.put("document", "a" + request.getString("document"));
+        mockMvc.perform(post(VALIDATE_URL_TEMPLATE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request.toString().getBytes()))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requestErrors", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requestErrors[0].key", is("document")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requestErrors[0].message", is("Document is not encoded in a valid base64 string")));
+    }
+
+    @Test
+    public void testUnreadableJsonRequestIsLeftToDefaultExceptionResolvers() throws Exception {
+        MvcResult result = mockMvc.perform(post(VALIDATE_URL_TEMPLATE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"document\":".getBytes()))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andReturn();
+
+        assertEquals("", result.getResponse().getContentAsString());
+        Mockito.verifyNoInteractions(validationProxy);
+    }
+
     @Test
     public void testMethodArgumentNotValidExceptionOnGetDataFilesExceptionHandler() throws Exception {
         mockMvcDataFiles.perform(post(GET_DATA_FILES_URL_TEMPLATE)
@@ -162,6 +194,49 @@ public class ValidationExceptionHandlerTest {
         assertEquals(content, "{\"requestErrors\":[{\"key\":\"document\",\"message\":\"Document malformed or not matching documentType\"}]}");
     }
 
+    @Test
+    public void testOversizedBinaryDocumentIsRejectedWithDocumentRequirementsError() throws Exception {
+        MultipartProperties multipartProperties = new MultipartProperties();
+        multipartProperties.setMaxFileSize(DataSize.ofBytes(16));
+        validationController.setMultipartProperties(multipartProperties);
+
+        MvcResult result = mockMvc.perform(post(VALIDATE_URL_TEMPLATE)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .param("filename", "filename.pdf")
+                .content(new byte[17]))
+                .andExpect(MockMvcResultMatchers.status().isPayloadTooLarge())
+                .andReturn();
+
+        String content = result.getResponse().getContentAsString();
+        assertEquals("{\"requestErrors\":[{\"key\":\"document\",\"message\":\"Document does not meet the requirements\"}]}", content);
+        Mockito.verifyNoInteractions(validationProxy);
+    }
+
+    @Test
+    public void testEmptyBinaryDocumentIsRejectedWithDocumentFieldError() throws Exception {
+        mockMvc.perform(post(VALIDATE_URL_TEMPLATE)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .param("filename", "filename.pdf")
+                .content(new byte[0]))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requestErrors", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requestErrors[0].key", is("document")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requestErrors[0].message", is("must not be blank")));
+        Mockito.verifyNoInteractions(validationProxy);
+    }
+
+    @Test
+    public void testEmptyMultipartDocumentIsRejectedWithDocumentFieldError() throws Exception {
+        mockMvc.perform(multipart(VALIDATE_URL_TEMPLATE)
+                .file(new MockMultipartFile("document", "filename.pdf", MediaType.APPLICATION_OCTET_STREAM_VALUE, new byte[0]))
+                .param("filename", "filename.pdf"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requestErrors", hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requestErrors[0].key", is("document")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.requestErrors[0].message", is("must not be blank")));
+        Mockito.verifyNoInteractions(validationProxy);
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void givenInvalidPolicyWillReturnErrorJson() throws Exception {
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp.async;
+
+import ee.openeid.siva.statistics.ValidationJobContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ValidationJobContextTaskDecoratorTest {
+
+    private final ValidationJobContextTaskDecorator decorator = new ValidationJobContextTaskDecorator();
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void userIdentifierIsCapturedWhenTaskIsSubmitted() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Authenticated-User", "user");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        AtomicReference<Optional<ValidationJobContext>> taskContext = new AtomicReference<>();
+        Runnable task = decorator.decorate(() -> taskContext.set(ValidationJobContext.current()));
+
+        // Simulates the servlet container recycling the request after the async handoff
+        request.removeHeader("X-Authenticated-User");
+        RequestContextHolder.resetRequestAttributes();
+        task.run();
+
+        assertEquals("user", taskContext.get().orElseThrow().getUserIdentifier());
+        assertFalse(ValidationJobContext.current().isPresent());
+    }
+
+    @Test
+    public void requestIsNotBoundToTask() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        AtomicReference<RequestAttributes> taskRequestAttributes = new AtomicReference<>();
+        Runnable task = decorator.decorate(() -> taskRequestAttributes.set(RequestContextHolder.getRequestAttributes()));
+
+        Thread worker = new Thread(task);
+        worker.start();
+        joinQuietly(worker);
+
+        assertNull(taskRequestAttributes.get());
+    }
+
+    @Test
+    public void contextIsPropagatedFromEnclosingJob() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Authenticated-User", "user");
+        AtomicReference<Optional<ValidationJobContext>> nestedTaskContext = new AtomicReference<>();
+
+        ValidationJobContext.of(request).run(() ->
+                decorator.decorate(() -> nestedTaskContext.set(ValidationJobContext.current())).run());
+
+        assertEquals("user", nestedTaskContext.get().orElseThrow().getUserIdentifier());
+    }
+
+    @Test
+    public void submittingThreadContextIsRestored() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Authenticated-User", "user");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        Runnable task = decorator.decorate(() -> {
+        });
+        ValidationJobContext submittingThreadContext = ValidationJobContext.of(new MockHttpServletRequest());
+        AtomicReference<Optional<ValidationJobContext>> contextAfterTask = new AtomicReference<>();
+
+        submittingThreadContext.run(() -> {
+            task.run();
+            contextAfterTask.set(ValidationJobContext.current());
+        });
+
+        assertSame(submittingThreadContext, contextAfterTask.get().orElseThrow());
+    }
+
+    @Test
+    public void taskWithoutContextIsNotDecorated() {
+        Runnable runnable = () -> {
+        };
+        assertSame(runnable, decorator.decorate(runnable));
+    }
+
+    private static void joinQuietly(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
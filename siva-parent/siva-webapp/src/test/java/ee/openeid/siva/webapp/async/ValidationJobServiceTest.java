@@ -0,0 +1,170 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp.async;
+
+import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.validation.exception.MalformedDocumentException;
+import ee.openeid.siva.webapp.configuration.AsyncValidationConfigurationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ValidationJobServiceTest {
+
+    private ValidationJobService validationJobService;
+    private AsyncValidationConfigurationProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new AsyncValidationConfigurationProperties();
+        validationJobService = new ValidationJobService();
+        validationJobService.setProperties(properties);
+        validationJobService.setValidationJobExecutor(new ConcurrentTaskExecutor(Runnable::run));
+    }
+
+    @Test
+    public void submittedJobResultIsAvailableById() {
+        SimpleReport report = new SimpleReport();
+        ValidationJob job = validationJobService.submit(() -> report);
+
+        ValidationJob storedJob = validationJobService.getJob(job.getId());
+        assertEquals(ValidationJobStatus.COMPLETED, storedJob.getStatus());
+        assertSame(report, storedJob.getResult().join());
+    }
+
+    @Test
+    public void failedJobHasFailedStatus() {
+        ValidationJob job = validationJobService.submit(() -> {
+            throw new MalformedDocumentException();
+        });
+        assertEquals(ValidationJobStatus.FAILED, validationJobService.getJob(job.getId()).getStatus());
+    }
+
+    @Test
+    public void runningJobHasPendingStatus() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        validationJobService.setValidationJobExecutor(new ConcurrentTaskExecutor(Executors.newSingleThreadExecutor()));
+        ValidationJob job = validationJobService.submit(() -> {
+            awaitQuietly(latch);
+            return new SimpleReport();
+        });
+
+        assertEquals(ValidationJobStatus.PENDING, validationJobService.getJob(job.getId()).getStatus());
+        latch.countDown();
+        job.getResult().get();
+        assertEquals(ValidationJobStatus.COMPLETED, validationJobService.getJob(job.getId()).getStatus());
+    }
+
+    @Test
+    public void unknownJobIdThrowsNotFoundException() {
+        assertThrows(ValidationJobNotFoundException.class, () -> validationJobService.getJob("unknown"));
+    }
+
+    @Test
+    public void expiredJobIsRemoved() {
+        properties.setResultTimeToLive(Duration.ofMillis(-1));
+        ValidationJob job = validationJobService.submit(SimpleReport::new);
+        assertThrows(ValidationJobNotFoundException.class, () -> validationJobService.getJob(job.getId()));
+    }
+
+    @Test
+    public void expiredJobIsEvictedWithoutLookup() {
+        properties.setResultTimeToLive(Duration.ofMillis(-1));
+        ValidationJob job = validationJobService.submit(SimpleReport::new);
+
+        validationJobService.evictExpiredJobs();
+
+        properties.setResultTimeToLive(Duration.ofMinutes(10));
+        assertThrows(ValidationJobNotFoundException.class, () -> validationJobService.getJob(job.getId()));
+    }
+
+    @Test
+    public void unexpiredJobIsNotEvicted() {
+        ValidationJob job = validationJobService.submit(SimpleReport::new);
+
+        validationJobService.evictExpiredJobs();
+
+        assertSame(job, validationJobService.getJob(job.getId()));
+    }
+
+    @Test
+    public void submissionIsRejectedWhenStoreIsFull() {
+        properties.setMaxStoredJobs(1);
+        validationJobService.submit(SimpleReport::new);
+        assertThrows(TaskRejectedException.class, () -> validationJobService.submit(SimpleReport::new));
+    }
+
+    @Test
+    public void concurrentSubmissionsDoNotExceedStoreLimit() throws Exception {
+        properties.setMaxStoredJobs(10);
+        int submitters = 50;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(submitters);
+        try {
+            List<Future<?>> submissions = new ArrayList<>();
+            for (int i = 0; i < submitters; i++) {
+                submissions.add(executor.submit(() -> {
+                    awaitQuietly(start);
+                    try {
+                        validationJobService.submit(SimpleReport::new);
+                        accepted.incrementAndGet();
+                    } catch (TaskRejectedException e) {
+                        // Store full
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> submission : submissions) {
+                submission.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(10, accepted.get());
+    }
+
+    @Test
+    public void expiredJobsFreeStoreSlots() {
+        properties.setMaxStoredJobs(1);
+        properties.setResultTimeToLive(Duration.ofMillis(-1));
+        validationJobService.submit(SimpleReport::new);
+        validationJobService.submit(SimpleReport::new);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp.batch;
+
+import ee.openeid.siva.proxy.ContainerValidationProxy;
+import ee.openeid.siva.proxy.document.ProxyDocument;
+import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.validation.exception.MalformedDocumentException;
+import ee.openeid.siva.webapp.configuration.BatchValidationConfigurationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchValidationServiceTest {
+
+    @Mock
+    private ContainerValidationProxy containerValidationProxy;
+    private BatchValidationConfigurationProperties properties;
+    private BatchValidationService batchValidationService;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new BatchValidationConfigurationProperties();
+        batchValidationService = new BatchValidationService();
+        batchValidationService.setContainerValidationProxy(containerValidationProxy);
+        batchValidationService.setProperties(properties);
+        batchValidationService.setBatchValidationExecutor(new ConcurrentTaskExecutor(Executors.newFixedThreadPool(2)));
+    }
+
+    @Test
+    public void resultsAreReturnedInRequestOrder() {
+        ProxyDocument first = proxyDocument("first.bdoc");
+        ProxyDocument second = proxyDocument("second.bdoc");
+        SimpleReport firstReport = new SimpleReport();
+        SimpleReport secondReport = new SimpleReport();
+        when(containerValidationProxy.validate(first)).thenReturn(firstReport);
+        when(containerValidationProxy.validate(second)).thenReturn(secondReport);
+
+        List<CompletableFuture<SimpleReport>> reports = batchValidationService.validate(Arrays.asList(first, second));
+
+        assertEquals(2, reports.size());
+        assertSame(firstReport, reports.get(0).join());
+        assertSame(secondReport, reports.get(1).join());
+    }
+
+    @Test
+    public void failingDocumentDoesNotFailOtherDocuments() {
+        ProxyDocument malformed = proxyDocument("malformed.bdoc");
+        ProxyDocument valid = proxyDocument("valid.bdoc");
+        SimpleReport report = new SimpleReport();
+        when(containerValidationProxy.validate(malformed)).thenThrow(new MalformedDocumentException());
+        when(containerValidationProxy.validate(valid)).thenReturn(report);
+
+        List<CompletableFuture<SimpleReport>> reports = batchValidationService.validate(Arrays.asList(malformed, valid));
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> reports.get(0).join());
+        assertTrue(exception.getCause() instanceof MalformedDocumentException);
+        assertSame(report, reports.get(1).join());
+    }
+
+    @Test
+    public void tooLargeBatchIsRejected() {
+        properties.setMaxBatchSize(1);
+        List<ProxyDocument> documents = Arrays.asList(proxyDocument("first.bdoc"), proxyDocument("second.bdoc"));
+
+        assertThrows(BatchSizeExceededException.class, () -> batchValidationService.validate(documents));
+        verifyNoInteractions(containerValidationProxy);
+    }
+
+    @Test
+    public void emptyBatchReturnsNoResults() {
+        assertTrue(batchValidationService.validate(Collections.emptyList()).isEmpty());
+    }
+
+    private static ProxyDocument proxyDocument(String name) {
+        ProxyDocument proxyDocument = new ProxyDocument();
+        proxyDocument.setName(name);
+        proxyDocument.setBytes(name.getBytes());
+        return proxyDocument;
+    }
+}
@@ -21,6 +21,8 @@ import ee.openeid.siva.signature.SignatureService;
 import ee.openeid.siva.validation.document.report.DetailedReport;
 import ee.openeid.siva.validation.document.report.ValidatedDocument;
 import ee.openeid.siva.validation.document.report.ValidationConclusion;
+import ee.openeid.siva.webapp.response.BatchValidationResponse;
+import ee.openeid.siva.webapp.response.BatchValidationResult;
 import ee.openeid.siva.webapp.response.ValidationResponse;
 import ee.openeid.siva.validation.configuration.ReportConfigurationProperties;
 import org.apache.commons.codec.binary.Base64;
@@ -31,6 +33,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
@@ -63,6 +66,15 @@ public class ReportSignatureInterceptorTest {
         assertArrayEquals(getRawSignatureMock(), Base64.decodeBase64(validationResponse.getValidationReportSignature()));
     }
 
+    @Test
+    public void everyDetailedReportInBatchResponseIsSigned() {
+        BatchValidationResult result = new BatchValidationResult(getValidationResponseMock().getValidationReport());
+        BatchValidationResponse batchValidationResponse = (BatchValidationResponse) reportSignatureInterceptor.beforeBodyWrite(
+                new BatchValidationResponse(Arrays.asList(result, result)), null, null, null, null, null);
+        batchValidationResponse.getValidationResults().forEach(validationResult ->
+                assertArrayEquals(getRawSignatureMock(), Base64.decodeBase64(validationResult.getValidationReportSignature())));
+    }
+
     private ValidationResponse getValidationResponseMock() {
         ValidationResponse validationResponse = new ValidationResponse();
         DetailedReport detailedReport = new DetailedReport();
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.webapp.request.validation;
+
+import ee.openeid.siva.webapp.request.validation.annotations.ValidValidationLevel;
+import lombok.AllArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+public class ValidValidationLevelTest extends AnnotationValidatorTestBase {
+
+    private static final String INVALID_VALIDATION_LEVEL = "Invalid validation level";
+
+    @Test
+    public void validValidationLevels() {
+        validValidationLevel("basic_signatures");
+        validValidationLevel("BASIC_SIGNATURES");
+
+        validValidationLevel("long_term_data");
+        validValidationLevel("LONG_TERM_DATA");
+
+        validValidationLevel("archival_data");
+        validValidationLevel("ARCHIVAL_DATA");
+
+        validValidationLevel(null);
+    }
+
+    @Test
+    public void invalidValidationLevels() {
+        invalidValidationLevel("TIMESTAMPS", INVALID_VALIDATION_LEVEL);
+        invalidValidationLevel("basic", INVALID_VALIDATION_LEVEL);
+        invalidValidationLevel("", INVALID_VALIDATION_LEVEL);
+        invalidValidationLevel(" ", INVALID_VALIDATION_LEVEL);
+    }
+
+    private void validValidationLevel(String validationLevel) {
+        assertNoViolations(new MockTestTarget(validationLevel), validationLevel);
+    }
+
+    private void invalidValidationLevel(String validationLevel, String... errorMessages) {
+        assertViolations(new MockTestTarget(validationLevel), validationLevel, errorMessages);
+    }
+
+    @AllArgsConstructor
+    class MockTestTarget implements TestClassWithAnnotatedFields {
+
+        @ValidValidationLevel
+        String validationLevel;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.siva.webapp.soap.impl;
+
+import ee.openeid.siva.proxy.document.ProxyDocument;
+import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.validation.exception.MalformedDocumentException;
+import ee.openeid.siva.webapp.ValidationExceptionHandler;
+import ee.openeid.siva.webapp.batch.BatchValidationService;
+import ee.openeid.siva.webapp.soap.SoapValidationRequest;
+import ee.openeid.siva.webapp.soap.response.BatchValidationResult;
+import ee.openeid.siva.webapp.soap.transformer.SoapValidationRequestToProxyDocumentTransformer;
+import ee.openeid.siva.webapp.soap.transformer.ValidationReportSoapResponseTransformer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.support.StaticMessageSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ValidationWebServiceImplTest {
+
+    @Mock
+    private BatchValidationService batchValidationService;
+    @Mock
+    private SoapValidationRequestToProxyDocumentTransformer requestTransformer;
+    @Mock
+    private ValidationReportSoapResponseTransformer responseTransformer;
+
+    private ValidationWebServiceImpl validationWebService;
+
+    @BeforeEach
+    public void setUp() {
+        StaticMessageSource messageSource = new StaticMessageSource();
+        messageSource.addMessage("validation.error.message.document.malformed", Locale.getDefault(), "Document malformed or not matching documentType");
+        messageSource.addMessage("validation.service.error.message", Locale.getDefault(), "Unfortunately there was an error validating your document");
+        ValidationExceptionHandler validationExceptionHandler = new ValidationExceptionHandler();
+        validationExceptionHandler.setMessageSource(messageSource);
+
+        validationWebService = new ValidationWebServiceImpl();
+        validationWebService.setBatchValidationService(batchValidationService);
+        validationWebService.setRequestTransformer(requestTransformer);
+        validationWebService.setResponseTransformer(responseTransformer);
+        validationWebService.setValidationExceptionHandler(validationExceptionHandler);
+        when(requestTransformer.transform(any(SoapValidationRequest.class))).thenReturn(new ProxyDocument());
+    }
+
+    @Test
+    public void failedBatchDocumentsAreMappedToRequestErrorMessages() {
+        when(batchValidationService.validate(anyList())).thenReturn(Arrays.asList(
+                CompletableFuture.completedFuture(new SimpleReport()),
+                CompletableFuture.failedFuture(new MalformedDocumentException()),
+                CompletableFuture.failedFuture(new IllegalStateException("internal details"))));
+
+        List<BatchValidationResult> results = validationWebService.validateDocumentBatch(Arrays.asList(
+                request("valid.bdoc"), request("malformed.bdoc"), request("failing.bdoc")));
+
+        assertNull(results.get(0).getErrorMessage());
+        assertEquals("malformed.bdoc", results.get(1).getFilename());
+        assertEquals("Document malformed or not matching documentType", results.get(1).getErrorMessage());
+        assertEquals("Unfortunately there was an error validating your document", results.get(2).getErrorMessage());
+    }
+
+    @Test
+    public void batchDocumentFailureWithoutMessageIsMapped() {
+        when(batchValidationService.validate(anyList())).thenReturn(Arrays.asList(
+                CompletableFuture.failedFuture(new NullPointerException())));
+
+        List<BatchValidationResult> results = validationWebService.validateDocumentBatch(Arrays.asList(request("failing.bdoc")));
+
+        assertEquals("Unfortunately there was an error validating your document", results.get(0).getErrorMessage());
+    }
+
+    private static SoapValidationRequest request(String filename) {
+        SoapValidationRequest request = new SoapValidationRequest();
+        request.setFilename(filename);
+        return request;
+    }
+}
@@ -18,9 +18,9 @@ package ee.openeid.siva.webapp.transformer;
 
 import ee.openeid.siva.proxy.document.ProxyDocument;
 import ee.openeid.siva.proxy.document.ReportType;
+import ee.openeid.siva.proxy.document.ValidationLevel;
 import ee.openeid.siva.proxy.document.typeresolver.UnsupportedTypeException;
 import ee.openeid.siva.testutils.MockValidationRequestBuilder;
-import org.apache.commons.codec.binary.Base64;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,7 +28,9 @@ import org.junit.jupiter.api.Test;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class ValidationRequestToProxyDocumentTransformerTest {
 
@@ -68,10 +70,24 @@ public class ValidationRequestToProxyDocumentTransformerTest {
         }, "ReportType of type 'INVALID_MISS_TYPED_OR_MISSING_REPORT_TYPE' is not supported");
     }
 
+    @Test
+    public void validationLevelIsCorrectlyTransformedToValidationLevel() {
+        for (ValidationLevel validationLevel : ValidationLevel.values()) {
+            validationRequest.setValidationLevel(validationLevel.name().toLowerCase());
+            assertEquals(validationLevel, transformer.transform(validationRequest).getValidationLevel());
+        }
+    }
+
+    @Test
+    public void nullValidationLevelIsLeftToSignaturePolicy() {
+        validationRequest.setValidationLevel(null);
+        assertNull(transformer.transform(validationRequest).getValidationLevel());
+    }
+
     @Test
     public void contentIsCorrectlyTransformedToBytes() {
         ProxyDocument proxyDocument = transformer.transform(validationRequest);
-        assertEquals(validationRequest.getDocument(), Base64.encodeBase64String(proxyDocument.getBytes()));
+        assertArrayEquals(validationRequest.getDocument(), proxyDocument.getBytes());
     }
 
     @Test
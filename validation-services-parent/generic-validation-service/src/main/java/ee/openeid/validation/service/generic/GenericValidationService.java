@@ -26,23 +26,21 @@ import ee.openeid.siva.validation.service.ValidationService;
 import ee.openeid.siva.validation.service.signature.policy.ConstraintLoadingSignaturePolicyService;
 import ee.openeid.siva.validation.service.signature.policy.InvalidPolicyException;
 import ee.openeid.siva.validation.service.signature.policy.properties.ConstraintDefinedPolicy;
-import ee.openeid.tsl.configuration.AlwaysFailingCRLSource;
-import ee.openeid.tsl.configuration.AlwaysFailingOCSPSource;
+import ee.openeid.validation.service.generic.configuration.SignatureValidationProperties;
+import ee.openeid.validation.service.generic.validator.ParallelSignatureVerifier;
 import ee.openeid.validation.service.generic.validator.container.ContainerValidatorFactory;
+import ee.openeid.validation.service.generic.validator.report.DssReportsIndex;
 import ee.openeid.validation.service.generic.validator.report.GenericValidationReportBuilder;
 import ee.openeid.validation.service.generic.validator.report.ReportBuilderData;
+import ee.openeid.validation.service.generic.verifier.CertificateVerifierProvider;
 import eu.europa.esig.dss.enumerations.TokenExtractionStrategy;
 import eu.europa.esig.dss.exception.IllegalInputException;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DSSException;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.model.MimeType;
-import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
-import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
-import eu.europa.esig.dss.spi.x509.aia.DefaultAIASource;
 import eu.europa.esig.dss.validation.AdvancedSignature;
-import eu.europa.esig.dss.validation.CommonCertificateVerifier;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
 import eu.europa.esig.dss.validation.executor.ValidationLevel;
 import org.slf4j.Logger;
@@ -52,18 +50,21 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 @Service
 public class GenericValidationService implements ValidationService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(GenericValidationService.class);
-    private static final ValidationLevel VALIDATION_LEVEL = ValidationLevel.ARCHIVAL_DATA;
+    private static final ValidationLevel DEFAULT_VALIDATION_LEVEL = ValidationLevel.ARCHIVAL_DATA;
 
     private TrustedListsCertificateSource trustedListsCertificateSource;
     private ConstraintLoadingSignaturePolicyService signaturePolicyService;
     private ReportConfigurationProperties reportConfigurationProperties;
-    private ProxyConfig proxyConfig;
+    private CertificateVerifierProvider certificateVerifierProvider;
     private ContainerValidatorFactory containerValidatorFactory;
+    private Executor signatureValidationExecutor;
+    private SignatureValidationProperties signatureValidationProperties;
 
     @Override
     public Reports validateDocument(ValidationDocument validationDocument) throws DSSException {
@@ -78,15 +79,19 @@ public class GenericValidationService implements ValidationService {
             SignedDocumentValidator validator = createValidatorFromDocument(validationDocument);
 
             final ConstraintDefinedPolicy policy = signaturePolicyService.getPolicy(validationDocument.getSignaturePolicy());
-
-            final eu.europa.esig.dss.validation.reports.Reports reports = validator.validateDocument(policy.getConstraintDataStream());
+            final ValidationLevel validationLevel = getValidationLevel(validationDocument, policy);
+            validator.setValidationLevel(validationLevel);
 
             //For large PDF files the getSignatures() method is currently expensive.
             //Initialize once and use in different components to reduce response time for large PDF files validation.
             List<AdvancedSignature> signatures = validator.getSignatures();
+            verifySignaturesInParallel(signatures);
+
+            final eu.europa.esig.dss.validation.reports.Reports reports = validator.validateDocument(policy.getDssValidationPolicy());
 
-            new RevocationFreshnessValidator(reports).validate();
-            containerValidatorFactory.create(reports, validationDocument).validate();
+            DssReportsIndex reportsIndex = DssReportsIndex.of(reports);
+            new RevocationFreshnessValidator(reportsIndex).validate();
+            containerValidatorFactory.create(reportsIndex, validationDocument).validate();
 
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info(
@@ -99,11 +104,13 @@ public class GenericValidationService implements ValidationService {
             }
             ReportBuilderData reportBuilderData = ReportBuilderData.builder()
                     .dssReports(reports)
-                    .validationLevel(VALIDATION_LEVEL)
+                    .reportsIndex(reportsIndex)
+                    .validationLevel(validationLevel)
                     .validationDocument(validationDocument)
                     .policy(policy)
                     .isReportSignatureEnabled(reportConfigurationProperties.isReportSignatureEnabled())
                     .trustedListsCertificateSource(trustedListsCertificateSource)
+                    .trustedCertificateIndex(certificateVerifierProvider.getTrustedCertificateIndex())
                     .signatures(signatures)
                     .build();
 
@@ -127,27 +134,45 @@ public class GenericValidationService implements ValidationService {
     protected SignedDocumentValidator createValidatorFromDocument(final ValidationDocument validationDocument) {
         final DSSDocument dssDocument = createDssDocument(validationDocument);
         SignedDocumentValidator validator = createSignedDocumentValidator(dssDocument);
-        CommonCertificateVerifier certificateVerifier = createCertificateVerifier();
-
-        LOGGER.info("Certificate pool size: {}", getCertificatePoolSize(certificateVerifier));
-        validator.setCertificateVerifier(certificateVerifier);
-        validator.setValidationLevel(VALIDATION_LEVEL);
+        validator.setCertificateVerifier(certificateVerifierProvider.getCertificateVerifier());
 
         validator.setTokenExtractionStrategy(TokenExtractionStrategy.EXTRACT_TIMESTAMPS_AND_REVOCATION_DATA);
+        // ETSI validation report is not exposed by any of the report types
+        validator.setEnableEtsiValidationReport(false);
         return validator;
     }
 
+    static ValidationLevel getValidationLevel(ValidationDocument validationDocument, ConstraintDefinedPolicy policy) {
+        if (validationDocument.getValidationLevel() != null) {
+            return validationDocument.getValidationLevel();
+        }
+        if (policy.getValidationLevel() != null) {
+            return policy.getValidationLevel();
+        }
+        return DEFAULT_VALIDATION_LEVEL;
+    }
+
     protected DSSDocument createDssDocument(final ValidationDocument validationDocument) {
         if (validationDocument == null) {
             return null;
         }
-        final InMemoryDocument dssDocument = new InMemoryDocument(validationDocument.getBytes());
+        final DSSDocument dssDocument = validationDocument.getContent() != null
+                ? validationDocument.getContent().toDssDocument()
+                : new InMemoryDocument(validationDocument.getBytes());
         dssDocument.setName(validationDocument.getName());
         dssDocument.setMimeType(MimeType.fromFileName(validationDocument.getName()));
 
         return dssDocument;
     }
 
+    private void verifySignaturesInParallel(List<AdvancedSignature> signatures) {
+        if (signatureValidationExecutor == null || signatureValidationProperties == null) {
+            return;
+        }
+        new ParallelSignatureVerifier(signatureValidationExecutor, signatureValidationProperties.getMaxParallelismPerRequest())
+                .verify(signatures);
+    }
+
     private SignedDocumentValidator createSignedDocumentValidator(DSSDocument dssDocument) {
         try {
             return SignedDocumentValidator.fromDocument(dssDocument);
@@ -159,25 +184,6 @@ public class GenericValidationService implements ValidationService {
         }
     }
 
-    private CommonCertificateVerifier createCertificateVerifier() {
-        CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
-        certificateVerifier.setTrustedCertSources(trustedListsCertificateSource);
-        certificateVerifier.setOcspSource(new AlwaysFailingOCSPSource());
-        certificateVerifier.setCrlSource(new AlwaysFailingCRLSource());
-
-        CommonsDataLoader dataLoader = new CommonsDataLoader();
-        dataLoader.setProxyConfig(proxyConfig);
-
-        DefaultAIASource aiaSource = new DefaultAIASource(dataLoader);
-        certificateVerifier.setAIASource(aiaSource);
-
-        return certificateVerifier;
-    }
-
-    private int getCertificatePoolSize(CommonCertificateVerifier certificateVerifier) {
-        return certificateVerifier.getTrustedCertSources().getNumberOfCertificates();
-    }
-
     protected RuntimeException constructMalformedDocumentException(Exception cause) {
         return new MalformedDocumentException(cause);
     }
@@ -188,8 +194,8 @@ public class GenericValidationService implements ValidationService {
     }
 
     @Autowired
-    public void setProxyConfig(ProxyConfig proxyConfig){
-        this.proxyConfig = proxyConfig;
+    public void setCertificateVerifierProvider(CertificateVerifierProvider certificateVerifierProvider) {
+        this.certificateVerifierProvider = certificateVerifierProvider;
     }
 
     @Autowired
@@ -212,4 +218,14 @@ public class GenericValidationService implements ValidationService {
     public void setContainerValidatorFactory(ContainerValidatorFactory containerValidatorFactory) {
         this.containerValidatorFactory = containerValidatorFactory;
     }
+
+    @Autowired(required = false)
+    public void setSignatureValidationExecutor(@Qualifier("signatureValidationExecutor") Executor signatureValidationExecutor) {
+        this.signatureValidationExecutor = signatureValidationExecutor;
+    }
+
+    @Autowired(required = false)
+    public void setSignatureValidationProperties(SignatureValidationProperties signatureValidationProperties) {
+        this.signatureValidationProperties = signatureValidationProperties;
+    }
 }
@@ -21,28 +21,49 @@ import ee.openeid.siva.validation.document.ValidationDocument;
 import ee.openeid.siva.validation.document.report.Reports;
 import ee.openeid.siva.validation.document.report.ValidationConclusion;
 import ee.openeid.siva.validation.exception.MalformedSignatureFileException;
+import ee.openeid.siva.validation.exception.ValidationServiceException;
 import ee.openeid.siva.validation.security.SecureSAXParsers;
+import ee.openeid.validation.service.generic.configuration.HashcodeValidationProperties;
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.model.DSSDocument;
 import eu.europa.esig.dss.model.DigestDocument;
 import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
 import javax.xml.parsers.SAXParser;
 import java.io.ByteArrayInputStream;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Service
 public class HashcodeGenericValidationService extends GenericValidationService {
 
+    private Executor hashcodeValidationExecutor;
+    private HashcodeValidationProperties hashcodeValidationProperties;
+
     public Reports validate(List<ValidationDocument> validationDocuments) {
-        List<Reports> reports = validationDocuments.stream().map(validationDocument -> validateDocument(validationDocument)).collect(Collectors.toList());
+        int parallelism = getParallelism(validationDocuments.size());
+        List<Reports> reports = parallelism > 1
+                ? new ParallelValidation(validationDocuments).run(parallelism)
+                : validationDocuments.stream().map(validationDocument -> validateDocument(validationDocument)).collect(Collectors.toList());
         return mergeReportsToOne(reports);
     }
 
+    private int getParallelism(int signatureFileCount) {
+        if (hashcodeValidationExecutor == null || hashcodeValidationProperties == null) {
+            return 1;
+        }
+        return Math.min(hashcodeValidationProperties.getMaxParallelismPerRequest(), signatureFileCount);
+    }
+
     @Override
     protected SignedDocumentValidator createValidatorFromDocument(final ValidationDocument validationDocument) {
         List<Datafile> datafiles = getDataFileInfoIfNeeded(validationDocument);
@@ -102,6 +123,16 @@ public class HashcodeGenericValidationService extends GenericValidationService {
         return digestDocument;
     }
 
+    @Autowired(required = false)
+    public void setHashcodeValidationExecutor(@Qualifier("hashcodeValidationExecutor") Executor hashcodeValidationExecutor) {
+        this.hashcodeValidationExecutor = hashcodeValidationExecutor;
+    }
+
+    @Autowired(required = false)
+    public void setHashcodeValidationProperties(HashcodeValidationProperties hashcodeValidationProperties) {
+        this.hashcodeValidationProperties = hashcodeValidationProperties;
+    }
+
     private Reports mergeReportsToOne(List<Reports> reportsList) {
         int signaturesCount = 0;
         int validSignaturesCount = 0;
@@ -125,4 +156,68 @@ public class HashcodeGenericValidationService extends GenericValidationService {
         return response;
     }
 
+    /**
+     * Validates the signature files of a single request with at most the given number of concurrent workers, the
+     * requesting thread being one of them. Signature files are taken in request order, so the merged report and the
+     * failure reported are the same as with sequential validation.
+     */
+    private class ParallelValidation {
+
+        private final List<ValidationDocument> validationDocuments;
+        private final Reports[] results;
+        private final Throwable[] failures;
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final AtomicInteger firstFailedIndex = new AtomicInteger(Integer.MAX_VALUE);
+        private final CountDownLatch remaining;
+
+        ParallelValidation(List<ValidationDocument> validationDocuments) {
+            this.validationDocuments = validationDocuments;
+            this.results = new Reports[validationDocuments.size()];
+            this.failures = new Throwable[validationDocuments.size()];
+            this.remaining = new CountDownLatch(validationDocuments.size());
+        }
+
+        List<Reports> run(int parallelism) {
+            for (int i = 1; i < parallelism; ++i) {
+                hashcodeValidationExecutor.execute(this::work);
+            }
+            work();
+            awaitRemaining();
+
+            for (Throwable failure : failures) {
+                if (failure instanceof RuntimeException) {
+                    throw (RuntimeException) failure;
+                } else if (failure != null) {
+                    throw (Error) failure;
+                }
+            }
+            return Arrays.asList(results);
+        }
+
+        private void work() {
+            for (int index = nextIndex.getAndIncrement(); index < results.length; index = nextIndex.getAndIncrement()) {
+                try {
+                    // Signature files preceding a failed one are still validated, as one of them may fail first
+                    if (index < firstFailedIndex.get()) {
+                        results[index] = validateDocument(validationDocuments.get(index));
+                    }
+                } catch (RuntimeException | Error e) {
+                    failures[index] = e;
+                    firstFailedIndex.accumulateAndGet(index, Math::min);
+                } finally {
+                    remaining.countDown();
+                }
+            }
+        }
+
+        private void awaitRemaining() {
+            try {
+                remaining.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ValidationServiceException(HashcodeGenericValidationService.class.getSimpleName(), e);
+            }
+        }
+    }
+
 }
@@ -17,12 +17,12 @@
 package ee.openeid.validation.service.generic;
 
 import ee.openeid.validation.service.generic.validator.TokenUtils;
+import ee.openeid.validation.service.generic.validator.report.DssReportsIndex;
 import ee.openeid.validation.service.generic.validator.report.DssSimpleReportWrapper;
 import eu.europa.esig.dss.diagnostic.CertificateWrapper;
 import eu.europa.esig.dss.diagnostic.SignatureWrapper;
 import eu.europa.esig.dss.enumerations.RevocationType;
 import eu.europa.esig.dss.enumerations.TimestampType;
-import eu.europa.esig.dss.validation.reports.Reports;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.collections4.CollectionUtils;
@@ -47,10 +47,10 @@ public class RevocationFreshnessValidator {
     private static final String TIMESTAMP_OCSP_ORDER_FAULT = "OCSP response production time is before timestamp time";
 
     @NonNull
-    private final Reports reports;
+    private final DssReportsIndex reportsIndex;
 
     public void validate() {
-        reports.getDiagnosticData().getSignatures().forEach(this::validate);
+        reportsIndex.getSignatures().forEach(this::validate);
     }
 
     private void validate(SignatureWrapper signatureWrapper) {
@@ -149,12 +149,12 @@ public class RevocationFreshnessValidator {
     }
 
     private void addSignatureAdESWarning(String signatureId, String warning) {
-        new DssSimpleReportWrapper(reports).getSignatureAdESValidationXmlDetails(signatureId)
+        reportsIndex.getSimpleReportWrapper().getSignatureAdESValidationXmlDetails(signatureId)
                 .getWarning().add(DssSimpleReportWrapper.createXmlMessage(warning));
     }
 
     private void addSignatureAdESError(String signatureId, String error) {
-        new DssSimpleReportWrapper(reports).getSignatureAdESValidationXmlDetails(signatureId)
+        reportsIndex.getSimpleReportWrapper().getSignatureAdESValidationXmlDetails(signatureId)
                 .getError().add(DssSimpleReportWrapper.createXmlMessage(error));
     }
 
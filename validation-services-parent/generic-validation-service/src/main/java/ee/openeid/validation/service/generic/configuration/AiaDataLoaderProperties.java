@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.validation.service.generic.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("siva.aia")
+public class AiaDataLoaderProperties {
+
+    /**
+     * Timeout for establishing a connection to an AIA endpoint.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Timeout for receiving the response of an AIA request.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Maximum number of connections of the AIA connection pool.
+     */
+    private int maxConnectionsTotal = 20;
+
+    /**
+     * Maximum number of connections of the AIA connection pool to a single host.
+     */
+    private int maxConnectionsPerRoute = 10;
+
+    private final Cache cache = new Cache();
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Whether downloaded AIA responses are cached.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of AIA responses kept in memory.
+         */
+        private int maximumSize = 1000;
+
+        /**
+         * Time after which a cached AIA response is downloaded again.
+         */
+        private Duration timeToLive = Duration.ofHours(24);
+
+        /**
+         * Whether cached AIA responses are also persisted to disk and survive restarts.
+         */
+        private boolean diskEnabled = true;
+
+        /**
+         * Directory of the on-disk cache, defaults to {@code aia-cache} under the DSS data folder.
+         */
+        private String directory;
+
+        /**
+         * Whether an expired on-disk response is used when downloading a fresh one fails.
+         */
+        private boolean serveStaleOnError = true;
+    }
+}
@@ -21,18 +21,20 @@ import ee.openeid.validation.service.generic.validator.container.ContainerValida
 import ee.openeid.validation.service.generic.validator.container.ContainerValidatorFactory;
 import ee.openeid.validation.service.generic.validator.container.AsicContainerDataFileSizeValidator;
 import ee.openeid.validation.service.generic.validator.container.ZipBasedContainerValidator;
+import ee.openeid.validation.service.generic.validator.report.DssReportsIndex;
 import eu.europa.esig.dss.diagnostic.DiagnosticData;
 import eu.europa.esig.dss.enumerations.ASiCContainerType;
-import eu.europa.esig.dss.validation.reports.AbstractReports;
-import eu.europa.esig.dss.validation.reports.Reports;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
-@EnableConfigurationProperties(GenericSignaturePolicyProperties.class)
+@EnableConfigurationProperties({GenericSignaturePolicyProperties.class, HashcodeValidationProperties.class, AiaDataLoaderProperties.class,
+        SignatureValidationProperties.class})
 public class GenericValidationServiceConfiguration {
 
     @Bean(name = "GenericPolicyService")
@@ -42,14 +44,38 @@ public class GenericValidationServiceConfiguration {
 
     @Bean
     public ContainerValidatorFactory containerValidatorFactory() {
-        return (validationReports, validationDocument) -> isAsicContainer(validationReports)
-                ? new ZipBasedContainerValidator(validationDocument, new AsicContainerDataFileSizeValidator(validationReports))
+        return (reportsIndex, validationDocument) -> isAsicContainer(reportsIndex)
+                ? new ZipBasedContainerValidator(validationDocument, new AsicContainerDataFileSizeValidator(reportsIndex))
                 : ContainerValidator.NO_OP_INSTANCE;
     }
 
-    private static boolean isAsicContainer(Reports validationReports) {
-        return Optional.ofNullable(validationReports)
-                .map(AbstractReports::getDiagnosticData)
+    @Bean
+    public ThreadPoolTaskExecutor hashcodeValidationExecutor(HashcodeValidationProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getPoolSize());
+        executor.setMaxPoolSize(properties.getPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("hashcode-validation-");
+        // Requesting thread validates signature files itself when workers can not keep up
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor signatureValidationExecutor(SignatureValidationProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getPoolSize());
+        executor.setMaxPoolSize(properties.getPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("signature-validation-");
+        // Requesting thread verifies signatures itself when workers can not keep up
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    private static boolean isAsicContainer(DssReportsIndex reportsIndex) {
+        return Optional.ofNullable(reportsIndex)
+                .map(DssReportsIndex::getDiagnosticData)
                 .map(DiagnosticData::getContainerType)
                 .filter(ASiCContainerType.class::isInstance)
                 .isPresent();
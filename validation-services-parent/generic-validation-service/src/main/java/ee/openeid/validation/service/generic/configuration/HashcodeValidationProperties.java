@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.validation.service.generic.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties("siva.hashcode-validation")
+public class HashcodeValidationProperties {
+
+    /**
+     * Number of worker threads shared by all hashcode validation requests for validating signature files in parallel.
+     */
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of signature files waiting for a free worker before requesting threads start validating themselves.
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * Maximum number of signature files of a single request validated in parallel, including the requesting thread.
+     * Signature files are validated sequentially when set to 1, which keeps the number of threads used by a single
+     * request bounded by the top-level request pools.
+     */
+    private int maxParallelismPerRequest = 1;
+}
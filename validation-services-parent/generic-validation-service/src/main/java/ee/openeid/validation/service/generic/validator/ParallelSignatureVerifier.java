@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.validation.service.generic.validator;
+
+import ee.openeid.siva.validation.exception.ValidationServiceException;
+import eu.europa.esig.dss.validation.AdvancedSignature;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies the cryptographic integrity of the signatures of a single document in parallel before DSS validates the
+ * document. DSS keeps the result of the verification in each signature and reuses it when building diagnostic data.
+ * <p>
+ * Signatures read from the same signature file share its parsed structure (XML DOM, CMS or PDF), which is not safe to
+ * verify concurrently. Such signatures are therefore verified sequentially by a single worker, and only signatures of
+ * different signature files, e.g. {@code signatures0.xml} and {@code signatures1.xml} of an ASiC-E container, are
+ * verified in parallel.
+ * <p>
+ * Signature files are verified with at most the given number of concurrent workers, the requesting thread being one of
+ * them. Failures are not reported here: the signature is verified again by DSS, which handles the failure as it would
+ * without parallel verification.
+ */
+public final class ParallelSignatureVerifier {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelSignatureVerifier.class);
+
+    private final Executor executor;
+    private final int maxParallelism;
+
+    public ParallelSignatureVerifier(@NonNull Executor executor, int maxParallelism) {
+        this.executor = executor;
+        this.maxParallelism = maxParallelism;
+    }
+
+    public void verify(List<AdvancedSignature> signatures) {
+        if (maxParallelism < 2 || signatures.size() < 2) {
+            return;
+        }
+        List<List<AdvancedSignature>> signatureFiles = groupBySignatureFile(signatures);
+        int parallelism = Math.min(maxParallelism, signatureFiles.size());
+        if (parallelism < 2) {
+            return;
+        }
+        new Verification(signatureFiles).run(parallelism, executor);
+    }
+
+    private static List<List<AdvancedSignature>> groupBySignatureFile(List<AdvancedSignature> signatures) {
+        Map<String, List<AdvancedSignature>> signatureFiles = new LinkedHashMap<>();
+        for (AdvancedSignature signature : signatures) {
+            signatureFiles.computeIfAbsent(signature.getSignatureFilename(), name -> new ArrayList<>()).add(signature);
+        }
+        return new ArrayList<>(signatureFiles.values());
+    }
+
+    private static class Verification {
+
+        private final List<List<AdvancedSignature>> signatureFiles;
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final CountDownLatch remaining;
+
+        Verification(List<List<AdvancedSignature>> signatureFiles) {
+            this.signatureFiles = signatureFiles;
+            this.remaining = new CountDownLatch(signatureFiles.size());
+        }
+
+        void run(int parallelism, Executor executor) {
+            for (int i = 1; i < parallelism; ++i) {
+                executor.execute(this::work);
+            }
+            work();
+            awaitRemaining();
+        }
+
+        private void work() {
+            for (int index = nextIndex.getAndIncrement(); index < signatureFiles.size(); index = nextIndex.getAndIncrement()) {
+                try {
+                    signatureFiles.get(index).forEach(Verification::verify);
+                } finally {
+                    remaining.countDown();
+                }
+            }
+        }
+
+        private static void verify(AdvancedSignature signature) {
+            try {
+                signature.checkSignatureIntegrity();
+            } catch (RuntimeException e) {
+                LOGGER.debug("Parallel verification of signature {} failed, leaving it to DSS: {}", signature.getId(), e.getMessage());
+            }
+        }
+
+        private void awaitRemaining() {
+            try {
+                remaining.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ValidationServiceException(ParallelSignatureVerifier.class.getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@
 
 package ee.openeid.validation.service.generic.validator.container;
 
+import ee.openeid.validation.service.generic.validator.report.DssReportsIndex;
 import ee.openeid.validation.service.generic.validator.report.DssSimpleReportWrapper;
 import eu.europa.esig.dss.diagnostic.DiagnosticData;
 import eu.europa.esig.dss.diagnostic.jaxb.XmlContainerInfo;
@@ -48,6 +49,7 @@ import static ee.openeid.validation.service.generic.validator.report.DssSimpleRe
 public class AsicContainerDataFileSizeValidator implements ZipBasedContainerValidator.EntryValidator {
 
     private final SimpleReport simpleReport;
+    private final DssReportsIndex reportsIndex;
     private final List<String> signatureIds;
     private final List<String> dataFiles;
 
@@ -57,13 +59,23 @@ public class AsicContainerDataFileSizeValidator implements ZipBasedContainerVali
      * @param validationReports where to obtain the list of datafiles and the {@link SimpleReport} from
      */
     public AsicContainerDataFileSizeValidator(@NonNull Reports validationReports) {
-        simpleReport = validationReports.getSimpleReport();
+        this(DssReportsIndex.of(validationReports));
+    }
+
+    /**
+     * Constructs an instance of {@link AsicContainerDataFileSizeValidator} sharing the lookups of an existing index.
+     *
+     * @param reportsIndex index of the {@link Reports} where to obtain the list of datafiles and the {@link SimpleReport} from
+     */
+    public AsicContainerDataFileSizeValidator(@NonNull DssReportsIndex reportsIndex) {
+        this.reportsIndex = reportsIndex;
+        simpleReport = reportsIndex.getDssReports().getSimpleReport();
         signatureIds = Optional
                 .ofNullable(simpleReport)
                 .map(SimpleReport::getSignatureIdList)
                 .orElseGet(Collections::emptyList);
         dataFiles = Optional
-                .ofNullable(validationReports.getDiagnosticData())
+                .ofNullable(reportsIndex.getDiagnosticData())
                 .map(DiagnosticData::getContainerInfo)
                 .map(XmlContainerInfo::getContentFiles)
                 .orElseGet(Collections::emptyList);
@@ -81,7 +93,7 @@ public class AsicContainerDataFileSizeValidator implements ZipBasedContainerVali
     @Override
     public void validate(@NonNull ZipEntry entry, @NonNull InputStream entryInputStream) throws IOException {
         if (simpleReport != null && dataFiles.contains(entry.getName()) && isEmpty(entryInputStream)) {
-            final DssSimpleReportWrapper dssSimpleReportWrapper = new DssSimpleReportWrapper(simpleReport);
+            final DssSimpleReportWrapper dssSimpleReportWrapper = reportsIndex.getSimpleReportWrapper();
             final String emptyDataFileWarning = String.format("Data file '%s' is empty", entry.getName());
 
             signatureIds.forEach(signatureId -> Optional
@@ -17,10 +17,10 @@
 package ee.openeid.validation.service.generic.validator.container;
 
 import ee.openeid.siva.validation.document.ValidationDocument;
-import eu.europa.esig.dss.validation.reports.Reports;
+import ee.openeid.validation.service.generic.validator.report.DssReportsIndex;
 import lombok.NonNull;
 
 @FunctionalInterface
 public interface ContainerValidatorFactory {
-    ContainerValidator create(@NonNull Reports validationReports, @NonNull ValidationDocument validationDocument);
+    ContainerValidator create(@NonNull DssReportsIndex reportsIndex, @NonNull ValidationDocument validationDocument);
 }
@@ -17,23 +17,23 @@
 package ee.openeid.validation.service.generic.validator.container;
 
 import ee.openeid.siva.validation.document.ValidationDocument;
+import ee.openeid.siva.validation.document.container.ZipContainerIndex;
 import ee.openeid.siva.validation.exception.MalformedDocumentException;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Objects;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 
 /**
  * An implementation of {@link ContainerValidator} for parsing and validating individual entries of a ZIP-based container.
  *
- * The container passed into the validator in {@code validationDocument} is parsed using {@link ZipInputStream}, all ZIP
- * entries are read sequentially, and a pair of {@link ZipEntry} and {@link InputStream} representing each such entry
- * is passed into {@code entryValidator} for further validation processing.
+ * The entries of the container passed into the validator in {@code validationDocument} are taken from its
+ * {@link ZipContainerIndex} (built on first use if the document has none attached yet), and a pair of {@link ZipEntry}
+ * and {@link InputStream} representing each such entry is passed into {@code entryValidator} for further validation
+ * processing. The index lists the same entries as {@link java.util.zip.ZipInputStream} would, and each entry is inflated
+ * from the container only while it is being validated.
  */
 @RequiredArgsConstructor
 public class ZipBasedContainerValidator implements ContainerValidator {
@@ -67,15 +67,12 @@ public class ZipBasedContainerValidator implements ContainerValidator {
      */
     @Override
     public void validate() {
-        byte[] documentBytes = Objects.requireNonNull(validationDocument.getBytes(), "No document bytes available");
-        try (
-                ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(documentBytes);
-                ZipInputStream zipInputStream = new ZipInputStream(byteArrayInputStream);
-        ) {
-            ZipEntry zipEntry;
-            while ((zipEntry = zipInputStream.getNextEntry()) != null) {
-                entryValidator.validate(zipEntry, zipInputStream);
-                zipInputStream.closeEntry();
+        ZipContainerIndex containerIndex = ZipContainerIndex.of(validationDocument);
+        try {
+            for (ZipContainerIndex.Entry entry : containerIndex.getEntries()) {
+                try (InputStream entryInputStream = entry.openStream()) {
+                    entryValidator.validate(entry.toZipEntry(), entryInputStream);
+                }
             }
         } catch (IOException e) {
             throw new MalformedDocumentException(e);
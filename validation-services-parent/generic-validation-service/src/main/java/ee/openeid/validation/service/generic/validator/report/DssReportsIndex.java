@@ -0,0 +1,158 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.validation.service.generic.validator.report;
+
+import eu.europa.esig.dss.diagnostic.CertificateWrapper;
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.RevocationWrapper;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.diagnostic.TimestampWrapper;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlSignature;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.simplereport.jaxb.XmlToken;
+import eu.europa.esig.dss.validation.reports.Reports;
+import lombok.NonNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Lookup of the signatures, timestamps, certificates and revocation data of a single validation result by their id,
+ * together with the signature nodes of its simple report. Each lookup is built on first use and then shared by all
+ * components processing the same validation result, which are expected to run on a single thread.
+ */
+public final class DssReportsIndex {
+
+    private final Reports dssReports;
+
+    private DiagnosticData diagnosticData;
+    private DssSimpleReportWrapper simpleReportWrapper;
+    private Map<String, SignatureWrapper> signaturesById;
+    private Map<String, XmlSignature> xmlSignaturesById;
+    private Map<String, TimestampWrapper> timestampsById;
+    private Map<String, CertificateWrapper> certificatesById;
+    private Map<String, RevocationWrapper> revocationsById;
+
+    private DssReportsIndex(Reports dssReports) {
+        this.dssReports = dssReports;
+    }
+
+    public static DssReportsIndex of(@NonNull Reports dssReports) {
+        return new DssReportsIndex(dssReports);
+    }
+
+    public Reports getDssReports() {
+        return dssReports;
+    }
+
+    public DiagnosticData getDiagnosticData() {
+        if (diagnosticData == null) {
+            diagnosticData = dssReports.getDiagnosticData();
+        }
+        return diagnosticData;
+    }
+
+    public List<SignatureWrapper> getSignatures() {
+        DiagnosticData data = getDiagnosticData();
+        return data == null ? Collections.emptyList() : data.getSignatures();
+    }
+
+    public SignatureWrapper getSignatureById(String signatureId) {
+        if (signaturesById == null) {
+            signaturesById = indexById(getSignatures(), SignatureWrapper::getId);
+        }
+        return signaturesById.get(signatureId);
+    }
+
+    public XmlSignature getXmlSignatureById(String signatureId) {
+        if (xmlSignaturesById == null) {
+            xmlSignaturesById = indexById(dssReports.getDiagnosticDataJaxb().getSignatures(), XmlSignature::getId);
+        }
+        return xmlSignaturesById.get(signatureId);
+    }
+
+    public TimestampWrapper getTimestampById(String timestampId) {
+        if (timestampsById == null) {
+            DiagnosticData data = getDiagnosticData();
+            timestampsById = indexById(data == null ? null : data.getTimestampList(), TimestampWrapper::getId);
+        }
+        return timestampsById.get(timestampId);
+    }
+
+    public CertificateWrapper getCertificateById(String certificateId) {
+        if (certificatesById == null) {
+            DiagnosticData data = getDiagnosticData();
+            certificatesById = indexById(data == null ? null : data.getUsedCertificates(), CertificateWrapper::getId);
+        }
+        return certificatesById.get(certificateId);
+    }
+
+    public RevocationWrapper getRevocationById(String revocationId) {
+        if (revocationsById == null) {
+            DiagnosticData data = getDiagnosticData();
+            revocationsById = indexById(data == null ? null : data.getAllRevocationData(), RevocationWrapper::getId);
+        }
+        return revocationsById.get(revocationId);
+    }
+
+    /**
+     * Returns a simple report wrapper whose signature lookups go through an index built on first use. Warnings and
+     * errors added through the wrapper are added to the simple report of the wrapped validation result.
+     */
+    public DssSimpleReportWrapper getSimpleReportWrapper() {
+        if (simpleReportWrapper == null) {
+            simpleReportWrapper = new IndexedSimpleReportWrapper(dssReports.getSimpleReport());
+        }
+        return simpleReportWrapper;
+    }
+
+    private static <T> Map<String, T> indexById(Collection<T> tokens, Function<T, String> idFunction) {
+        if (tokens == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, T> tokensById = new HashMap<>();
+        for (T token : tokens) {
+            tokensById.putIfAbsent(idFunction.apply(token), token);
+        }
+        return Collections.unmodifiableMap(tokensById);
+    }
+
+    private static class IndexedSimpleReportWrapper extends DssSimpleReportWrapper {
+
+        private Map<String, eu.europa.esig.dss.simplereport.jaxb.XmlSignature> signaturesById;
+
+        IndexedSimpleReportWrapper(SimpleReport dssSimpleReport) {
+            super(dssSimpleReport);
+        }
+
+        @Override
+        public eu.europa.esig.dss.simplereport.jaxb.XmlSignature getXmlSignature(String signatureId) {
+            if (signaturesById == null) {
+                signaturesById = new HashMap<>();
+                for (XmlToken xmlToken : getXmlSimpleReport().getSignatureOrTimestamp()) {
+                    if (xmlToken instanceof eu.europa.esig.dss.simplereport.jaxb.XmlSignature) {
+                        signaturesById.putIfAbsent(xmlToken.getId(), (eu.europa.esig.dss.simplereport.jaxb.XmlSignature) xmlToken);
+                    }
+                }
+            }
+            return signaturesById.get(signatureId);
+        }
+    }
+}
@@ -38,11 +38,13 @@ import ee.openeid.siva.validation.service.signature.policy.properties.Constraint
 import ee.openeid.siva.validation.util.CertUtil;
 import ee.openeid.siva.validation.util.DistinguishedNameUtil;
 import ee.openeid.validation.service.generic.validator.TokenUtils;
+import ee.openeid.validation.service.generic.verifier.TrustedCertificateIndex;
 import eu.europa.esig.dss.diagnostic.AbstractTokenProxy;
 import eu.europa.esig.dss.diagnostic.CertificateRevocationWrapper;
 import eu.europa.esig.dss.diagnostic.CertificateWrapper;
 import eu.europa.esig.dss.diagnostic.SignatureWrapper;
 import eu.europa.esig.dss.diagnostic.TimestampWrapper;
+import eu.europa.esig.dss.diagnostic.jaxb.XmlCertificate;
 import eu.europa.esig.dss.diagnostic.jaxb.XmlRevocation;
 import eu.europa.esig.dss.diagnostic.jaxb.XmlSignature;
 import eu.europa.esig.dss.diagnostic.jaxb.XmlSignatureScope;
@@ -63,7 +65,6 @@ import eu.europa.esig.dss.simplereport.jaxb.XmlToken;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.validation.AdvancedSignature;
 import eu.europa.esig.dss.validation.executor.ValidationLevel;
-import eu.europa.esig.dss.validation.reports.AbstractReports;
 import eu.europa.esig.dss.validation.timestamp.TimestampToken;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.collections4.CollectionUtils;
@@ -75,14 +76,17 @@ import org.bouncycastle.cert.ocsp.OCSPException;
 import org.bouncycastle.cert.ocsp.OCSPResp;
 import org.slf4j.LoggerFactory;
 
+import javax.security.auth.x500.X500Principal;
 import java.io.IOException;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -112,9 +116,12 @@ public class GenericValidationReportBuilder {
     private final ValidationLevel validationLevel;
     private final boolean isReportSignatureEnabled;
     private final TrustedListsCertificateSource trustedListsCertificateSource;
+    private final TrustedCertificateIndex trustedCertificateIndex;
     private final List<AdvancedSignature> signatures;
+    private final DssReportsIndex reportsIndex;
 
-    private List<CertificateToken> usedCertificates;
+    private Map<String, CertificateToken> usedCertificates;
+    private Map<X500Principal, CertificateToken> issuerCertificates;
 
     public GenericValidationReportBuilder(ReportBuilderData reportData) {
         this.dssReports = reportData.getDssReports();
@@ -123,7 +130,11 @@ public class GenericValidationReportBuilder {
         this.validationLevel = reportData.getValidationLevel();
         this.isReportSignatureEnabled = reportData.isReportSignatureEnabled();
         this.trustedListsCertificateSource = reportData.getTrustedListsCertificateSource();
+        this.trustedCertificateIndex = reportData.getTrustedCertificateIndex();
         this.signatures = reportData.getSignatures();
+        this.reportsIndex = reportData.getReportsIndex() != null
+                ? reportData.getReportsIndex()
+                : DssReportsIndex.of(dssReports);
     }
 
     public Reports build() {
@@ -133,37 +144,48 @@ public class GenericValidationReportBuilder {
 
         SimpleReport simpleReport = new SimpleReport(validationConclusion);
         validationConclusion.setValidationLevel(validationLevel.name());
-        DetailedReport detailedReport = new DetailedReport(validationConclusion, dssReports.getDetailedReportJaxb());
-        DiagnosticReport diagnosticReport = new DiagnosticReport(validationConclusion, dssReports.getDiagnosticDataJaxb());
 
-        return new Reports(simpleReport, detailedReport, diagnosticReport);
+        return Reports.of(validationDocument.getReportType(), simpleReport,
+                () -> new DetailedReport(validationConclusion, dssReports.getDetailedReportJaxb()),
+                () -> new DiagnosticReport(validationConclusion, dssReports.getDiagnosticDataJaxb()));
     }
 
     private void collectUsedCertificates() {
-        usedCertificates = dssReports.getDiagnosticDataJaxb().getUsedCertificates().stream()
-                .map(usedCertificate -> {
-                    Optional<CertificateToken> certificateToken = trustedListsCertificateSource.getCertificates().stream()
-                            .filter(c -> c.getDSSIdAsString().equals(usedCertificate.getId()))
-                            .findFirst();
-                    if (certificateToken.isPresent()) {
-                        return certificateToken.get();
-                    }
-                    for (AdvancedSignature advancedSignature : signatures) {
-                        List<CertificateToken> certificates = new ArrayList<>(advancedSignature.getCertificates());
-                        for (TimestampToken timestampToken : advancedSignature.getAllTimestamps()) {
-                            certificates.addAll(timestampToken.getCertificates());
-                        }
-                        Optional<CertificateToken> optionalCertSource = certificates.stream()
-                                .filter(cert -> cert.getDSSIdAsString().equals(usedCertificate.getId())).findFirst();
-
-                        if (optionalCertSource.isPresent()) {
-                            return optionalCertSource.get();
-                        }
-                    }
-                    return null;
-                })
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+        TrustedCertificateIndex trustedCertificates = trustedCertificateIndex != null
+                ? trustedCertificateIndex
+                : TrustedCertificateIndex.of(trustedListsCertificateSource);
+        Map<String, CertificateToken> signatureCertificates = null;
+        usedCertificates = new LinkedHashMap<>();
+        for (XmlCertificate usedCertificate : dssReports.getDiagnosticDataJaxb().getUsedCertificates()) {
+            CertificateToken certificateToken = trustedCertificates.getById(usedCertificate.getId());
+            if (certificateToken == null) {
+                if (signatureCertificates == null) {
+                    signatureCertificates = indexSignatureCertificates();
+                }
+                certificateToken = signatureCertificates.get(usedCertificate.getId());
+            }
+            if (certificateToken != null) {
+                usedCertificates.putIfAbsent(usedCertificate.getId(), certificateToken);
+            }
+        }
+
+        issuerCertificates = new HashMap<>();
+        for (CertificateToken certificateToken : usedCertificates.values()) {
+            if (!certificateToken.isSelfSigned() && certificateToken.getSubject().getPrincipal() != null) {
+                issuerCertificates.putIfAbsent(certificateToken.getSubject().getPrincipal(), certificateToken);
+            }
+        }
+    }
+
+    private Map<String, CertificateToken> indexSignatureCertificates() {
+        Map<String, CertificateToken> certificates = new HashMap<>();
+        for (AdvancedSignature advancedSignature : signatures) {
+            advancedSignature.getCertificates().forEach(cert -> certificates.putIfAbsent(cert.getDSSIdAsString(), cert));
+            for (TimestampToken timestampToken : advancedSignature.getAllTimestamps()) {
+                timestampToken.getCertificates().forEach(cert -> certificates.putIfAbsent(cert.getDSSIdAsString(), cert));
+            }
+        }
+        return certificates;
     }
 
     private ValidationConclusion getValidationConclusion() {
@@ -177,7 +199,7 @@ public class GenericValidationReportBuilder {
         validationConclusion.setValidationWarnings(Collections.emptyList());
         validationConclusion.setSignatures(buildSignatureValidationDataList());
         validationConclusion.setSignaturesCount(validationConclusion.getSignatures().size());
-        validationConclusion.setValidatedDocument(ReportBuilderUtils.createValidatedDocument(isReportSignatureEnabled, validationDocument.getName(), validationDocument.getBytes()));
+        validationConclusion.setValidatedDocument(ReportBuilderUtils.createValidatedDocument(isReportSignatureEnabled, validationDocument));
         validationConclusion.setValidSignaturesCount((int) validationConclusion.getSignatures()
                 .stream()
                 .filter(vd -> StringUtils.equals(vd.getIndication(), SignatureValidationData.Indication.TOTAL_PASSED.toString())).count());
@@ -192,8 +214,8 @@ public class GenericValidationReportBuilder {
     }
 
     private ASiCContainerType getContainerType() {
-        if (dssReports.getDiagnosticData().getContainerInfo() != null)
-            return dssReports.getDiagnosticData().getContainerInfo().getContainerType();
+        if (reportsIndex.getDiagnosticData().getContainerInfo() != null)
+            return reportsIndex.getDiagnosticData().getContainerInfo().getContainerType();
         return null;
     }
 
@@ -219,7 +241,7 @@ public class GenericValidationReportBuilder {
 
     private List<Certificate> getCertificateList(String signatureId) {
         List<Certificate> certificateList = new ArrayList<>();
-        SignatureWrapper signatureWrapper = dssReports.getDiagnosticData().getSignatureById(signatureId);
+        SignatureWrapper signatureWrapper = reportsIndex.getSignatureById(signatureId);
 
         Certificate archiveTimestampCertificate = getArchiveTimestampCertificate(signatureWrapper);
         if (archiveTimestampCertificate != null) {
@@ -333,12 +355,7 @@ public class GenericValidationReportBuilder {
     }
 
     private Certificate getIssuerCertificate(X509Certificate x509Certificate) {
-        Optional<CertificateToken> issuerCert = usedCertificates.stream()
-                .filter(certificateToken -> certificateToken != null
-                        && !certificateToken.isSelfSigned()
-                        && certificateToken.getSubject().getPrincipal() != null
-                        && certificateToken.getSubject().getPrincipal().equals(x509Certificate.getIssuerX500Principal()))
-                .findFirst();
+        Optional<CertificateToken> issuerCert = Optional.ofNullable(issuerCertificates.get(x509Certificate.getIssuerX500Principal()));
         if (issuerCert.isPresent()) {
             Certificate certificate = new Certificate();
             certificate.setCommonName(CertUtil.getCommonName(issuerCert.get().getCertificate()));
@@ -350,13 +367,11 @@ public class GenericValidationReportBuilder {
     }
 
     private Optional<CertificateToken> getCertificateTokenById(String id) {
-        return usedCertificates.stream()
-                .filter(certificateToken -> certificateToken.getDSSIdAsString().equals(id))
-                .findFirst();
+        return Optional.ofNullable(usedCertificates.get(id));
     }
 
     private String getSignatureId(String signatureId) {
-        String daIdentifier = dssReports.getDiagnosticData().getSignatureById(signatureId).getDAIdentifier();
+        String daIdentifier = reportsIndex.getSignatureById(signatureId).getDAIdentifier();
         if (StringUtils.isNotBlank(daIdentifier)) {
             return daIdentifier;
         }
@@ -364,9 +379,7 @@ public class GenericValidationReportBuilder {
     }
 
     private String parseSignedBy(String signatureId) {
-        return Optional.ofNullable(dssReports)
-                .map(AbstractReports::getDiagnosticData)
-                .map(diagnosticData -> diagnosticData.getSignatureById(signatureId))
+        return Optional.ofNullable(reportsIndex.getSignatureById(signatureId))
                 .map(AbstractTokenProxy::getSigningCertificate)
                 .map(signingCertificate -> Optional
                         .ofNullable(DistinguishedNameUtil.getSurnameAndGivenNameAndSerialNumber(
@@ -380,7 +393,7 @@ public class GenericValidationReportBuilder {
     }
 
     private SubjectDistinguishedName parseSubjectDistinguishedName(String signatureId) {
-        CertificateWrapper signingCertificate = dssReports.getDiagnosticData().getSignatureById(signatureId).getSigningCertificate();
+        CertificateWrapper signingCertificate = reportsIndex.getSignatureById(signatureId).getSigningCertificate();
 
         // Due to invalid signature
         if (signingCertificate == null) {
@@ -401,12 +414,12 @@ public class GenericValidationReportBuilder {
     }
 
     private String changeAndValidateSignatureFormat(String signatureFormat, String signatureId) {
-        if (TM_POLICY_OID.equals(dssReports.getDiagnosticData().getSignatureById(signatureId).getPolicyId())) {
+        if (TM_POLICY_OID.equals(reportsIndex.getSignatureById(signatureId).getPolicyId())) {
             signatureFormat = signatureFormat.replace(LT_XAdES_SIGNATURE_FORMAT, LT_TM_XAdES_SIGNATURE_FORMAT);
         }
         if (isInvalidFormat(signatureFormat, signatureId)) {
             signatureFormat = signatureFormat.replace(LT_SIGNATURE_FORMAT_SUFFIX, BASELINE_SIGNATURE_FORMAT_SUFFIX);
-            new DssSimpleReportWrapper(dssReports).getSignatureAdESValidationXmlDetails(signatureId)
+            reportsIndex.getSimpleReportWrapper().getSignatureAdESValidationXmlDetails(signatureId)
                     .getError().add(DssSimpleReportWrapper.createXmlMessage(FORMAT_NOT_FOUND));
         }
         signatureFormat = signatureFormat.replace("-", "_");
@@ -415,14 +428,15 @@ public class GenericValidationReportBuilder {
 
     private boolean isInvalidFormat(String signatureFormat, String signatureId) {
         return Indication.TOTAL_PASSED == dssReports.getSimpleReport().getIndication(signatureId)
-                && dssReports.getDiagnosticData().getSignatureById(signatureId).getTimestampList().isEmpty()
+                && reportsIndex.getSignatureById(signatureId).getTimestampList().isEmpty()
                 && !signatureFormat.equals(LT_TM_XAdES_SIGNATURE_FORMAT);
     }
 
     private String parseSignatureMethod(String signatureId) {
-        DigestAlgorithm digestAlgorithm = dssReports.getDiagnosticData().getSignatureDigestAlgorithm(signatureId);
-        EncryptionAlgorithm encryptionAlgorithm = dssReports.getDiagnosticData().getSignatureEncryptionAlgorithm(signatureId);
-        MaskGenerationFunction maskGenerationFunction = dssReports.getDiagnosticData().getSignatureMaskGenerationFunction(signatureId);
+        SignatureWrapper signatureWrapper = reportsIndex.getSignatureById(signatureId);
+        DigestAlgorithm digestAlgorithm = signatureWrapper.getDigestAlgorithm();
+        EncryptionAlgorithm encryptionAlgorithm = signatureWrapper.getEncryptionAlgorithm();
+        MaskGenerationFunction maskGenerationFunction = signatureWrapper.getMaskGenerationFunction();
         SignatureAlgorithm algorithm = SignatureAlgorithm.getAlgorithm(encryptionAlgorithm, digestAlgorithm, maskGenerationFunction);
         return algorithm == null ? "" : StringUtils.defaultString(algorithm.getUri());
     }
@@ -444,7 +458,7 @@ public class GenericValidationReportBuilder {
     }
 
     private String getOcspResponseTime(String signatureId) {
-        SignatureWrapper signatureWrapper = dssReports.getDiagnosticData().getSignatureById(signatureId);
+        SignatureWrapper signatureWrapper = reportsIndex.getSignatureById(signatureId);
         if (signatureWrapper.getSigningCertificate() == null) {
             return null;
         }
@@ -470,7 +484,7 @@ public class GenericValidationReportBuilder {
     }
 
     private TimestampWrapper getBestTimestamp(String signatureId) {
-        List<TimestampWrapper> timestamps = dssReports.getDiagnosticData().getSignatureById(signatureId)
+        List<TimestampWrapper> timestamps = reportsIndex.getSignatureById(signatureId)
                 .getTimestampListByType(TimestampType.SIGNATURE_TIMESTAMP);
         return timestamps.isEmpty() ? null : Collections.min(timestamps, Comparator.comparing(TimestampWrapper::getProductionTime));
     }
@@ -482,9 +496,7 @@ public class GenericValidationReportBuilder {
     }
 
     private String parseTimeAssertionMessageImprintFromOcspNonce(String signatureId) {
-        Optional<XmlSignature> signature = dssReports.getDiagnosticDataJaxb().getSignatures().stream()
-                .filter(s -> s.getId().equals(signatureId))
-                .findFirst();
+        Optional<XmlSignature> signature = Optional.ofNullable(reportsIndex.getXmlSignatureById(signatureId));
         if (signature.isEmpty()) {
             return "";
         }
@@ -514,14 +526,14 @@ public class GenericValidationReportBuilder {
     }
 
     private List<SignerRole> parseSignerRole(String signatureId) {
-        return dssReports.getDiagnosticData().getSignatureById(signatureId).getClaimedRoles().stream()
+        return reportsIndex.getSignatureById(signatureId).getClaimedRoles().stream()
                 .filter(xmlSignerRole -> StringUtils.isNotEmpty(xmlSignerRole.getRole()))
                 .map(this::mapXmlSignerRole)
                 .collect(Collectors.toList());
     }
 
     private String parseReason(String signatureId) {
-        return dssReports.getDiagnosticData().getSignatureById(signatureId).getReason();
+        return reportsIndex.getSignatureById(signatureId).getReason();
     }
 
     private SignerRole mapXmlSignerRole(XmlSignerRole xmlSignerRole) {
@@ -531,7 +543,7 @@ public class GenericValidationReportBuilder {
     }
 
     private SignatureProductionPlace parseSignatureProductionPlace(String signatureId) {
-        SignatureWrapper signature = dssReports.getDiagnosticData().getSignatureById(signatureId);
+        SignatureWrapper signature = reportsIndex.getSignatureById(signatureId);
 
         if (isSignatureProductionPlaceNotEmpty(signature)) {
             SignatureProductionPlace signatureProductionPlace = new SignatureProductionPlace();
@@ -591,7 +603,7 @@ public class GenericValidationReportBuilder {
     }
 
     private Stream<XmlMessage> parseSignatureMessages(String signatureId, Function<XmlDetails, List<XmlMessage>> detailMessagesExtractor) {
-        DssSimpleReportWrapper dssSimpleReportWrapper = new DssSimpleReportWrapper(dssReports);
+        DssSimpleReportWrapper dssSimpleReportWrapper = reportsIndex.getSimpleReportWrapper();
         return Optional
                 .ofNullable(dssSimpleReportWrapper.getXmlSignature(signatureId)).stream()
                 .flatMap(signature -> Stream.concat(
@@ -618,7 +630,7 @@ public class GenericValidationReportBuilder {
     }
 
     private List<SignatureScope> parseSignatureScopes(String signatureId) {
-        return dssReports.getDiagnosticData().getSignatureById(signatureId).getSignatureScopes()
+        return reportsIndex.getSignatureById(signatureId).getSignatureScopes()
                 .stream()
                 .map(this::parseSignatureScope)
                 .collect(Collectors.toList());
@@ -670,7 +682,7 @@ public class GenericValidationReportBuilder {
     }
 
     private String getCountryCode(String signatureId) {
-        Optional<SignatureWrapper> signature = Optional.ofNullable(dssReports.getDiagnosticData().getSignatureById(signatureId));
+        Optional<SignatureWrapper> signature = Optional.ofNullable(reportsIndex.getSignatureById(signatureId));
         if (signature.isPresent()) {
             Optional<CertificateWrapper> signingCertificate = Optional.ofNullable(signature.get().getSigningCertificate());
             if (signingCertificate.isPresent()) {
@@ -2,6 +2,7 @@ package ee.openeid.validation.service.generic.validator.report;
 
 import ee.openeid.siva.validation.document.ValidationDocument;
 import ee.openeid.siva.validation.service.signature.policy.properties.ConstraintDefinedPolicy;
+import ee.openeid.validation.service.generic.verifier.TrustedCertificateIndex;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.validation.AdvancedSignature;
 import eu.europa.esig.dss.validation.SignedDocumentValidator;
@@ -17,11 +18,13 @@ import java.util.List;
 public class ReportBuilderData {
 
     private Reports dssReports;
+    private DssReportsIndex reportsIndex;
     private ValidationLevel validationLevel;
     private ValidationDocument validationDocument;
     private ConstraintDefinedPolicy policy;
     private boolean isReportSignatureEnabled;
     private SignedDocumentValidator validator;
     private TrustedListsCertificateSource trustedListsCertificateSource;
+    private TrustedCertificateIndex trustedCertificateIndex;
     private List<AdvancedSignature> signatures;
 }
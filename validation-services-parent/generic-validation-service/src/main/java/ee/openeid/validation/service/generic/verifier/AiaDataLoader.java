@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.validation.service.generic.verifier;
+package ee.openeid.validation.service.generic.verifier;
+
+import ee.openeid.validation.service.generic.configuration.AiaDataLoaderProperties;
+import eu.europa.esig.dss.service.http.commons.CommonsDataLoader;
+import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
+
+import java.time.Duration;
+
+/**
+ * Data loader shared by the AIA sources of all generic validations. HTTP(S) downloads go through the DSS
+ * {@link CommonsDataLoader} with the connection pool limits and timeouts of {@link AiaDataLoaderProperties} and the
+ * configured proxy, and are served from an {@link AiaResponseCache} when one is set.
+ */
+public class AiaDataLoader extends CommonsDataLoader {
+
+    private transient AiaResponseCache responseCache;
+
+    public AiaDataLoader(AiaDataLoaderProperties properties, ProxyConfig proxyConfig) {
+        setProxyConfig(proxyConfig);
+        setTimeoutConnection(toMillis(properties.getConnectTimeout()));
+        setTimeoutResponse(toMillis(properties.getResponseTimeout()));
+        setConnectionsMaxTotal(properties.getMaxConnectionsTotal());
+        setConnectionsMaxPerRoute(properties.getMaxConnectionsPerRoute());
+    }
+
+    @Override
+    public byte[] get(String url) {
+        if (responseCache != null && responseCache.isEnabled() && isHttpUrl(url)) {
+            return responseCache.get(url, super::get);
+        }
+        return super.get(url);
+    }
+
+    public void setResponseCache(AiaResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    private static int toMillis(Duration duration) {
+        return Math.toIntExact(duration.toMillis());
+    }
+
+    private static boolean isHttpUrl(String url) {
+        String lowerCaseUrl = url == null ? "" : url.toLowerCase();
+        return lowerCaseUrl.startsWith("http://") || lowerCaseUrl.startsWith("https://");
+    }
+}
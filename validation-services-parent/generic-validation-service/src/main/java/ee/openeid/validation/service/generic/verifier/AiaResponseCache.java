@@ -0,0 +1,274 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.validation.service.generic.verifier;
+
+import ee.openeid.tsl.keystore.DSSKeyStoreFactoryBean;
+import ee.openeid.validation.service.generic.configuration.AiaDataLoaderProperties;
+import lombok.Value;
+import org.apache.commons.codec.binary.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Caches responses of AIA requests in memory and on disk, keyed by the request URL and verified against the digest
+ * of the stored certificate. Concurrent requests for the same URL share a single download. When a download fails,
+ * an expired on-disk response is served instead if one is available.
+ */
+@Component
+public class AiaResponseCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AiaResponseCache.class);
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final String FILE_EXTENSION = ".der";
+
+    private final ConcurrentMap<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalescedRequests = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder fetchFailures = new LongAdder();
+    private AiaDataLoaderProperties.Cache properties;
+    private Map<String, CacheEntry> entries;
+    private Path directory;
+    private Clock clock = Clock.systemUTC();
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public byte[] get(String url, Function<String, byte[]> loader) {
+        if (!isEnabled()) {
+            return loader.apply(url);
+        }
+
+        byte[] cachedContent = getFromMemory(url);
+        if (cachedContent != null) {
+            memoryHits.increment();
+            return cachedContent;
+        }
+
+        CompletableFuture<byte[]> fetch = new CompletableFuture<>();
+        CompletableFuture<byte[]> existingFetch = inFlight.putIfAbsent(url, fetch);
+        if (existingFetch != null) {
+            coalescedRequests.increment();
+            return await(url, existingFetch).clone();
+        }
+
+        try {
+            byte[] content = load(url, loader);
+            fetch.complete(content);
+            return content.clone();
+        } catch (RuntimeException e) {
+            fetch.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(url, fetch);
+        }
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(memoryHits.sum(), diskHits.sum(), misses.sum(), coalescedRequests.sum(),
+                staleHits.sum(), fetchFailures.sum());
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private byte[] load(String url, Function<String, byte[]> loader) {
+        DiskEntry diskEntry = readFromDisk(url);
+        if (diskEntry != null && diskEntry.getExpiresAt() > clock.millis()) {
+            diskHits.increment();
+            putInMemory(url, diskEntry.getContent(), diskEntry.getExpiresAt());
+            return diskEntry.getContent();
+        }
+
+        misses.increment();
+        byte[] content;
+        try {
+            content = loader.apply(url);
+        } catch (RuntimeException e) {
+            fetchFailures.increment();
+            if (diskEntry != null && properties.isServeStaleOnError()) {
+                staleHits.increment();
+                LOGGER.warn("Unable to refresh AIA response from {}, using expired cached response: {}", url, e.getMessage());
+                return diskEntry.getContent();
+            }
+            throw e;
+        }
+
+        if (content != null && content.length > 0) {
+            long expiresAt = clock.millis() + properties.getTimeToLive().toMillis();
+            putInMemory(url, content, expiresAt);
+            writeToDisk(url, content);
+        }
+        return content == null ? new byte[0] : content;
+    }
+
+    private static byte[] await(String url, CompletableFuture<byte[]> fetch) {
+        try {
+            return fetch.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for AIA response from " + url, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Unable to download AIA response from " + url, e.getCause());
+        }
+    }
+
+    private synchronized byte[] getFromMemory(String url) {
+        CacheEntry entry = entries.get(url);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.getExpiresAt() <= clock.millis()) {
+            entries.remove(url);
+            return null;
+        }
+        return entry.getContent().clone();
+    }
+
+    private synchronized void putInMemory(String url, byte[] content, long expiresAt) {
+        entries.put(url, new CacheEntry(content.clone(), expiresAt));
+    }
+
+    private DiskEntry readFromDisk(String url) {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return null;
+        }
+        String urlDigest = digest(url.getBytes(StandardCharsets.UTF_8));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, urlDigest + "-*" + FILE_EXTENSION)) {
+            for (Path file : files) {
+                byte[] content = Files.readAllBytes(file);
+                if (!file.getFileName().toString().equals(fileName(urlDigest, content))) {
+                    LOGGER.warn("Discarding corrupted AIA cache file {}", file);
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                long expiresAt = Files.getLastModifiedTime(file).toMillis() + properties.getTimeToLive().toMillis();
+                return new DiskEntry(content, expiresAt);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read AIA cache for {}: {}", url, e.getMessage());
+        }
+        return null;
+    }
+
+    private void writeToDisk(String url, byte[] content) {
+        if (directory == null) {
+            return;
+        }
+        String urlDigest = digest(url.getBytes(StandardCharsets.UTF_8));
+        String fileName = fileName(urlDigest, content);
+        try {
+            Files.createDirectories(directory);
+            Path temporaryFile = Files.createTempFile(directory, urlDigest, ".tmp");
+            Files.write(temporaryFile, content);
+            Files.move(temporaryFile, directory.resolve(fileName), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, urlDigest + "-*" + FILE_EXTENSION)) {
+                for (Path file : files) {
+                    if (!file.getFileName().toString().equals(fileName)) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write AIA cache for {}: {}", url, e.getMessage());
+        }
+    }
+
+    private static String fileName(String urlDigest, byte[] content) {
+        return urlDigest + "-" + digest(content) + FILE_EXTENSION;
+    }
+
+    private static String digest(byte[] data) {
+        try {
+            return Hex.encodeHexString(MessageDigest.getInstance(DIGEST_ALGORITHM).digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Autowired
+    public void setProperties(AiaDataLoaderProperties aiaDataLoaderProperties) {
+        this.properties = aiaDataLoaderProperties.getCache();
+        int maximumSize = properties.getMaximumSize();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+        if (!properties.isDiskEnabled()) {
+            this.directory = null;
+        } else if (properties.getDirectory() != null) {
+            this.directory = Paths.get(properties.getDirectory());
+        } else {
+            this.directory = Paths.get(DSSKeyStoreFactoryBean.getDssDataFolder(), "aia-cache");
+        }
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Value
+    public static class Statistics {
+        long memoryHits;
+        long diskHits;
+        long misses;
+        long coalescedRequests;
+        long staleHits;
+        long fetchFailures;
+    }
+
+    @Value
+    private static class CacheEntry {
+        byte[] content;
+        long expiresAt;
+    }
+
+    @Value
+    private static class DiskEntry {
+        byte[] content;
+        long expiresAt;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.validation.service.generic.verifier;
+
+import ee.openeid.tsl.TSLLoader;
+import ee.openeid.tsl.configuration.AlwaysFailingCRLSource;
+import ee.openeid.tsl.configuration.AlwaysFailingOCSPSource;
+import ee.openeid.validation.service.generic.configuration.AiaDataLoaderProperties;
+import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.spi.x509.aia.DefaultAIASource;
+import eu.europa.esig.dss.validation.CertificateVerifier;
+import eu.europa.esig.dss.validation.CommonCertificateVerifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Provides the certificate verifier shared by all generic validations. The verifier, its AIA source and the index of
+ * trusted certificates are built once per trusted list generation, the underlying AIA data loader and its response
+ * cache are shared across generations.
+ */
+@Component
+public class CertificateVerifierProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CertificateVerifierProvider.class);
+
+    private final TrustedListsCertificateSource trustedListsCertificateSource;
+    private final AiaDataLoader aiaDataLoader;
+    private TSLLoader tslLoader;
+    private AiaResponseCache aiaResponseCache;
+    private volatile GenerationCertificateVerifier current;
+
+    @Autowired
+    public CertificateVerifierProvider(TrustedListsCertificateSource trustedListsCertificateSource,
+                                       ProxyConfig proxyConfig,
+                                       AiaDataLoaderProperties aiaDataLoaderProperties) {
+        this.trustedListsCertificateSource = trustedListsCertificateSource;
+        this.aiaDataLoader = new AiaDataLoader(aiaDataLoaderProperties, proxyConfig);
+    }
+
+    public CertificateVerifier getCertificateVerifier() {
+        return getCurrent().certificateVerifier;
+    }
+
+    public TrustedCertificateIndex getTrustedCertificateIndex() {
+        return getCurrent().trustedCertificateIndex;
+    }
+
+    private GenerationCertificateVerifier getCurrent() {
+        long generation = tslLoader == null ? 0 : tslLoader.getGeneration();
+        GenerationCertificateVerifier verifier = current;
+        if (verifier == null || verifier.generation != generation) {
+            synchronized (this) {
+                verifier = current;
+                if (verifier == null || verifier.generation != generation) {
+                    verifier = new GenerationCertificateVerifier(generation, createCertificateVerifier(),
+                            TrustedCertificateIndex.of(trustedListsCertificateSource));
+                    LOGGER.info("Created certificate verifier for trusted list generation {}, certificate pool size: {}",
+                            generation, trustedListsCertificateSource.getNumberOfCertificates());
+                    if (aiaResponseCache != null) {
+                        LOGGER.info("AIA response cache statistics: {}", aiaResponseCache.getStatistics());
+                    }
+                    current = verifier;
+                }
+            }
+        }
+        return verifier;
+    }
+
+    private CommonCertificateVerifier createCertificateVerifier() {
+        CommonCertificateVerifier certificateVerifier = new CommonCertificateVerifier(true);
+        certificateVerifier.setTrustedCertSources(trustedListsCertificateSource);
+        certificateVerifier.setOcspSource(new AlwaysFailingOCSPSource());
+        certificateVerifier.setCrlSource(new AlwaysFailingCRLSource());
+        certificateVerifier.setAIASource(new DefaultAIASource(aiaDataLoader));
+        return certificateVerifier;
+    }
+
+    @Autowired(required = false)
+    public void setTslLoader(TSLLoader tslLoader) {
+        this.tslLoader = tslLoader;
+    }
+
+    @Autowired(required = false)
+    public void setAiaResponseCache(AiaResponseCache aiaResponseCache) {
+        this.aiaResponseCache = aiaResponseCache;
+        aiaDataLoader.setResponseCache(aiaResponseCache);
+    }
+
+    private static class GenerationCertificateVerifier {
+
+        private final long generation;
+        private final CertificateVerifier certificateVerifier;
+        private final TrustedCertificateIndex trustedCertificateIndex;
+
+        GenerationCertificateVerifier(long generation, CertificateVerifier certificateVerifier,
+                                      TrustedCertificateIndex trustedCertificateIndex) {
+            this.generation = generation;
+            this.certificateVerifier = certificateVerifier;
+            this.trustedCertificateIndex = trustedCertificateIndex;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.validation.service.generic.verifier;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.x509.CertificateSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable lookup of trusted list certificates by their DSS identifier, built once per trusted list generation.
+ */
+public class TrustedCertificateIndex {
+
+    private final Map<String, CertificateToken> certificatesById;
+
+    private TrustedCertificateIndex(Map<String, CertificateToken> certificatesById) {
+        this.certificatesById = certificatesById;
+    }
+
+    public static TrustedCertificateIndex of(CertificateSource certificateSource) {
+        return of(certificateSource.getCertificates());
+    }
+
+    public static TrustedCertificateIndex of(List<CertificateToken> certificates) {
+        Map<String, CertificateToken> certificatesById = new HashMap<>();
+        for (CertificateToken certificate : certificates) {
+            certificatesById.putIfAbsent(certificate.getDSSIdAsString(), certificate);
+        }
+        return new TrustedCertificateIndex(Map.copyOf(certificatesById));
+    }
+
+    public CertificateToken getById(String dssId) {
+        return certificatesById.get(dssId);
+    }
+
+    public int size() {
+        return certificatesById.size();
+    }
+}
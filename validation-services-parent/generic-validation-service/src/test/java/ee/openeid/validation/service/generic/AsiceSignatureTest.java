@@ -4,9 +4,14 @@ import ee.openeid.siva.validation.configuration.ReportConfigurationProperties;
 import ee.openeid.siva.validation.document.ValidationDocument;
 import ee.openeid.siva.validation.document.builder.DummyValidationDocumentBuilder;
 import ee.openeid.siva.validation.document.report.SimpleReport;
+import ee.openeid.siva.validation.document.report.ValidationConclusion;
 import ee.openeid.siva.validation.service.signature.policy.ConstraintLoadingSignaturePolicyService;
+import ee.openeid.validation.service.generic.configuration.AiaDataLoaderProperties;
 import ee.openeid.validation.service.generic.configuration.GenericSignaturePolicyProperties;
+import ee.openeid.validation.service.generic.configuration.SignatureValidationProperties;
 import ee.openeid.validation.service.generic.validator.container.ContainerValidatorFactory;
+import ee.openeid.validation.service.generic.verifier.CertificateVerifierProvider;
+import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,7 +22,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(classes = {PDFValidationServiceTest.TestConfiguration.class})
 @ExtendWith(SpringExtension.class)
@@ -43,6 +52,8 @@ public class AsiceSignatureTest {
     public void setUp() {
         validationService = new GenericValidationService();
         validationService.setTrustedListsCertificateSource(trustedListsCertificateSource);
+        validationService.setCertificateVerifierProvider(new CertificateVerifierProvider(
+                trustedListsCertificateSource, new ProxyConfig(), new AiaDataLoaderProperties()));
 
         signaturePolicyService = new ConstraintLoadingSignaturePolicyService(policySettings);
         validationService.setSignaturePolicyService(signaturePolicyService);
@@ -93,6 +104,43 @@ public class AsiceSignatureTest {
         assertEquals("", imprint);
     }
 
+    @Test
+    public void parallelSignatureVerificationOfSeparateSignatureFilesProducesSameReport() {
+        assertParallelVerificationProducesSameSignatures("bdoc_tm_valid_2_signatures.asice");
+    }
+
+    @Test
+    public void parallelSignatureVerificationOfSharedSignatureFileProducesSameReport() {
+        assertParallelVerificationProducesSameSignatures("hellopades-lt1-lt2-parallel3.pdf");
+    }
+
+    private void assertParallelVerificationProducesSameSignatures(String testFile) {
+        ValidationConclusion sequential = validationService
+                .validateDocument(buildValidationDocument(testFile))
+                .getSimpleReport()
+                .getValidationConclusion();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            SignatureValidationProperties properties = new SignatureValidationProperties();
+            properties.setMaxParallelismPerRequest(4);
+            validationService.setSignatureValidationProperties(properties);
+            validationService.setSignatureValidationExecutor(executor);
+
+            ValidationConclusion parallel = validationService
+                    .validateDocument(buildValidationDocument(testFile))
+                    .getSimpleReport()
+                    .getValidationConclusion();
+
+            assertTrue(sequential.getSignaturesCount() > 1);
+            assertEquals(sequential.getSignaturesCount(), parallel.getSignaturesCount());
+            assertEquals(sequential.getValidSignaturesCount(), parallel.getValidSignaturesCount());
+            assertEquals(sequential.getSignatures(), parallel.getSignatures());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     static ValidationDocument buildValidationDocument(String testFile) {
         return DummyValidationDocumentBuilder
                 .aValidationDocument()
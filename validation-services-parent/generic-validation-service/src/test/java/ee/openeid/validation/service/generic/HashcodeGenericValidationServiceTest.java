@@ -22,8 +22,12 @@ import ee.openeid.siva.validation.document.ValidationDocument;
 import ee.openeid.siva.validation.document.report.*;
 import ee.openeid.siva.validation.service.signature.policy.ConstraintLoadingSignaturePolicyService;
 import ee.openeid.siva.validation.util.CertUtil;
+import ee.openeid.validation.service.generic.configuration.AiaDataLoaderProperties;
 import ee.openeid.validation.service.generic.configuration.GenericSignaturePolicyProperties;
+import ee.openeid.validation.service.generic.configuration.HashcodeValidationProperties;
 import ee.openeid.validation.service.generic.validator.container.ContainerValidatorFactory;
+import ee.openeid.validation.service.generic.verifier.CertificateVerifierProvider;
+import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import org.bouncycastle.util.encoders.Base64;
 import org.junit.jupiter.api.Assertions;
@@ -46,9 +50,14 @@ import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(classes = {PDFValidationServiceTest.TestConfiguration.class})
 @ExtendWith(SpringExtension.class)
@@ -68,6 +77,8 @@ public class HashcodeGenericValidationServiceTest {
     public void setUp() {
         validationService = new HashcodeGenericValidationService();
         validationService.setTrustedListsCertificateSource(trustedListsCertificateSource);
+        validationService.setCertificateVerifierProvider(new CertificateVerifierProvider(
+                trustedListsCertificateSource, new ProxyConfig(), new AiaDataLoaderProperties()));
 
         signaturePolicyService = new ConstraintLoadingSignaturePolicyService(policySettings);
         validationService.setSignaturePolicyService(signaturePolicyService);
@@ -179,6 +190,101 @@ public class HashcodeGenericValidationServiceTest {
                 reports.getSimpleReport().getValidationConclusion().getSignatures().get(0).getInfo().getTimeAssertionMessageImprint());
     }
 
+    @Test
+    public void parallelValidationKeepsSignatureFileOrder() throws Exception {
+        List<ValidationDocument> validationDocuments = getValidationDocumentSingletonList();
+        validationDocuments.addAll(getValidationDocumentSingletonList("test-files/signatures_with_sig_production_place.xml"));
+        validationDocuments.addAll(getValidationDocumentSingletonList());
+        List<String> sequentialSignatureMethods = getSignatureMethods(validationService.validate(validationDocuments));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            validationService.setHashcodeValidationExecutor(executor);
+            validationService.setHashcodeValidationProperties(new HashcodeValidationProperties());
+            Reports response = validationService.validate(validationDocuments);
+
+            assertEquals(sequentialSignatureMethods, getSignatureMethods(response));
+            assertEquals((Integer) 3, response.getSimpleReport().getValidationConclusion().getSignaturesCount());
+            assertEquals((Integer) 3, response.getSimpleReport().getValidationConclusion().getValidSignaturesCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void parallelValidationIsLimitedPerRequestAndReportsFirstFailure() {
+        AtomicInteger concurrentValidations = new AtomicInteger();
+        AtomicInteger maxConcurrentValidations = new AtomicInteger();
+        HashcodeGenericValidationService stubbedValidationService = new HashcodeGenericValidationService() {
+            @Override
+            public Reports validateDocument(ValidationDocument validationDocument) {
+                maxConcurrentValidations.accumulateAndGet(concurrentValidations.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                    if (validationDocument.getName().endsWith("3") || validationDocument.getName().endsWith("7")) {
+                        throw new IllegalStateException(validationDocument.getName());
+                    }
+                    return createReports(validationDocument.getName());
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    concurrentValidations.decrementAndGet();
+                }
+            }
+        };
+        HashcodeValidationProperties properties = new HashcodeValidationProperties();
+        properties.setMaxParallelismPerRequest(3);
+        stubbedValidationService.setHashcodeValidationProperties(properties);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            stubbedValidationService.setHashcodeValidationExecutor(executor);
+
+            List<ValidationDocument> validationDocuments = createValidationDocuments("signature-", 20);
+            Reports response = stubbedValidationService.validate(validationDocuments.subList(0, 3));
+            assertEquals(List.of("signature-0", "signature-1", "signature-2"), getSignatureIds(response));
+
+            IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+                    () -> stubbedValidationService.validate(validationDocuments));
+            assertEquals("signature-3", exception.getMessage());
+            assertTrue(maxConcurrentValidations.get() <= 3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<ValidationDocument> createValidationDocuments(String namePrefix, int count) {
+        List<ValidationDocument> validationDocuments = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            ValidationDocument validationDocument = new ValidationDocument();
+            validationDocument.setName(namePrefix + i);
+            validationDocuments.add(validationDocument);
+        }
+        return validationDocuments;
+    }
+
+    private static Reports createReports(String signatureId) {
+        SignatureValidationData signature = new SignatureValidationData();
+        signature.setId(signatureId);
+        ValidationConclusion validationConclusion = new ValidationConclusion();
+        validationConclusion.setSignatures(new ArrayList<>(List.of(signature)));
+        validationConclusion.setSignaturesCount(1);
+        validationConclusion.setValidSignaturesCount(1);
+        return new Reports(new SimpleReport(validationConclusion), null, null);
+    }
+
+    private static List<String> getSignatureIds(Reports reports) {
+        return reports.getSimpleReport().getValidationConclusion().getSignatures().stream()
+                .map(SignatureValidationData::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> getSignatureMethods(Reports reports) {
+        return reports.getSimpleReport().getValidationConclusion().getSignatures().stream()
+                .map(SignatureValidationData::getSignatureMethod)
+                .collect(Collectors.toList());
+    }
+
     private List<ValidationDocument> getValidationDocumentSingletonList() throws URISyntaxException, IOException {
         return getValidationDocumentSingletonList("test-files/signatures.xml");
     }
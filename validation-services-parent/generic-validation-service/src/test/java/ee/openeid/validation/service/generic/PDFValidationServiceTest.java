@@ -29,9 +29,11 @@ import ee.openeid.siva.validation.service.signature.policy.ConstraintLoadingSign
 import ee.openeid.tsl.TSLLoader;
 import ee.openeid.tsl.TSLValidationJobFactory;
 import ee.openeid.tsl.configuration.TSLLoaderConfiguration;
+import ee.openeid.validation.service.generic.configuration.AiaDataLoaderProperties;
 import ee.openeid.validation.service.generic.configuration.GenericSignaturePolicyProperties;
 import ee.openeid.validation.service.generic.configuration.GenericValidationServiceConfiguration;
 import ee.openeid.validation.service.generic.validator.container.ContainerValidatorFactory;
+import ee.openeid.validation.service.generic.verifier.CertificateVerifierProvider;
 import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import org.junit.jupiter.api.Assertions;
@@ -69,6 +71,8 @@ public class PDFValidationServiceTest {
     public void setUp() {
         validationService = new GenericValidationService();
         validationService.setTrustedListsCertificateSource(trustedListsCertificateSource);
+        validationService.setCertificateVerifierProvider(new CertificateVerifierProvider(
+                trustedListsCertificateSource, new ProxyConfig(), new AiaDataLoaderProperties()));
 
         signaturePolicyService = new ConstraintLoadingSignaturePolicyService(policySettings);
         validationService.setSignaturePolicyService(signaturePolicyService);
@@ -118,6 +122,28 @@ public class PDFValidationServiceTest {
                 report.getValidationConclusion().getSignatures().get(0).getSignatureMethod());
     }
 
+    @Test
+    public void buildsOnlySimpleReportWhenSimpleReportIsRequested() {
+        ValidationDocument validationDocument = buildValidationDocument(PDF_WITH_REASON_AND_LOCATION);
+        validationDocument.setReportType(Reports.Type.SIMPLE);
+
+        Reports reports = validationService.validateDocument(validationDocument);
+        assertNotNull(reports.getSimpleReport());
+        assertNull(reports.getDetailedReport());
+        assertNull(reports.getDiagnosticReport());
+    }
+
+    @Test
+    public void buildsOnlyRequestedDiagnosticReport() {
+        ValidationDocument validationDocument = buildValidationDocument(PDF_WITH_REASON_AND_LOCATION);
+        validationDocument.setReportType(Reports.Type.DIAGNOSTIC);
+
+        Reports reports = validationService.validateDocument(validationDocument);
+        assertNull(reports.getDetailedReport());
+        assertEquals(reports.getSimpleReport().getValidationConclusion(), reports.getDiagnosticReport().getValidationConclusion());
+        assertEquals(validationDocument.getName(), reports.getDiagnosticReport().getDiagnosticData().getDocumentName());
+    }
+
     void assertNoErrors(SignatureValidationData signatureValidationData) {
         assertEquals(0, signatureValidationData.getErrors().size());
     }
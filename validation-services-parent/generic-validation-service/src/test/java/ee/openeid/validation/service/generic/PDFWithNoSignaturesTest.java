@@ -21,7 +21,9 @@ import ee.openeid.siva.validation.document.report.Reports;
 import ee.openeid.siva.validation.document.report.SimpleReport;
 import ee.openeid.siva.validation.document.report.ValidationConclusion;
 import ee.openeid.siva.validation.exception.ValidationServiceException;
+import ee.openeid.siva.validation.service.signature.policy.properties.ConstraintDefinedPolicy;
 import eu.europa.esig.dss.diagnostic.jaxb.XmlDiagnosticData;
+import eu.europa.esig.dss.validation.executor.ValidationLevel;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -47,6 +49,28 @@ public class PDFWithNoSignaturesTest extends PDFValidationServiceTest {
         assertNotNull(validationConclusion.getValidationTime());
     }
 
+    @Test
+    public void requestedValidationLevelIsReflectedInReport() {
+        ValidationDocument validationDocument = buildValidationDocument(PDF_WITH_NO_SIGNATURES);
+        validationDocument.setValidationLevel(ValidationLevel.BASIC_SIGNATURES);
+
+        SimpleReport report = validateAndAssertReports(validationDocument).getSimpleReport();
+        assertEquals(ValidationLevel.BASIC_SIGNATURES.name(), report.getValidationConclusion().getValidationLevel());
+    }
+
+    @Test
+    public void requestedValidationLevelTakesPrecedenceOverPolicyLevel() {
+        ValidationDocument validationDocument = new ValidationDocument();
+        ConstraintDefinedPolicy policy = new ConstraintDefinedPolicy();
+        assertEquals(ValidationLevel.ARCHIVAL_DATA, GenericValidationService.getValidationLevel(validationDocument, policy));
+
+        policy.setValidationLevel(ValidationLevel.LONG_TERM_DATA);
+        assertEquals(ValidationLevel.LONG_TERM_DATA, GenericValidationService.getValidationLevel(validationDocument, policy));
+
+        validationDocument.setValidationLevel(ValidationLevel.BASIC_SIGNATURES);
+        assertEquals(ValidationLevel.BASIC_SIGNATURES, GenericValidationService.getValidationLevel(validationDocument, policy));
+    }
+
     @Test
     public void assertPdfWithNoSignaturesDiagnosticData() {
         Date validationStartDate = new Date();
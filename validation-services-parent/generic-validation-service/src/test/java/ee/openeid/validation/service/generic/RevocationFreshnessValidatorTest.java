@@ -17,6 +17,7 @@
 package ee.openeid.validation.service.generic;
 
 import ee.openeid.validation.service.generic.helper.TestXmlDetailUtils;
+import ee.openeid.validation.service.generic.validator.report.DssReportsIndex;
 import eu.europa.esig.dss.diagnostic.CertificateRevocationWrapper;
 import eu.europa.esig.dss.diagnostic.CertificateWrapper;
 import eu.europa.esig.dss.diagnostic.DiagnosticData;
@@ -31,13 +32,13 @@ import eu.europa.esig.dss.simplereport.jaxb.XmlMessage;
 import eu.europa.esig.dss.simplereport.jaxb.XmlSignature;
 import eu.europa.esig.dss.simplereport.jaxb.XmlSimpleReport;
 import eu.europa.esig.dss.validation.reports.Reports;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -55,7 +56,6 @@ public class RevocationFreshnessValidatorTest {
 
     @Mock
     private Reports validationReports;
-    @InjectMocks
     private RevocationFreshnessValidator validator;
 
     @Mock
@@ -63,6 +63,11 @@ public class RevocationFreshnessValidatorTest {
     @Mock
     private SimpleReport simpleReport;
 
+    @BeforeEach
+    public void setUp() {
+        validator = new RevocationFreshnessValidator(DssReportsIndex.of(validationReports));
+    }
+
     @Test
     public void testNoSignaturesInDiagnosticDataShouldDoNothing() {
         mockDiagnosticDataGetSignatures();
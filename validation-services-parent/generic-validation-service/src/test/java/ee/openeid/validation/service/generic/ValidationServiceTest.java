@@ -12,9 +12,11 @@ import ee.openeid.siva.validation.util.CertUtil;
 import ee.openeid.tsl.TSLLoader;
 import ee.openeid.tsl.TSLValidationJobFactory;
 import ee.openeid.tsl.configuration.TSLLoaderConfiguration;
+import ee.openeid.validation.service.generic.configuration.AiaDataLoaderProperties;
 import ee.openeid.validation.service.generic.configuration.GenericSignaturePolicyProperties;
 import ee.openeid.validation.service.generic.configuration.GenericValidationServiceConfiguration;
 import ee.openeid.validation.service.generic.validator.container.ContainerValidatorFactory;
+import ee.openeid.validation.service.generic.verifier.CertificateVerifierProvider;
 import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
 import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import lombok.extern.slf4j.Slf4j;
@@ -54,6 +56,8 @@ public class ValidationServiceTest {
     public void setUp() {
         validationService = new GenericValidationService();
         validationService.setTrustedListsCertificateSource(trustedListsCertificateSource);
+        validationService.setCertificateVerifierProvider(new CertificateVerifierProvider(
+                trustedListsCertificateSource, new ProxyConfig(), new AiaDataLoaderProperties()));
 
         signaturePolicyService = new ConstraintLoadingSignaturePolicyService(policySettings);
         validationService.setSignaturePolicyService(signaturePolicyService);
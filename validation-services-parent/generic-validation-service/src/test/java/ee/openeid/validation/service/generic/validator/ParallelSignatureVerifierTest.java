@@ -0,0 +1,163 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.validation.service.generic.validator;
+
+import eu.europa.esig.dss.validation.AdvancedSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ParallelSignatureVerifierTest {
+
+    private ExecutorService executorService;
+    private AtomicInteger submittedWorkers;
+    private Executor executor;
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newFixedThreadPool(4);
+        submittedWorkers = new AtomicInteger();
+        executor = command -> {
+            submittedWorkers.incrementAndGet();
+            executorService.execute(command);
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void everySignatureIsVerifiedOnce() {
+        List<AdvancedSignature> signatures = createSignatures(20);
+
+        new ParallelSignatureVerifier(executor, 4).verify(signatures);
+
+        signatures.forEach(signature -> verify(signature).checkSignatureIntegrity());
+        assertEquals(3, submittedWorkers.get());
+    }
+
+    @Test
+    void parallelismIsCappedBySignatureCount() {
+        List<AdvancedSignature> signatures = createSignatures(2);
+
+        new ParallelSignatureVerifier(executor, 8).verify(signatures);
+
+        signatures.forEach(signature -> verify(signature).checkSignatureIntegrity());
+        assertEquals(1, submittedWorkers.get());
+    }
+
+    @Test
+    void signaturesAreLeftToDssWhenParallelismIsDisabled() {
+        List<AdvancedSignature> signatures = createSignatures(5);
+
+        new ParallelSignatureVerifier(executor, 1).verify(signatures);
+
+        signatures.forEach(signature -> verify(signature, never()).checkSignatureIntegrity());
+        assertEquals(0, submittedWorkers.get());
+    }
+
+    @Test
+    void failedVerificationDoesNotStopOtherSignatures() {
+        List<AdvancedSignature> signatures = createSignatures(6);
+        doThrow(new IllegalStateException("Broken signature")).when(signatures.get(0)).checkSignatureIntegrity();
+
+        new ParallelSignatureVerifier(executor, 3).verify(signatures);
+
+        signatures.forEach(signature -> verify(signature).checkSignatureIntegrity());
+    }
+
+    @Test
+    void signaturesAreVerifiedOnMultipleThreads() {
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        List<AdvancedSignature> signatures = createSignatures(40);
+        signatures.forEach(signature -> doAnswer(invocation -> {
+            threadNames.add(Thread.currentThread().getName());
+            Thread.sleep(5);
+            return null;
+        }).when(signature).checkSignatureIntegrity());
+
+        new ParallelSignatureVerifier(executor, 4).verify(signatures);
+
+        assertTrue(threadNames.size() > 1);
+    }
+
+    @Test
+    void signaturesOfSingleSignatureFileAreLeftToDss() {
+        List<AdvancedSignature> signatures = createSignatures(5, i -> "signatures.xml");
+
+        new ParallelSignatureVerifier(executor, 4).verify(signatures);
+
+        signatures.forEach(signature -> verify(signature, never()).checkSignatureIntegrity());
+        assertEquals(0, submittedWorkers.get());
+    }
+
+    @Test
+    void signaturesOfSameSignatureFileAreVerifiedOnSameThread() {
+        Map<String, Set<String>> threadNamesBySignatureFile = new ConcurrentHashMap<>();
+        List<AdvancedSignature> signatures = createSignatures(12, i -> "signatures" + (i % 3) + ".xml");
+        signatures.forEach(signature -> doAnswer(invocation -> {
+            threadNamesBySignatureFile
+                    .computeIfAbsent(signature.getSignatureFilename(), name -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread().getName());
+            Thread.sleep(5);
+            return null;
+        }).when(signature).checkSignatureIntegrity());
+
+        new ParallelSignatureVerifier(executor, 4).verify(signatures);
+
+        signatures.forEach(signature -> verify(signature).checkSignatureIntegrity());
+        assertEquals(2, submittedWorkers.get());
+        assertEquals(3, threadNamesBySignatureFile.size());
+        threadNamesBySignatureFile.values().forEach(threadNames -> assertEquals(1, threadNames.size()));
+    }
+
+    private static List<AdvancedSignature> createSignatures(int count) {
+        return createSignatures(count, i -> "signatures" + i + ".xml");
+    }
+
+    private static List<AdvancedSignature> createSignatures(int count, IntFunction<String> signatureFilename) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    AdvancedSignature signature = mock(AdvancedSignature.class);
+                    when(signature.getSignatureFilename()).thenReturn(signatureFilename.apply(i));
+                    return signature;
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -17,6 +17,7 @@
 package ee.openeid.validation.service.generic.validator.container;
 
 import ee.openeid.siva.validation.document.ValidationDocument;
+import ee.openeid.siva.validation.document.container.ZipContainerIndex;
 import ee.openeid.siva.validation.exception.MalformedDocumentException;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -61,6 +62,9 @@ public class ZipBasedContainerValidatorTest {
         );
 
         Assertions.assertEquals("No document bytes available", caughtException.getMessage());
+        Mockito.verify(validationDocument).getContainerIndex();
+        Mockito.verify(validationDocument).getContent();
+        Mockito.verify(validationDocument).getBytes();
         Mockito.verifyNoMoreInteractions(validationDocument, entryValidator);
     }
 
@@ -70,7 +74,7 @@ public class ZipBasedContainerValidatorTest {
 
         validator.validate();
 
-        Mockito.verify(validationDocument).getBytes();
+        verifyContainerIndexCreated();
         Mockito.verifyNoMoreInteractions(validationDocument, entryValidator);
     }
 
@@ -90,7 +94,7 @@ public class ZipBasedContainerValidatorTest {
 
         Assertions.assertNotNull(caughtException.getMessage());
         Assertions.assertSame(entryValidatorIOException, caughtException.getCause());
-        Mockito.verify(validationDocument).getBytes();
+        verifyContainerIndexCreated();
         assertEntryValidationsInvokedFor(containerEntry.getKey());
         Mockito.verifyNoMoreInteractions(validationDocument, entryValidator);
     }
@@ -109,7 +113,7 @@ public class ZipBasedContainerValidatorTest {
 
         validator.validate();
 
-        Mockito.verify(validationDocument).getBytes();
+        verifyContainerIndexCreated();
         assertEntryValidationsInvokedFor(entries.stream().map(Pair::getKey).toArray(String[]::new));
         Mockito.verifyNoMoreInteractions(validationDocument, entryValidator);
         for (int i = 0; i < entries.size(); ++i) {
@@ -130,6 +134,25 @@ public class ZipBasedContainerValidatorTest {
         );
     }
 
+    @Test
+    public void testValidationUsesContainerIndexAttachedToValidationDocument() throws IOException {
+        ZipContainerIndex containerIndex = ZipContainerIndex.of(createZipFile(Pair.of("entry", new byte[0])));
+        Mockito.doReturn(containerIndex).when(validationDocument).getContainerIndex();
+
+        validator.validate();
+
+        Mockito.verify(validationDocument).getContainerIndex();
+        assertEntryValidationsInvokedFor("entry");
+        Mockito.verifyNoMoreInteractions(validationDocument, entryValidator);
+    }
+
+    private void verifyContainerIndexCreated() {
+        Mockito.verify(validationDocument).getContainerIndex();
+        Mockito.verify(validationDocument).getContent();
+        Mockito.verify(validationDocument).getBytes();
+        Mockito.verify(validationDocument).setContainerIndex(Mockito.any(ZipContainerIndex.class));
+    }
+
     private void assertEntryValidationsInvokedFor(String... entries) throws IOException {
         ArgumentCaptor<ZipEntry> zipEntryArgumentCaptor = ArgumentCaptor.forClass(ZipEntry.class);
         Mockito.verify(entryValidator, Mockito.times(entries.length)).validate(zipEntryArgumentCaptor.capture(), Mockito.any(InputStream.class));
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.validation.service.generic.validator.report;
+
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.simplereport.jaxb.XmlDetails;
+import eu.europa.esig.dss.simplereport.jaxb.XmlSignature;
+import eu.europa.esig.dss.simplereport.jaxb.XmlSimpleReport;
+import eu.europa.esig.dss.validation.reports.Reports;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+class DssReportsIndexTest {
+
+    @Mock
+    private Reports dssReports;
+    @Mock
+    private DiagnosticData diagnosticData;
+    @Mock
+    private SimpleReport simpleReport;
+
+    @Test
+    void signaturesAreIndexedOnceAndFoundById() {
+        SignatureWrapper signature1 = mockSignatureWrapper("S-1");
+        SignatureWrapper signature2 = mockSignatureWrapper("S-2");
+        Mockito.doReturn(diagnosticData).when(dssReports).getDiagnosticData();
+        Mockito.doReturn(List.of(signature1, signature2)).when(diagnosticData).getSignatures();
+        DssReportsIndex reportsIndex = DssReportsIndex.of(dssReports);
+
+        Assertions.assertSame(signature2, reportsIndex.getSignatureById("S-2"));
+        Assertions.assertSame(signature1, reportsIndex.getSignatureById("S-1"));
+        Assertions.assertNull(reportsIndex.getSignatureById("S-3"));
+
+        Mockito.verify(dssReports).getDiagnosticData();
+        Mockito.verify(diagnosticData).getSignatures();
+        Mockito.verifyNoMoreInteractions(dssReports, diagnosticData);
+    }
+
+    @Test
+    void simpleReportWrapperIsSharedAndFindsSignatureDetailsById() {
+        XmlSimpleReport xmlSimpleReport = new XmlSimpleReport();
+        XmlSignature signature1 = createSimpleReportSignature("S-1");
+        XmlSignature signature2 = createSimpleReportSignature("S-2");
+        xmlSimpleReport.getSignatureOrTimestamp().addAll(List.of(signature1, signature2));
+        Mockito.doReturn(simpleReport).when(dssReports).getSimpleReport();
+        Mockito.doReturn(xmlSimpleReport).when(simpleReport).getJaxbModel();
+        DssReportsIndex reportsIndex = DssReportsIndex.of(dssReports);
+
+        DssSimpleReportWrapper wrapper = reportsIndex.getSimpleReportWrapper();
+        XmlDetails details = wrapper.getSignatureAdESValidationXmlDetails("S-2");
+
+        Assertions.assertSame(wrapper, reportsIndex.getSimpleReportWrapper());
+        Assertions.assertSame(signature2.getAdESValidationDetails(), details);
+        Assertions.assertSame(signature1, wrapper.getXmlSignature("S-1"));
+        Assertions.assertNull(wrapper.getXmlSignature("S-3"));
+        Mockito.verify(dssReports).getSimpleReport();
+        Mockito.verify(simpleReport).getJaxbModel();
+    }
+
+    private static SignatureWrapper mockSignatureWrapper(String id) {
+        SignatureWrapper signatureWrapper = Mockito.mock(SignatureWrapper.class);
+        Mockito.doReturn(id).when(signatureWrapper).getId();
+        return signatureWrapper;
+    }
+
+    private static XmlSignature createSimpleReportSignature(String id) {
+        XmlSignature signature = new XmlSignature();
+        signature.setId(id);
+        return signature;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.validation.service.generic.verifier;
+
+import com.sun.net.httpserver.HttpServer;
+import ee.openeid.validation.service.generic.configuration.AiaDataLoaderProperties;
+import eu.europa.esig.dss.model.DSSException;
+import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class AiaDataLoaderTest {
+
+    private static final byte[] CERTIFICATE = "certificate".getBytes(StandardCharsets.US_ASCII);
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private HttpServer server;
+    private AiaDataLoader dataLoader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/ca.crt", exchange -> {
+            requestCount.incrementAndGet();
+            exchange.sendResponseHeaders(200, CERTIFICATE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(CERTIFICATE);
+            }
+        });
+        server.createContext("/missing.crt", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        dataLoader = new AiaDataLoader(new AiaDataLoaderProperties(), new ProxyConfig());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void resourceIsDownloaded() {
+        assertArrayEquals(CERTIFICATE, dataLoader.get(url("/ca.crt")));
+        assertEquals(1, requestCount.get());
+    }
+
+    @Test
+    void poolLimitsAndTimeoutsAreTakenFromProperties() {
+        AiaDataLoaderProperties properties = new AiaDataLoaderProperties();
+        properties.setConnectTimeout(Duration.ofSeconds(3));
+        properties.setResponseTimeout(Duration.ofSeconds(7));
+        properties.setMaxConnectionsTotal(40);
+        properties.setMaxConnectionsPerRoute(15);
+        ProxyConfig proxyConfig = new ProxyConfig();
+
+        AiaDataLoader configuredDataLoader = new AiaDataLoader(properties, proxyConfig);
+
+        assertEquals(3000, configuredDataLoader.getTimeoutConnection());
+        assertEquals(7000, configuredDataLoader.getTimeoutResponse());
+        assertEquals(40, configuredDataLoader.getConnectionsMaxTotal());
+        assertEquals(15, configuredDataLoader.getConnectionsMaxPerRoute());
+        assertSame(proxyConfig, configuredDataLoader.getProxyConfig());
+    }
+
+    @Test
+    void unsuccessfulResponseThrows() {
+        Assertions.assertThrows(DSSException.class, () -> dataLoader.get(url("/missing.crt")));
+    }
+
+    private String url(String path) {
+        return "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + server.getAddress().getPort() + path;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.validation.service.generic.verifier;
+
+import ee.openeid.validation.service.generic.configuration.AiaDataLoaderProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AiaResponseCacheTest {
+
+    private static final String URL = "http://ca.example/intermediate.crt";
+    private static final byte[] CERTIFICATE = "certificate".getBytes(StandardCharsets.US_ASCII);
+
+    private final AtomicInteger downloads = new AtomicInteger();
+    private Path directory;
+    private AiaDataLoaderProperties properties;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("aia-cache");
+        properties = new AiaDataLoaderProperties();
+        properties.getCache().setDirectory(directory.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    void repeatedRequestIsServedFromMemory() {
+        AiaResponseCache cache = createCache();
+
+        assertArrayEquals(CERTIFICATE, cache.get(URL, this::download));
+        assertArrayEquals(CERTIFICATE, cache.get(URL, this::download));
+
+        assertEquals(1, downloads.get());
+        assertEquals(1, cache.getStatistics().getMisses());
+        assertEquals(1, cache.getStatistics().getMemoryHits());
+    }
+
+    @Test
+    void responseIsServedFromDiskAfterRestart() {
+        createCache().get(URL, this::download);
+
+        AiaResponseCache restartedCache = createCache();
+
+        assertArrayEquals(CERTIFICATE, restartedCache.get(URL, this::download));
+        assertEquals(1, downloads.get());
+        assertEquals(1, restartedCache.getStatistics().getDiskHits());
+    }
+
+    @Test
+    void corruptedDiskEntryIsDiscarded() throws IOException {
+        createCache().get(URL, this::download);
+        try (Stream<Path> files = Files.list(directory)) {
+            Files.write(files.findFirst().orElseThrow(), "tampered".getBytes(StandardCharsets.US_ASCII));
+        }
+
+        assertArrayEquals(CERTIFICATE, createCache().get(URL, this::download));
+        assertEquals(2, downloads.get());
+    }
+
+    @Test
+    void expiredResponseIsDownloadedAgain() {
+        properties.getCache().setTimeToLive(Duration.ofMinutes(1));
+        AiaResponseCache cache = createCache();
+        cache.get(URL, this::download);
+
+        cache.setClock(Clock.fixed(Instant.now().plus(Duration.ofMinutes(2)), ZoneOffset.UTC));
+
+        cache.get(URL, this::download);
+        assertEquals(2, downloads.get());
+    }
+
+    @Test
+    void expiredResponseIsServedWhenDownloadFails() {
+        properties.getCache().setTimeToLive(Duration.ofMinutes(1));
+        AiaResponseCache cache = createCache();
+        cache.get(URL, this::download);
+        cache.setClock(Clock.fixed(Instant.now().plus(Duration.ofMinutes(2)), ZoneOffset.UTC));
+
+        byte[] content = cache.get(URL, url -> {
+            throw new IllegalStateException("AIA endpoint unavailable");
+        });
+
+        assertArrayEquals(CERTIFICATE, content);
+        assertEquals(1, cache.getStatistics().getStaleHits());
+        assertEquals(1, cache.getStatistics().getFetchFailures());
+    }
+
+    @Test
+    void failureIsPropagatedWhenNothingIsCached() {
+        AiaResponseCache cache = createCache();
+
+        assertThrows(IllegalStateException.class, () -> cache.get(URL, url -> {
+            throw new IllegalStateException("AIA endpoint unavailable");
+        }));
+        assertArrayEquals(CERTIFICATE, cache.get(URL, this::download));
+    }
+
+    @Test
+    void concurrentRequestsForSameUrlShareDownload() throws Exception {
+        AiaResponseCache cache = createCache();
+        CountDownLatch downloadStarted = new CountDownLatch(1);
+        CountDownLatch releaseDownload = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<byte[]> first = executor.submit(() -> cache.get(URL, url -> {
+                downloadStarted.countDown();
+                await(releaseDownload);
+                return download(url);
+            }));
+            downloadStarted.await(5, TimeUnit.SECONDS);
+            Future<byte[]> second = executor.submit(() -> cache.get(URL, this::download));
+            Future<byte[]> third = executor.submit(() -> cache.get(URL, this::download));
+            while (cache.getStatistics().getCoalescedRequests() < 2) {
+                Thread.sleep(10);
+            }
+            releaseDownload.countDown();
+
+            assertArrayEquals(CERTIFICATE, first.get(5, TimeUnit.SECONDS));
+            assertArrayEquals(CERTIFICATE, second.get(5, TimeUnit.SECONDS));
+            assertArrayEquals(CERTIFICATE, third.get(5, TimeUnit.SECONDS));
+            assertEquals(1, downloads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void disabledCacheAlwaysDownloads() {
+        properties.getCache().setEnabled(false);
+        AiaResponseCache cache = createCache();
+
+        cache.get(URL, this::download);
+        cache.get(URL, this::download);
+
+        assertEquals(2, downloads.get());
+    }
+
+    private AiaResponseCache createCache() {
+        AiaResponseCache cache = new AiaResponseCache();
+        cache.setProperties(properties);
+        return cache;
+    }
+
+    private byte[] download(String url) {
+        downloads.incrementAndGet();
+        return CERTIFICATE.clone();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.validation.service.generic.verifier;
+
+import ee.openeid.tsl.TSLLoader;
+import ee.openeid.validation.service.generic.configuration.AiaDataLoaderProperties;
+import eu.europa.esig.dss.service.http.proxy.ProxyConfig;
+import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
+import eu.europa.esig.dss.validation.CertificateVerifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@ExtendWith(MockitoExtension.class)
+class CertificateVerifierProviderTest {
+
+    @Mock
+    private TSLLoader tslLoader;
+
+    private CertificateVerifierProvider certificateVerifierProvider;
+
+    @BeforeEach
+    void setUp() {
+        certificateVerifierProvider = new CertificateVerifierProvider(
+                new TrustedListsCertificateSource(), new ProxyConfig(), new AiaDataLoaderProperties());
+        certificateVerifierProvider.setTslLoader(tslLoader);
+    }
+
+    @Test
+    void certificateVerifierIsSharedWithinTrustedListGeneration() {
+        Mockito.when(tslLoader.getGeneration()).thenReturn(1L);
+
+        CertificateVerifier certificateVerifier = certificateVerifierProvider.getCertificateVerifier();
+        assertNotNull(certificateVerifier.getAIASource());
+        assertSame(certificateVerifier, certificateVerifierProvider.getCertificateVerifier());
+    }
+
+    @Test
+    void certificateVerifierIsRecreatedForNewTrustedListGeneration() {
+        Mockito.when(tslLoader.getGeneration()).thenReturn(1L, 2L);
+
+        CertificateVerifier firstGenerationVerifier = certificateVerifierProvider.getCertificateVerifier();
+        assertNotSame(firstGenerationVerifier, certificateVerifierProvider.getCertificateVerifier());
+    }
+
+    @Test
+    void trustedCertificateIndexIsRebuiltForNewTrustedListGeneration() {
+        Mockito.when(tslLoader.getGeneration()).thenReturn(1L, 1L, 2L);
+
+        TrustedCertificateIndex firstGenerationIndex = certificateVerifierProvider.getTrustedCertificateIndex();
+        assertSame(firstGenerationIndex, certificateVerifierProvider.getTrustedCertificateIndex());
+        assertNotSame(firstGenerationIndex, certificateVerifierProvider.getTrustedCertificateIndex());
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.validation.service.generic.verifier;
+
+import eu.europa.esig.dss.model.x509.CertificateToken;
+import eu.europa.esig.dss.spi.DSSUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TrustedCertificateIndexTest {
+
+    private static final CertificateToken CERTIFICATE =
+            DSSUtils.loadCertificate(new File("src/test/resources/TESTofEECertificationCentreRootCA.crt"));
+
+    @Test
+    void certificateIsFoundByDssId() {
+        TrustedCertificateIndex index = TrustedCertificateIndex.of(List.of(CERTIFICATE));
+
+        assertSame(CERTIFICATE, index.getById(CERTIFICATE.getDSSIdAsString()));
+        assertNull(index.getById("C-UNKNOWN"));
+    }
+
+    @Test
+    void duplicateCertificatesAreIndexedOnce() {
+        TrustedCertificateIndex index = TrustedCertificateIndex.of(List.of(CERTIFICATE, CERTIFICATE));
+
+        assertEquals(1, index.size());
+    }
+}
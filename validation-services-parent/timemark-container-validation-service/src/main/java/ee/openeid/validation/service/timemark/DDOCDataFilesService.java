@@ -49,8 +49,6 @@ public class DDOCDataFilesService implements DataFilesService {
 
     @Override
     public DataFilesReport getDataFiles(DataFilesDocument dataFilesDocument) {
-        XMLEntityAttackValidator.validateAgainstXMLEntityAttacks(dataFilesDocument.getBytes());
-
         Container container;
         try {
             container = createContainer(dataFilesDocument);
@@ -64,10 +62,11 @@ public class DDOCDataFilesService implements DataFilesService {
 
     private Container createContainer(DataFilesDocument dataFilesDocument) {
         InputStream containerInputStream = new ByteArrayInputStream(dataFilesDocument.getBytes());
-        return ContainerBuilder.aContainer()
-                .fromStream(containerInputStream)
-                .withConfiguration(configuration)
-                .build();
+        return XMLEntityAttackValidator.parseAgainstXMLEntityAttacks(containerInputStream, guardedInputStream ->
+                ContainerBuilder.aContainer()
+                        .fromStream(guardedInputStream)
+                        .withConfiguration(configuration)
+                        .build());
     }
 
 }
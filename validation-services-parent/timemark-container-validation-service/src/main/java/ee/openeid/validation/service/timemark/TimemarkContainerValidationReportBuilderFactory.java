@@ -9,15 +9,18 @@ import org.digidoc4j.Container;
 import org.digidoc4j.ValidationResult;
 import org.digidoc4j.impl.ddoc.DDocContainer;
 
+import java.util.Map;
+
 public class TimemarkContainerValidationReportBuilderFactory {
 
     public TimemarkContainerValidationReportBuilder getReportBuilder(Container container, ValidationDocument validationDocument,
                                                                      ValidationPolicy validationPolicy, ValidationResult validationResult,
+                                                                     Map<String, ValidationResult> signatureValidationResults,
                                                                      boolean isReportSignatureEnabled) {
         if (container instanceof DDocContainer) {
-            return new DDOCContainerValidationReportBuilder(container, validationDocument, validationPolicy, validationResult, isReportSignatureEnabled);
+            return new DDOCContainerValidationReportBuilder(container, validationDocument, validationPolicy, validationResult, signatureValidationResults, isReportSignatureEnabled);
         } else {
-            return new AsicContainerValidationReportBuilder(container, validationDocument, validationPolicy, validationResult, isReportSignatureEnabled);
+            return new AsicContainerValidationReportBuilder(container, validationDocument, validationPolicy, validationResult, signatureValidationResults, isReportSignatureEnabled);
         }
     }
 }
@@ -22,6 +22,7 @@ import ee.openeid.siva.validation.document.report.Reports;
 import ee.openeid.siva.validation.exception.MalformedDocumentException;
 import ee.openeid.siva.validation.exception.ValidationServiceException;
 import ee.openeid.siva.validation.service.ValidationService;
+import ee.openeid.validation.service.timemark.report.TimemarkContainerValidationReportBuilder;
 import ee.openeid.validation.service.timemark.signature.policy.BDOCConfigurationService;
 import ee.openeid.validation.service.timemark.signature.policy.PolicyConfigurationWrapper;
 import eu.europa.esig.dss.model.DSSException;
@@ -37,8 +38,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
 
 @Service
 public class TimemarkContainerValidationService implements ValidationService {
@@ -47,16 +50,16 @@ public class TimemarkContainerValidationService implements ValidationService {
     private ReportConfigurationProperties reportConfigurationProperties;
     private BDOCConfigurationService bdocConfigurationService;
     private static final String DDOC_FORMAT = "DDOC";
+    private static final byte[] ZIP_LOCAL_FILE_HEADER_SIGNATURE = {'P', 'K', 3, 4};
 
     @Override
     public Reports validateDocument(ValidationDocument validationDocument) {
-        if (DDOC_FORMAT.equalsIgnoreCase(FilenameUtils.getExtension(validationDocument.getName()))) {
-            XMLEntityAttackValidator.validateAgainstXMLEntityAttacks(validationDocument.getBytes());
-        }
+        boolean isXmlContainer = DDOC_FORMAT.equalsIgnoreCase(FilenameUtils.getExtension(validationDocument.getName()))
+                || !isZip(validationDocument);
         PolicyConfigurationWrapper policyConfiguration = bdocConfigurationService.loadPolicyConfiguration(validationDocument.getSignaturePolicy());
         Container container;
         try {
-            container = createContainer(validationDocument, policyConfiguration.getConfiguration());
+            container = createContainer(validationDocument, policyConfiguration.getConfiguration(), isXmlContainer);
         } catch (DigiDoc4JException | DSSException e) {
             LOGGER.error("Unable to create container from validation document", e);
             throw new MalformedDocumentException(e);
@@ -64,9 +67,10 @@ public class TimemarkContainerValidationService implements ValidationService {
 
         try {
             ValidationResult validationResult = container.validate();
+            Map<String, ValidationResult> signatureValidationResults = TimemarkContainerValidationReportBuilder.collectSignatureValidationResults(container);
             TimemarkContainerValidationReportBuilderFactory reportBuilderFactory = new TimemarkContainerValidationReportBuilderFactory();
             return reportBuilderFactory.getReportBuilder(container, validationDocument, policyConfiguration.getPolicy(),
-                    validationResult, reportConfigurationProperties.isReportSignatureEnabled()).build();
+                    validationResult, signatureValidationResults, reportConfigurationProperties.isReportSignatureEnabled()).build();
         } catch (DigiDoc4JException e) {
             throw new MalformedDocumentException(e);
         } catch (Exception e) {
@@ -75,8 +79,19 @@ public class TimemarkContainerValidationService implements ValidationService {
         }
     }
 
-    private Container createContainer(ValidationDocument validationDocument, Configuration configuration) {
-        InputStream containerInputStream = new ByteArrayInputStream(validationDocument.getBytes());
+    private Container createContainer(ValidationDocument validationDocument, Configuration configuration, boolean isXmlContainer) {
+        try (InputStream containerInputStream = validationDocument.openStream()) {
+            if (isXmlContainer) {
+                return XMLEntityAttackValidator.parseAgainstXMLEntityAttacks(containerInputStream,
+                        guardedInputStream -> createContainer(guardedInputStream, configuration));
+            }
+            return createContainer(containerInputStream, configuration);
+        } catch (IOException e) {
+            throw new ValidationServiceException(getClass().getSimpleName(), e);
+        }
+    }
+
+    private static Container createContainer(InputStream containerInputStream, Configuration configuration) {
         return ContainerBuilder.aContainer()
                 .fromStream(containerInputStream)
                 .withConfiguration(configuration)
@@ -93,4 +108,21 @@ public class TimemarkContainerValidationService implements ValidationService {
         this.reportConfigurationProperties = reportConfigurationProperties;
     }
 
+    private static boolean isZip(ValidationDocument validationDocument) {
+        if (validationDocument.getContent() == null) {
+            return isZip(validationDocument.getBytes());
+        }
+        try (InputStream document = validationDocument.openStream()) {
+            return isZip(document.readNBytes(ZIP_LOCAL_FILE_HEADER_SIGNATURE.length));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean isZip(byte[] document) {
+        return document != null && document.length >= ZIP_LOCAL_FILE_HEADER_SIGNATURE.length
+                && Arrays.equals(document, 0, ZIP_LOCAL_FILE_HEADER_SIGNATURE.length,
+                ZIP_LOCAL_FILE_HEADER_SIGNATURE, 0, ZIP_LOCAL_FILE_HEADER_SIGNATURE.length);
+    }
+
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.validation.service.timemark;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Input stream that inspects the XML prolog while the bytes are passed on to the actual XML parser and fails the read
+ * as soon as a DOCTYPE (and therefore any entity declaration) or non-markup content is found before the root element.
+ * Everything after the start of the root element is passed through without inspection.
+ * <p>
+ * Markup is recognized byte by byte, which is only reliable for UTF-8 where every byte of a multi-byte character is
+ * outside the ASCII range. Zero bytes and UTF-16 or UTF-32 byte order marks are therefore rejected, documents in other
+ * encodings must be checked by other means before they are parsed.
+ */
+class XMLEntityAttackGuardInputStream extends FilterInputStream {
+
+    private enum State {
+        PROLOG, MARKUP_START, DECLARATION_START, COMMENT_START, COMMENT, COMMENT_DASH, COMMENT_END,
+        PROCESSING_INSTRUCTION, PROCESSING_INSTRUCTION_END, ROOT_ELEMENT
+    }
+
+    private State state = State.PROLOG;
+    private IOException violation;
+
+    XMLEntityAttackGuardInputStream(InputStream in) {
+        super(in);
+    }
+
+    /**
+     * @return the reason the document was rejected, {@code null} if no violation has been found
+     */
+    IOException getViolation() {
+        return violation;
+    }
+
+    @Override
+    public int read() throws IOException {
+        ensureNoViolation();
+        int b = super.read();
+        if (b == -1) {
+            inspectEndOfStream();
+        } else {
+            inspect(b);
+        }
+        ensureNoViolation();
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        ensureNoViolation();
+        int count = super.read(b, off, len);
+        if (count == -1) {
+            inspectEndOfStream();
+        }
+        for (int i = off; i < off + count && state != State.ROOT_ELEMENT; i++) {
+            inspect(b[i] & 0xFF);
+        }
+        ensureNoViolation();
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long remaining = n;
+        while (remaining > 0) {
+            int count = read(buffer, 0, (int) Math.min(remaining, buffer.length));
+            if (count == -1) {
+                break;
+            }
+            remaining -= count;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // Rereading inspected bytes is not supported
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    private void ensureNoViolation() throws IOException {
+        if (violation != null) {
+            throw violation;
+        }
+    }
+
+    private void inspectEndOfStream() {
+        if (state != State.ROOT_ELEMENT && violation == null) {
+            violation = new IOException("Premature end of file");
+        }
+    }
+
+    private void inspect(int b) {
+        if (violation != null) {
+            return;
+        }
+        if (b == 0 || b == 0xFE || b == 0xFF) {
+            violation = new IOException("Document is not UTF-8 encoded");
+            return;
+        }
+        switch (state) {
+            case PROLOG:
+                if (b == '<') {
+                    state = State.MARKUP_START;
+                } else if (!isWhitespaceOrByteOrderMark(b)) {
+                    violation = new IOException("Content is not allowed in prolog");
+                }
+                break;
+            case MARKUP_START:
+                if (b == '?') {
+                    state = State.PROCESSING_INSTRUCTION;
+                } else if (b == '!') {
+                    state = State.DECLARATION_START;
+                } else if (isNameStart(b)) {
+                    state = State.ROOT_ELEMENT;
+                } else {
+                    violation = new IOException("Content is not allowed in prolog");
+                }
+                break;
+            case DECLARATION_START:
+                if (b == '-') {
+                    state = State.COMMENT_START;
+                } else {
+                    violation = new IOException("DOCTYPE is disallowed");
+                }
+                break;
+            case COMMENT_START:
+                if (b == '-') {
+                    state = State.COMMENT;
+                } else {
+                    violation = new IOException("Content is not allowed in prolog");
+                }
+                break;
+            case COMMENT:
+                if (b == '-') {
+                    state = State.COMMENT_DASH;
+                }
+                break;
+            case COMMENT_DASH:
+                state = b == '-' ? State.COMMENT_END : State.COMMENT;
+                break;
+            case COMMENT_END:
+                if (b == '>') {
+                    state = State.PROLOG;
+                } else if (b != '-') {
+                    state = State.COMMENT;
+                }
+                break;
+            case PROCESSING_INSTRUCTION:
+                if (b == '?') {
+                    state = State.PROCESSING_INSTRUCTION_END;
+                }
+                break;
+            case PROCESSING_INSTRUCTION_END:
+                if (b == '>') {
+                    state = State.PROLOG;
+                } else if (b != '?') {
+                    state = State.PROCESSING_INSTRUCTION;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static boolean isWhitespaceOrByteOrderMark(int b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == '\n'
+                || b == 0xEF || b == 0xBB || b == 0xBF;
+    }
+
+    private static boolean isNameStart(int b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || b == '_' || b == ':' || b >= 0x80;
+    }
+}
@@ -13,7 +13,6 @@
  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
  * See the Licence for the specific language governing permissions and limitations under the Licence.
  */
-
 package ee.openeid.validation.service.timemark;
 
 import ee.openeid.siva.validation.exception.MalformedDocumentException;
@@ -28,15 +27,106 @@ import org.xml.sax.SAXException;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 class XMLEntityAttackValidator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(XMLEntityAttackValidator.class);
 
-    static void validateAgainstXMLEntityAttacks(byte[] xmlContent) {
+    private static final int PROLOG_PEEK_LENGTH = 1024;
+    private static final String UTF8_BYTE_ORDER_MARK = "\u00EF\u00BB\u00BF";
+    private static final String XML_DECLARATION_START = "<?xml";
+    private static final String XML_DECLARATION_END = "?>";
+    private static final Pattern ENCODING_DECLARATION = Pattern.compile("\\sencoding\\s*=\\s*([\"'])([A-Za-z0-9._-]+)\\1");
+
+    /**
+     * Checks the XML document against XML entity attacks and passes it to the parser.
+     * <p>
+     * UTF-8 documents are passed to the parser through a {@link XMLEntityAttackGuardInputStream}, so the document is
+     * checked while it is being parsed instead of in a separate parsing pass. The guard recognizes markup byte by byte,
+     * which is only reliable for UTF-8, so documents in any other encoding are read into memory and checked with a
+     * secure SAX parser before they are parsed.
+     *
+     * @throws MalformedDocumentException if the document declares a DOCTYPE or has no root element, regardless of
+     *                                    how the parser itself reacted to the rejected input
+     */
+    static <T> T parseAgainstXMLEntityAttacks(InputStream xmlContent, Function<InputStream, T> parser) {
+        BufferedInputStream bufferedContent = new BufferedInputStream(xmlContent, PROLOG_PEEK_LENGTH);
+        if (!isUtf8Encoded(peekProlog(bufferedContent))) {
+            byte[] document = readFully(bufferedContent);
+            validateAgainstXMLEntityAttacks(document);
+            return parser.apply(new ByteArrayInputStream(document));
+        }
+
+        XMLEntityAttackGuardInputStream guardedContent = new XMLEntityAttackGuardInputStream(bufferedContent);
+        T result;
+        try {
+            result = parser.apply(guardedContent);
+        } catch (RuntimeException e) {
+            validateAgainstXMLEntityAttacks(guardedContent);
+            throw e;
+        }
+        validateAgainstXMLEntityAttacks(guardedContent);
+        return result;
+    }
+
+    /**
+     * A document is treated as UTF-8 only if its prolog contains no zero bytes, no UTF-16 or UTF-32 byte order mark and
+     * either no XML declaration encoding or a UTF-8 one. Anything that can not be decided from the prolog is not.
+     */
+    static boolean isUtf8Encoded(byte[] prolog) {
+        for (byte b : prolog) {
+            if (b == 0 || (b & 0xFF) == 0xFE || (b & 0xFF) == 0xFF) {
+                return false;
+            }
+        }
+        String prologText = new String(prolog, StandardCharsets.ISO_8859_1);
+        if (prologText.startsWith(UTF8_BYTE_ORDER_MARK)) {
+            prologText = prologText.substring(UTF8_BYTE_ORDER_MARK.length());
+        }
+        if (!prologText.startsWith(XML_DECLARATION_START)) {
+            return true;
+        }
+        int declarationEnd = prologText.indexOf(XML_DECLARATION_END);
+        if (declarationEnd < 0) {
+            return false;
+        }
+        String declaration = prologText.substring(0, declarationEnd);
+        if (!declaration.contains("encoding")) {
+            return true;
+        }
+        Matcher encoding = ENCODING_DECLARATION.matcher(declaration);
+        return encoding.find()
+                && ("UTF-8".equalsIgnoreCase(encoding.group(2)) || "UTF8".equalsIgnoreCase(encoding.group(2)));
+    }
+
+    private static byte[] peekProlog(BufferedInputStream content) {
+        try {
+            content.mark(PROLOG_PEEK_LENGTH);
+            byte[] prolog = content.readNBytes(PROLOG_PEEK_LENGTH);
+            content.reset();
+            return prolog;
+        } catch (IOException e) {
+            throw new MalformedDocumentException(e);
+        }
+    }
+
+    private static byte[] readFully(InputStream content) {
+        try {
+            return content.readAllBytes();
+        } catch (IOException e) {
+            throw new MalformedDocumentException(e);
+        }
+    }
+
+    private static void validateAgainstXMLEntityAttacks(byte[] xmlContent) {
         try {
             SAXParser saxParser = SecureSAXParsers.createParser();
             InputStream inputStream = new SignatureInputStream(new ByteArrayInputStream(xmlContent));
@@ -48,4 +138,12 @@ class XMLEntityAttackValidator {
         }
     }
 
+    private static void validateAgainstXMLEntityAttacks(XMLEntityAttackGuardInputStream guardedContent) {
+        IOException violation = guardedContent.getViolation();
+        if (violation != null) {
+            LOGGER.error("Exception when validation document against XML entity attacks: " + violation.getMessage(), violation);
+            throw new MalformedDocumentException(violation);
+        }
+    }
+
 }
@@ -23,4 +23,14 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "siva.bdoc")
 public class BDOCValidationServiceProperties {
     private String digidoc4JConfigurationFile;
+
+    /**
+     * Number of worker threads shared by all DigiDoc4J configurations for validating container signatures.
+     */
+    private int validationPoolSize = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of signatures waiting for a free worker before requesting threads start validating them themselves.
+     */
+    private int validationQueueCapacity = 1000;
 }
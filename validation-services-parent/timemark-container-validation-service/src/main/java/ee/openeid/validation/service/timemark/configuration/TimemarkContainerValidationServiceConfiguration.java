@@ -30,8 +30,10 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.io.File;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @SpringBootConfiguration
 @EnableAutoConfiguration
@@ -59,10 +61,22 @@ public class TimemarkContainerValidationServiceConfiguration {
         return new ConstraintLoadingSignaturePolicyService(properties);
     }
 
+    @Bean
+    public ThreadPoolTaskExecutor containerValidationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(bdocValidationServiceProperties.getValidationPoolSize());
+        executor.setMaxPoolSize(bdocValidationServiceProperties.getValidationPoolSize());
+        executor.setQueueCapacity(bdocValidationServiceProperties.getValidationQueueCapacity());
+        executor.setThreadNamePrefix("container-validation-");
+        // Requesting thread validates signatures itself when workers can not keep up
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
     @Bean
     @Profile("test")
-    public Configuration testDigiDoc4JConfiguration() {
-        Configuration configuration = createConfiguration(Configuration.Mode.TEST);
+    public Configuration testDigiDoc4JConfiguration(ThreadPoolTaskExecutor containerValidationExecutor) {
+        Configuration configuration = createConfiguration(Configuration.Mode.TEST, containerValidationExecutor);
         configuration.loadConfiguration(getAdditionalConfigurationFilePath("/siva-digidoc4j-test.yaml"), true);
         configuration.setTrustedTerritories();
         return configuration;
@@ -70,15 +84,16 @@ public class TimemarkContainerValidationServiceConfiguration {
 
     @Bean
     @Profile("!test")
-    public Configuration prodDigiDoc4JConfiguration() {
-        Configuration configuration = createConfiguration(Configuration.Mode.PROD);
+    public Configuration prodDigiDoc4JConfiguration(ThreadPoolTaskExecutor containerValidationExecutor) {
+        Configuration configuration = createConfiguration(Configuration.Mode.PROD, containerValidationExecutor);
         configuration.loadConfiguration(getAdditionalConfigurationFilePath("/siva-digidoc4j.yaml"), true);
         configuration.setTrustedTerritories(tslLoaderConfigurationProperties.getTrustedTerritories().toArray(String[]::new));
         return configuration;
     }
 
-    private Configuration createConfiguration(Configuration.Mode mode) {
+    private Configuration createConfiguration(Configuration.Mode mode, ThreadPoolTaskExecutor containerValidationExecutor) {
         Configuration configuration = new Configuration(mode);
+        configuration.setThreadExecutor(containerValidationExecutor.getThreadPoolExecutor());
         configuration.setSslTruststorePathFor(ExternalConnectionType.TSL, tslLoaderConfigurationProperties.getSslTruststorePath());
         configuration.setSslTruststorePasswordFor(ExternalConnectionType.TSL, tslLoaderConfigurationProperties.getSslTruststorePassword());
         configuration.setSslTruststoreTypeFor(ExternalConnectionType.TSL, tslLoaderConfigurationProperties.getSslTruststoreType());
@@ -10,6 +10,7 @@ import ee.openeid.siva.validation.document.report.ValidationWarning;
 import ee.openeid.siva.validation.document.report.Warning;
 import ee.openeid.siva.validation.document.report.builder.ReportBuilderUtils;
 import ee.openeid.siva.validation.service.signature.policy.properties.ValidationPolicy;
+import eu.europa.esig.dss.diagnostic.TimestampWrapper;
 import eu.europa.esig.dss.enumerations.SignatureQualification;
 import eu.europa.esig.dss.enumerations.SubIndication;
 import org.digidoc4j.Container;
@@ -23,6 +24,7 @@ import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.security.cert.X509Certificate;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -30,16 +32,24 @@ import java.util.stream.Collectors;
 import static org.digidoc4j.X509Cert.SubjectName.CN;
 
 public class AsicContainerValidationReportBuilder extends TimemarkContainerValidationReportBuilder {
+
+    private final Map<String, AsicSignatureReport> signatureReports = new HashMap<>();
+
     public AsicContainerValidationReportBuilder(Container container, ValidationDocument validationDocument, ValidationPolicy validationPolicy, ValidationResult validationResult, boolean isReportSignatureEnabled) {
         super(container, validationDocument, validationPolicy, validationResult, isReportSignatureEnabled);
     }
 
+    public AsicContainerValidationReportBuilder(Container container, ValidationDocument validationDocument, ValidationPolicy validationPolicy, ValidationResult validationResult,
+                                                Map<String, ValidationResult> signatureValidationResults, boolean isReportSignatureEnabled) {
+        super(container, validationDocument, validationPolicy, validationResult, signatureValidationResults, isReportSignatureEnabled);
+    }
+
     @Override
     protected SignatureValidationData.Indication getIndication(Signature signature, Map<String, ValidationResult> signatureValidationResults) {
         ValidationResult signatureValidationResult = signatureValidationResults.get(signature.getUniqueId());
         if (signatureValidationResult.isValid() && validationResult.getErrors().isEmpty()) {
             return SignatureValidationData.Indication.TOTAL_PASSED;
-        } else if (REPORT_INDICATION_INDETERMINATE.equals(getDssSimpleReport((AsicESignature) signature).getIndication(signature.getUniqueId()).name())
+        } else if (REPORT_INDICATION_INDETERMINATE.equals(getSignatureReport(signature).getIndication().name())
                 && validationResult.getErrors().isEmpty()) {
             return SignatureValidationData.Indication.INDETERMINATE;
         } else {
@@ -52,18 +62,27 @@ public class AsicContainerValidationReportBuilder extends TimemarkContainerValid
         if (getIndication(signature, signatureValidationResults) == SignatureValidationData.Indication.TOTAL_PASSED) {
             return "";
         }
-        SubIndication subindication = getDssSimpleReport((AsicESignature) signature).getSubIndication(signature.getUniqueId());
+        SubIndication subindication = getSignatureReport(signature).getSubIndication();
         return subindication != null ? subindication.name() : "";
 
     }
 
     @Override
     protected String getSignatureLevel(Signature signature) {
-        SignatureQualification signatureLevel = getDssSimpleReport((AsicESignature) signature).getSignatureQualification(signature.getUniqueId());
+        SignatureQualification signatureLevel = getSignatureReport(signature).getSignatureQualification();
         return signatureLevel != null ? signatureLevel.name() : "";
 
     }
 
+    @Override
+    TimestampWrapper getBestTimestampWrapper(Signature signature) {
+        return getSignatureReport(signature).getBestSignatureTimestamp();
+    }
+
+    private AsicSignatureReport getSignatureReport(Signature signature) {
+        return signatureReports.computeIfAbsent(signature.getUniqueId(), id -> new AsicSignatureReport((AsicESignature) signature));
+    }
+
     @Override
     protected List<Certificate> getCertificateList(Signature signature) {
         List<Certificate> certificateList = super.getCertificateList(signature);
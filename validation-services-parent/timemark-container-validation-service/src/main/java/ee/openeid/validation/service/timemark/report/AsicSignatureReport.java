@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.validation.service.timemark.report;
+
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.diagnostic.TimestampWrapper;
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SignatureQualification;
+import eu.europa.esig.dss.enumerations.SubIndication;
+import eu.europa.esig.dss.enumerations.TimestampType;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.validation.reports.Reports;
+import lombok.Getter;
+import org.digidoc4j.impl.asic.asice.AsicESignature;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * DSS report data of a single ASiC signature, looked up once and shared by all report builder methods.
+ */
+final class AsicSignatureReport {
+
+    private final String signatureId;
+    private final Reports reports;
+    @Getter
+    private final Indication indication;
+    @Getter
+    private final SubIndication subIndication;
+    @Getter
+    private final SignatureQualification signatureQualification;
+    private TimestampWrapper bestSignatureTimestamp;
+    private boolean bestSignatureTimestampResolved;
+
+    AsicSignatureReport(AsicESignature signature) {
+        this.signatureId = signature.getUniqueId();
+        this.reports = signature.getDssValidationReport().getReports();
+        SimpleReport simpleReport = reports.getSimpleReport();
+        this.indication = simpleReport.getIndication(signatureId);
+        this.subIndication = simpleReport.getSubIndication(signatureId);
+        this.signatureQualification = simpleReport.getSignatureQualification(signatureId);
+    }
+
+    /**
+     * Earliest signature timestamp of the signature, resolved from the diagnostic data on first use only, as
+     * timemark signatures never need it.
+     */
+    TimestampWrapper getBestSignatureTimestamp() {
+        if (!bestSignatureTimestampResolved) {
+            SignatureWrapper signatureWrapper = reports.getDiagnosticData().getSignatureById(signatureId);
+            List<TimestampWrapper> timestamps = signatureWrapper.getTimestampListByType(TimestampType.SIGNATURE_TIMESTAMP);
+            bestSignatureTimestamp = timestamps.isEmpty() ? null : Collections.min(timestamps, Comparator.comparing(TimestampWrapper::getProductionTime));
+            bestSignatureTimestampResolved = true;
+        }
+        return bestSignatureTimestamp;
+    }
+}
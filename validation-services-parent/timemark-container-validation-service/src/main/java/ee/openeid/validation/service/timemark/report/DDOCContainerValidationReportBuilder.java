@@ -7,6 +7,7 @@ import ee.openeid.siva.validation.document.report.ValidationConclusion;
 import ee.openeid.siva.validation.document.report.ValidationWarning;
 import ee.openeid.siva.validation.document.report.Warning;
 import ee.openeid.siva.validation.service.signature.policy.properties.ValidationPolicy;
+import eu.europa.esig.dss.diagnostic.TimestampWrapper;
 import org.apache.commons.lang3.StringUtils;
 import org.digidoc4j.Container;
 import org.digidoc4j.DigestDataFile;
@@ -29,6 +30,11 @@ public class DDOCContainerValidationReportBuilder extends TimemarkContainerValid
         super(container, validationDocument, validationPolicy, validationResult, isReportSignatureEnabled);
     }
 
+    public DDOCContainerValidationReportBuilder(Container container, ValidationDocument validationDocument, ValidationPolicy validationPolicy, ValidationResult validationResult,
+                                              Map<String, ValidationResult> signatureValidationResults, boolean isReportSignatureEnabled) {
+        super(container, validationDocument, validationPolicy, validationResult, signatureValidationResults, isReportSignatureEnabled);
+    }
+
     @Override
     void processSignatureIndications(ValidationConclusion validationConclusion, String policyName) {
         //Do nothing
@@ -54,6 +60,11 @@ public class DDOCContainerValidationReportBuilder extends TimemarkContainerValid
         return null;
     }
 
+    @Override
+    TimestampWrapper getBestTimestampWrapper(Signature signature) {
+        return null;
+    }
+
     @Override
     List<ValidationWarning> getExtraValidationWarnings() {
         ValidationWarning timestampValidationWarning = new ValidationWarning();
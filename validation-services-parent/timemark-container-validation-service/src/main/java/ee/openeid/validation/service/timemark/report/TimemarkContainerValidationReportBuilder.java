@@ -23,10 +23,7 @@ import ee.openeid.siva.validation.document.report.builder.ReportBuilderUtils;
 import ee.openeid.siva.validation.service.signature.policy.properties.ValidationPolicy;
 import ee.openeid.siva.validation.util.CertUtil;
 import ee.openeid.siva.validation.util.DistinguishedNameUtil;
-import eu.europa.esig.dss.diagnostic.DiagnosticData;
-import eu.europa.esig.dss.diagnostic.SignatureWrapper;
 import eu.europa.esig.dss.diagnostic.TimestampWrapper;
-import eu.europa.esig.dss.enumerations.TimestampType;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang3.StringUtils;
 import org.digidoc4j.Container;
@@ -37,19 +34,19 @@ import org.digidoc4j.ValidationResult;
 import org.digidoc4j.X509Cert;
 import org.digidoc4j.exceptions.CertificateNotFoundException;
 import org.digidoc4j.exceptions.DigiDoc4JException;
-import org.digidoc4j.impl.asic.asice.AsicESignature;
 import org.slf4j.LoggerFactory;
 
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -77,10 +74,20 @@ public abstract class TimemarkContainerValidationReportBuilder {
     private Map<String, ValidationResult> signatureValidationResults;
 
     public TimemarkContainerValidationReportBuilder(Container container, ValidationDocument validationDocument, ValidationPolicy validationPolicy, ValidationResult validationResult, boolean isReportSignatureEnabled) {
+        this(container, validationDocument, validationPolicy, validationResult, collectSignatureValidationResults(container), isReportSignatureEnabled);
+    }
+
+    /**
+     * @param signatureValidationResults per-signature results keyed by {@link Signature#getUniqueId()}, as collected
+     *                                   by {@link #collectSignatureValidationResults(Container)} after the container
+     *                                   has been validated; the builder never validates signatures on its own
+     */
+    public TimemarkContainerValidationReportBuilder(Container container, ValidationDocument validationDocument, ValidationPolicy validationPolicy, ValidationResult validationResult,
+                                                    Map<String, ValidationResult> signatureValidationResults, boolean isReportSignatureEnabled) {
         this.container = container;
         this.validationDocument = validationDocument;
         this.validationPolicy = validationPolicy;
-        this.signatureValidationResults = validateAllSignatures(container);
+        this.signatureValidationResults = signatureValidationResults;
         removeSignatureResults(validationResult);
         this.validationResult = validationResult;
         this.isReportSignatureEnabled = isReportSignatureEnabled;
@@ -109,9 +116,9 @@ public abstract class TimemarkContainerValidationReportBuilder {
         processSignatureIndications(validationConclusion, validationPolicy.getName());
 
         SimpleReport simpleReport = new SimpleReport(validationConclusion);
-        DetailedReport detailedReport = new DetailedReport(validationConclusion, null);
-        DiagnosticReport diagnosticReport = new DiagnosticReport(validationConclusion, null);
-        return new Reports(simpleReport, detailedReport, diagnosticReport);
+        return Reports.of(validationDocument.getReportType(), simpleReport,
+                () -> new DetailedReport(validationConclusion, null),
+                () -> new DiagnosticReport(validationConclusion, null));
     }
 
     private void removeSignatureResults(ValidationResult validationResult) {
@@ -120,18 +127,31 @@ public abstract class TimemarkContainerValidationReportBuilder {
     }
 
     private void removeSignatureErrors(ValidationResult validationResult) {
-        validationResult.getErrors().removeIf(exception -> signatureValidationResults.values().stream()
-                .anyMatch(sigResult -> sigResult.getErrors().stream()
-                        .anyMatch(e -> e.getMessage().equals(exception.getMessage()))));
+        Set<String> signatureErrorMessages = collectSignatureMessages(ValidationResult::getErrors);
+        validationResult.getErrors().removeIf(exception -> signatureErrorMessages.contains(exception.getMessage()));
     }
 
     private void removeSignatureWarning(ValidationResult validationResult) {
-        validationResult.getWarnings().removeIf(exception -> signatureValidationResults.values().stream()
-                .anyMatch(sigResult -> sigResult.getWarnings().stream()
-                        .anyMatch(e -> e.getMessage().equals(exception.getMessage()))));
+        Set<String> signatureWarningMessages = collectSignatureMessages(ValidationResult::getWarnings);
+        validationResult.getWarnings().removeIf(exception -> signatureWarningMessages.contains(exception.getMessage()));
     }
 
-    private Map<String, ValidationResult> validateAllSignatures(Container container) {
+    private Set<String> collectSignatureMessages(Function<ValidationResult, List<DigiDoc4JException>> exceptions) {
+        return signatureValidationResults.values().stream()
+                .map(exceptions)
+                .flatMap(Collection::stream)
+                .map(DigiDoc4JException::getMessage)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * Collects the validation result of every signature in the container exactly once.
+     * <p>
+     * DigiDoc4J keeps the result of {@code validateSignature()} on ASiC signatures, so when called after
+     * {@link Container#validate()} this reuses the results produced by container validation instead of
+     * validating the signatures again.
+     */
+    public static Map<String, ValidationResult> collectSignatureValidationResults(Container container) {
         Map<String, ValidationResult> results = new HashMap<>();
         for (Signature signature : container.getSignatures()) {
             results.put(signature.getUniqueId(), signature.validateSignature());
@@ -148,7 +168,7 @@ public abstract class TimemarkContainerValidationReportBuilder {
         List<SignatureValidationData> signaturesValidationResult = createSignaturesForReport(container);
         validationConclusion.setSignatures(signaturesValidationResult);
         validationConclusion.setValidationWarnings(containerValidationWarnings());
-        validationConclusion.setValidatedDocument(ReportBuilderUtils.createValidatedDocument(isReportSignatureEnabled, validationDocument.getName(), validationDocument.getBytes()));
+        validationConclusion.setValidatedDocument(ReportBuilderUtils.createValidatedDocument(isReportSignatureEnabled, validationDocument));
         validationConclusion.setValidSignaturesCount(
                 (int) validationConclusion.getSignatures()
                         .stream()
@@ -217,10 +237,6 @@ public abstract class TimemarkContainerValidationReportBuilder {
         return subjectName.replaceAll("^\"|\"$", "");
     }
 
-    eu.europa.esig.dss.simplereport.SimpleReport getDssSimpleReport(AsicESignature bDocSignature) {
-        return bDocSignature.getDssValidationReport().getReports().getSimpleReport();
-    }
-
     private Info getInfo(Signature signature) {
         Info info = new Info();
         info.setBestSignatureTime(getBestSignatureTime(signature));
@@ -271,14 +287,6 @@ public abstract class TimemarkContainerValidationReportBuilder {
         }
     }
 
-    private TimestampWrapper getBestTimestampWrapper(Signature signature) {
-        DiagnosticData diagnosticData = ((AsicESignature) signature).getDssValidationReport().getReports().getDiagnosticData();
-        SignatureWrapper signatureWrapper = diagnosticData.getSignatureById(signature.getUniqueId());
-        List<TimestampWrapper> timestamps = signatureWrapper.getTimestampListByType(TimestampType.SIGNATURE_TIMESTAMP);
-        return timestamps.isEmpty() ? null : Collections.min(timestamps, Comparator.comparing(TimestampWrapper::getProductionTime));
-
-    }
-
     private List<SignerRole> getSignerRole(Signature signature) {
         return signature.getSignerRoles().stream()
                 .filter(StringUtils::isNotEmpty)
@@ -375,6 +383,8 @@ public abstract class TimemarkContainerValidationReportBuilder {
 
     abstract String getSignatureLevel(Signature signature);
 
+    abstract TimestampWrapper getBestTimestampWrapper(Signature signature);
+
     abstract List<ValidationWarning> getExtraValidationWarnings();
 
     abstract List<SignatureScope> getSignatureScopes(Signature signature, List<String> dataFilenames);
@@ -20,6 +20,7 @@ import ee.openeid.siva.validation.service.signature.policy.InvalidPolicyExceptio
 import ee.openeid.validation.service.timemark.configuration.BDOCSignaturePolicyProperties;
 import org.apache.commons.lang3.StringUtils;
 import org.digidoc4j.Configuration;
+import org.digidoc4j.TSLCertificateSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,22 +37,29 @@ public class BDOCConfigurationService {
     private final BDOCSignaturePolicyProperties properties;
     private final BDOCSignaturePolicyService policyService;
     private final Configuration configuration;
+    private final TSLCertificateSource trustedListSource;
 
     private final Map<String, PolicyConfigurationWrapper> policyList = new ConcurrentSkipListMap<>(String.CASE_INSENSITIVE_ORDER);
 
     @Autowired
     public BDOCConfigurationService(BDOCSignaturePolicyService policyService,
             BDOCSignaturePolicyProperties properties,
-            Configuration configuration) {
+            Configuration configuration,
+            TSLCertificateSource trustedListSource) {
         this.policyService = policyService;
         this.properties = properties;
         this.configuration = configuration;
+        this.trustedListSource = trustedListSource;
     }
 
     @PostConstruct
     protected void loadAllBDOCConfigurations() {
         properties.getAbstractPolicies().forEach(policy -> {
             Configuration tempConfiguration = configuration.copy();
+            // The thread executor is transient and therefore not carried over by copy()
+            tempConfiguration.setThreadExecutor(configuration.getThreadExecutor());
+            // Trusted lists are loaded and refreshed by TSLLoader, DigiDoc4J must not load its own copy
+            tempConfiguration.setTSL(trustedListSource);
             tempConfiguration.setValidationPolicy(policyService.getAbsolutePath(policy.getName()));
             LOGGER.info("Adding BDOC validation policy: {}", policy.getName());
             policyList.putIfAbsent(policy.getName(), new PolicyConfigurationWrapper(tempConfiguration, policy));
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.validation.service.timemark;
+
+import ee.openeid.siva.validation.exception.MalformedDocumentException;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class XMLEntityAttackGuardInputStreamTest {
+
+    private static final String XXE_DOCUMENT = "<?xml version=\"1.0\"?>\n"
+            + "<!DOCTYPE SignedDoc [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]>\n"
+            + "<SignedDoc>&xxe;</SignedDoc>";
+
+    @Test
+    void documentWithoutDoctypeIsPassedThroughUnchanged() throws IOException {
+        byte[] document = ("\uFEFF<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<!-- comment -->\n<SignedDoc format=\"DIGIDOC-XML\"><![CDATA[<!DOCTYPE x>]]></SignedDoc>")
+                .getBytes(StandardCharsets.UTF_8);
+        XMLEntityAttackGuardInputStream guardedStream = guard(document);
+
+        assertArrayEquals(document, IOUtils.toByteArray(guardedStream));
+        assertNull(guardedStream.getViolation());
+    }
+
+    @Test
+    void doctypeIsRejected() {
+        assertRejected(XXE_DOCUMENT.getBytes(StandardCharsets.UTF_8), "DOCTYPE is disallowed");
+    }
+
+    @Test
+    void documentNotEncodedInUtf8IsRejectedByGuard() {
+        assertRejected(XXE_DOCUMENT.getBytes(StandardCharsets.UTF_16), "Document is not UTF-8 encoded");
+        assertRejected(XXE_DOCUMENT.getBytes(StandardCharsets.UTF_16LE), "Document is not UTF-8 encoded");
+        assertRejected(XXE_DOCUMENT.getBytes(Charset.forName("UTF-32")), "Document is not UTF-8 encoded");
+    }
+
+    @Test
+    void doctypeInUtf16DocumentIsRejected() {
+        InputStream document = new ByteArrayInputStream(XXE_DOCUMENT.getBytes(StandardCharsets.UTF_16));
+
+        assertThrows(MalformedDocumentException.class,
+                () -> XMLEntityAttackValidator.parseAgainstXMLEntityAttacks(document, XMLEntityAttackGuardInputStreamTest::parseText));
+    }
+
+    @Test
+    void doctypeAfterUtf16CharactersResemblingCommentEndIsRejected() {
+        // U+2D2D, U+3E2D and U+613C are encoded as "--", "->" and "<a" in UTF-16LE
+        String document = "<?xml version=\"1.0\" encoding=\"UTF-16LE\"?><!--\u2D2D\u3E2D\u613C-->"
+                + "<!DOCTYPE SignedDoc [<!ENTITY xxe \"PWNED\">]><SignedDoc>&xxe;</SignedDoc>";
+        InputStream content = new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_16LE));
+
+        assertThrows(MalformedDocumentException.class,
+                () -> XMLEntityAttackValidator.parseAgainstXMLEntityAttacks(content, XMLEntityAttackGuardInputStreamTest::parseText));
+    }
+
+    @Test
+    void utf16DocumentWithoutDoctypeIsParsed() {
+        String document = "<?xml version=\"1.0\" encoding=\"UTF-16\"?><!-- comment --><SignedDoc>content</SignedDoc>";
+        InputStream content = new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_16));
+
+        assertEquals("content", XMLEntityAttackValidator.parseAgainstXMLEntityAttacks(content, XMLEntityAttackGuardInputStreamTest::parseText));
+    }
+
+    @Test
+    void onlyUtf8PrologsAreRecognizedAsUtf8() {
+        assertTrue(XMLEntityAttackValidator.isUtf8Encoded("<SignedDoc/>".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(XMLEntityAttackValidator.isUtf8Encoded("\uFEFF<?xml version=\"1.0\"?><SignedDoc/>".getBytes(StandardCharsets.UTF_8)));
+        assertTrue(XMLEntityAttackValidator.isUtf8Encoded("<?xml version='1.0' encoding='utf-8'?>".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(XMLEntityAttackValidator.isUtf8Encoded("<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(XMLEntityAttackValidator.isUtf8Encoded("<?xml version=\"1.0\" encoding=\"UTF-8\"".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(XMLEntityAttackValidator.isUtf8Encoded("<SignedDoc/>".getBytes(StandardCharsets.UTF_16BE)));
+        assertFalse(XMLEntityAttackValidator.isUtf8Encoded("<SignedDoc/>".getBytes(StandardCharsets.UTF_16)));
+    }
+
+    @Test
+    void doctypeAfterMarkupInCommentAndProcessingInstructionIsRejected() {
+        String document = "<?pi <SignedDoc>?><!-- <SignedDoc> --><!DOCTYPE SignedDoc><SignedDoc/>";
+        assertRejected(document.getBytes(StandardCharsets.UTF_8), "DOCTYPE is disallowed");
+    }
+
+    @Test
+    void doctypeIsRejectedBeforeItIsPassedOn() throws IOException {
+        byte[] document = XXE_DOCUMENT.getBytes(StandardCharsets.UTF_8);
+        XMLEntityAttackGuardInputStream guardedStream = guard(document);
+        int doctypeStart = XXE_DOCUMENT.indexOf("<!DOCTYPE");
+
+        for (int i = 0; i <= doctypeStart + 1; i++) {
+            assertEquals(document[i], guardedStream.read());
+        }
+        assertThrows(IOException.class, guardedStream::read);
+    }
+
+    @Test
+    void contentOutsideMarkupIsRejected() {
+        assertRejected("Hello".getBytes(StandardCharsets.UTF_8), "Content is not allowed in prolog");
+    }
+
+    @Test
+    void documentWithoutRootElementIsRejected() {
+        assertRejected(new byte[0], "Premature end of file");
+        assertRejected("<?xml version=\"1.0\"?>".getBytes(StandardCharsets.UTF_8), "Premature end of file");
+    }
+
+    @Test
+    void violationIsReportedEvenIfParserIgnoresReadFailure() {
+        InputStream document = new ByteArrayInputStream(XXE_DOCUMENT.getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(MalformedDocumentException.class, () -> XMLEntityAttackValidator.parseAgainstXMLEntityAttacks(document, guardedStream -> {
+            try {
+                return IOUtils.toByteArray(guardedStream);
+            } catch (IOException e) {
+                return null;
+            }
+        }));
+    }
+
+    private static String parseText(InputStream document) {
+        StringBuilder text = new StringBuilder();
+        try {
+            SAXParserFactory.newInstance().newSAXParser().parse(document, new DefaultHandler() {
+                @Override
+                public void characters(char[] ch, int start, int length) {
+                    text.append(ch, start, length);
+                }
+            });
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return text.toString();
+    }
+
+    private static void assertRejected(byte[] document, String expectedMessage) {
+        XMLEntityAttackGuardInputStream guardedStream = guard(document);
+
+        IOException exception = assertThrows(IOException.class, () -> IOUtils.toByteArray(guardedStream));
+        assertEquals(expectedMessage, exception.getMessage());
+        assertEquals(expectedMessage, guardedStream.getViolation().getMessage());
+    }
+
+    private static XMLEntityAttackGuardInputStream guard(byte[] document) {
+        return new XMLEntityAttackGuardInputStream(new ByteArrayInputStream(document));
+    }
+}
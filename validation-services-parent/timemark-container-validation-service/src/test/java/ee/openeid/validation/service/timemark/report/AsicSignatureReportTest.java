@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.validation.service.timemark.report;
+
+import eu.europa.esig.dss.diagnostic.DiagnosticData;
+import eu.europa.esig.dss.diagnostic.SignatureWrapper;
+import eu.europa.esig.dss.diagnostic.TimestampWrapper;
+import eu.europa.esig.dss.enumerations.Indication;
+import eu.europa.esig.dss.enumerations.SignatureQualification;
+import eu.europa.esig.dss.enumerations.SubIndication;
+import eu.europa.esig.dss.enumerations.TimestampType;
+import eu.europa.esig.dss.simplereport.SimpleReport;
+import eu.europa.esig.dss.validation.reports.Reports;
+import org.digidoc4j.impl.asic.asice.AsicESignature;
+import org.digidoc4j.impl.asic.xades.validation.XadesValidationResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AsicSignatureReportTest {
+
+    private static final String SIGNATURE_ID = "S-123";
+
+    private AsicESignature signature;
+    private Reports reports;
+    private SimpleReport simpleReport;
+
+    @BeforeEach
+    void setUp() {
+        signature = mock(AsicESignature.class);
+        reports = mock(Reports.class);
+        simpleReport = mock(SimpleReport.class);
+        XadesValidationResult xadesValidationResult = mock(XadesValidationResult.class);
+        when(signature.getUniqueId()).thenReturn(SIGNATURE_ID);
+        when(signature.getDssValidationReport()).thenReturn(xadesValidationResult);
+        when(xadesValidationResult.getReports()).thenReturn(reports);
+        when(reports.getSimpleReport()).thenReturn(simpleReport);
+    }
+
+    @Test
+    void simpleReportValuesAreLookedUpOnce() {
+        when(simpleReport.getIndication(SIGNATURE_ID)).thenReturn(Indication.INDETERMINATE);
+        when(simpleReport.getSubIndication(SIGNATURE_ID)).thenReturn(SubIndication.TRY_LATER);
+        when(simpleReport.getSignatureQualification(SIGNATURE_ID)).thenReturn(SignatureQualification.QESIG);
+
+        AsicSignatureReport signatureReport = new AsicSignatureReport(signature);
+        signatureReport.getIndication();
+        signatureReport.getSubIndication();
+
+        assertEquals(Indication.INDETERMINATE, signatureReport.getIndication());
+        assertEquals(SubIndication.TRY_LATER, signatureReport.getSubIndication());
+        assertEquals(SignatureQualification.QESIG, signatureReport.getSignatureQualification());
+        verify(signature, times(1)).getDssValidationReport();
+        verify(simpleReport, times(1)).getIndication(SIGNATURE_ID);
+    }
+
+    @Test
+    void bestSignatureTimestampIsEarliestAndResolvedOnce() {
+        TimestampWrapper earlier = mockTimestamp(1000L);
+        TimestampWrapper later = mockTimestamp(2000L);
+        SignatureWrapper signatureWrapper = mock(SignatureWrapper.class);
+        when(signatureWrapper.getTimestampListByType(TimestampType.SIGNATURE_TIMESTAMP)).thenReturn(Arrays.asList(later, earlier));
+        DiagnosticData diagnosticData = mock(DiagnosticData.class);
+        when(diagnosticData.getSignatureById(SIGNATURE_ID)).thenReturn(signatureWrapper);
+        when(reports.getDiagnosticData()).thenReturn(diagnosticData);
+
+        AsicSignatureReport signatureReport = new AsicSignatureReport(signature);
+
+        assertSame(earlier, signatureReport.getBestSignatureTimestamp());
+        assertSame(earlier, signatureReport.getBestSignatureTimestamp());
+        verify(diagnosticData, times(1)).getSignatureById(SIGNATURE_ID);
+    }
+
+    private static TimestampWrapper mockTimestamp(long productionTime) {
+        TimestampWrapper timestamp = mock(TimestampWrapper.class);
+        when(timestamp.getProductionTime()).thenReturn(new Date(productionTime));
+        return timestamp;
+    }
+}
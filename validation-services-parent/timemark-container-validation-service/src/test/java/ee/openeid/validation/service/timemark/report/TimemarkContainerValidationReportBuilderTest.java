@@ -0,0 +1,110 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.validation.service.timemark.report;
+
+import ee.openeid.siva.validation.document.ValidationDocument;
+import ee.openeid.siva.validation.service.signature.policy.properties.ValidationPolicy;
+import org.digidoc4j.Container;
+import org.digidoc4j.Signature;
+import org.digidoc4j.ValidationResult;
+import org.digidoc4j.exceptions.DigiDoc4JException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TimemarkContainerValidationReportBuilderTest {
+
+    @Test
+    void eachSignatureIsValidatedOnceWhenBuildingReport() {
+        Signature firstSignature = mockSignature("S0");
+        Signature secondSignature = mockSignature("S1");
+        Container container = mock(Container.class);
+        when(container.getSignatures()).thenReturn(Arrays.asList(firstSignature, secondSignature));
+
+        Map<String, ValidationResult> signatureValidationResults = TimemarkContainerValidationReportBuilder.collectSignatureValidationResults(container);
+        new AsicContainerValidationReportBuilder(container, mock(ValidationDocument.class), new ValidationPolicy(),
+                mock(ValidationResult.class), signatureValidationResults, true);
+
+        verify(firstSignature, times(1)).validateSignature();
+        verify(secondSignature, times(1)).validateSignature();
+    }
+
+    @Test
+    void collectedResultsAreKeyedBySignatureUniqueId() {
+        Signature signature = mockSignature("S0");
+        ValidationResult signatureValidationResult = mock(ValidationResult.class);
+        when(signature.validateSignature()).thenReturn(signatureValidationResult);
+        Container container = mock(Container.class);
+        when(container.getSignatures()).thenReturn(Arrays.asList(signature));
+
+        Map<String, ValidationResult> signatureValidationResults = TimemarkContainerValidationReportBuilder.collectSignatureValidationResults(container);
+
+        assertEquals(1, signatureValidationResults.size());
+        assertSame(signatureValidationResult, signatureValidationResults.get("S0"));
+    }
+
+    @Test
+    void containerMessagesReportedUnderSignaturesAreRemovedFromContainerResult() {
+        Map<String, ValidationResult> signatureValidationResults = new HashMap<>();
+        List<DigiDoc4JException> containerErrors = new ArrayList<>();
+        List<DigiDoc4JException> containerWarnings = new ArrayList<>();
+        for (int signatureIndex = 0; signatureIndex < 100; signatureIndex++) {
+            List<DigiDoc4JException> signatureErrors = new ArrayList<>();
+            for (int errorIndex = 0; errorIndex < 20; errorIndex++) {
+                String message = "Signature " + signatureIndex + " error " + errorIndex;
+                signatureErrors.add(new DigiDoc4JException(message));
+                containerErrors.add(new DigiDoc4JException(message));
+            }
+            ValidationResult signatureValidationResult = mock(ValidationResult.class);
+            when(signatureValidationResult.getErrors()).thenReturn(signatureErrors);
+            when(signatureValidationResult.getWarnings()).thenReturn(Arrays.asList(new DigiDoc4JException("Signature warning")));
+            signatureValidationResults.put("S" + signatureIndex, signatureValidationResult);
+        }
+        containerErrors.add(new DigiDoc4JException("Container level error"));
+        containerWarnings.add(new DigiDoc4JException("Signature warning"));
+        containerWarnings.add(new DigiDoc4JException("Container level warning"));
+        ValidationResult containerValidationResult = mock(ValidationResult.class);
+        when(containerValidationResult.getErrors()).thenReturn(containerErrors);
+        when(containerValidationResult.getWarnings()).thenReturn(containerWarnings);
+
+        new AsicContainerValidationReportBuilder(mock(Container.class), mock(ValidationDocument.class), new ValidationPolicy(),
+                containerValidationResult, signatureValidationResults, true);
+
+        assertEquals(1, containerErrors.size());
+        assertEquals("Container level error", containerErrors.get(0).getMessage());
+        assertEquals(1, containerWarnings.size());
+        assertEquals("Container level warning", containerWarnings.get(0).getMessage());
+    }
+
+    private static Signature mockSignature(String uniqueId) {
+        Signature signature = mock(Signature.class);
+        when(signature.getUniqueId()).thenReturn(uniqueId);
+        when(signature.validateSignature()).thenReturn(mock(ValidationResult.class));
+        return signature;
+    }
+}
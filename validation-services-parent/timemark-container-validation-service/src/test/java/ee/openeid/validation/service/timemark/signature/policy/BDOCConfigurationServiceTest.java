@@ -0,0 +1,70 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+
+package ee.openeid.validation.service.timemark.signature.policy;
+
+import ee.openeid.siva.validation.service.signature.policy.properties.ConstraintDefinedPolicy;
+import ee.openeid.validation.service.timemark.configuration.BDOCSignaturePolicyProperties;
+import org.digidoc4j.Configuration;
+import org.digidoc4j.TSLCertificateSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BDOCConfigurationServiceTest {
+
+    @Mock
+    private BDOCSignaturePolicyService policyService;
+
+    @Mock
+    private Configuration configuration;
+
+    @Mock
+    private Configuration policyConfiguration;
+
+    @Mock
+    private ExecutorService threadExecutor;
+
+    @Mock
+    private TSLCertificateSource trustedListSource;
+
+    @Test
+    void policyConfigurationsShareThreadExecutorAndTrustedListOfBaseConfiguration() {
+        ConstraintDefinedPolicy policy = new ConstraintDefinedPolicy();
+        policy.setName("POLv4");
+        BDOCSignaturePolicyProperties properties = new BDOCSignaturePolicyProperties();
+        properties.setAbstractPolicies(Collections.singletonList(policy));
+        given(configuration.copy()).willReturn(policyConfiguration);
+        given(configuration.getThreadExecutor()).willReturn(threadExecutor);
+        given(policyService.getAbsolutePath("POLv4")).willReturn("/tmp/POLv4.xml");
+
+        BDOCConfigurationService configurationService = new BDOCConfigurationService(policyService, properties, configuration, trustedListSource);
+        configurationService.loadAllBDOCConfigurations();
+
+        verify(policyConfiguration).setThreadExecutor(threadExecutor);
+        verify(policyConfiguration).setTSL(trustedListSource);
+        assertSame(policyConfiguration, configurationService.loadPolicyConfiguration("POLv4").getConfiguration());
+    }
+}
@@ -18,6 +18,7 @@ package ee.openeid.validation.service.timestamptoken;
 
 import ee.openeid.siva.validation.configuration.ReportConfigurationProperties;
 import ee.openeid.siva.validation.document.ValidationDocument;
+import ee.openeid.siva.validation.document.container.ZipContainerIndex;
 import ee.openeid.siva.validation.document.report.Error;
 import ee.openeid.siva.validation.document.report.Reports;
 import ee.openeid.siva.validation.document.report.TimeStampTokenValidationData;
@@ -28,7 +29,6 @@ import ee.openeid.siva.validation.service.signature.policy.SignaturePolicyServic
 import ee.openeid.siva.validation.service.signature.policy.properties.ValidationPolicy;
 import ee.openeid.validation.service.timestamptoken.validator.report.TimeStampTokenValidationReportBuilder;
 import eu.europa.esig.dss.enumerations.DigestAlgorithm;
-import eu.europa.esig.dss.model.InMemoryDocument;
 import eu.europa.esig.dss.spi.DSSUtils;
 import lombok.SneakyThrows;
 import org.bouncycastle.asn1.ASN1Encodable;
@@ -43,13 +43,13 @@ import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.tsp.TSPException;
 import org.bouncycastle.tsp.TimeStampToken;
 import org.bouncycastle.util.Selector;
-import org.digidoc4j.utils.ZipEntryInputStream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.security.Security;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateFactory;
@@ -59,8 +59,7 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.stream.Collectors;
 
 import static ee.openeid.siva.validation.document.report.builder.ReportBuilderUtils.emptyWhenNull;
 import static ee.openeid.siva.validation.document.report.builder.ReportBuilderUtils.getDateFormatterWithGMTZone;
@@ -86,7 +85,7 @@ public class TimeStampTokenValidationService implements ValidationService {
     @Override
     public Reports validateDocument(ValidationDocument validationDocument) {
 
-        List<InMemoryDocument> documents = getFilesFromContainer(validationDocument);
+        List<ZipContainerIndex.Entry> documents = getFilesFromContainer(validationDocument);
         validateContainer(documents);
         TimeStampToken timeStampToken = getTimeStamp(documents);
         List<Error> errors = validateTimeStamp(documents, timeStampToken);
@@ -95,8 +94,7 @@ public class TimeStampTokenValidationService implements ValidationService {
         return reportBuilder.build();
     }
 
-    private void validateContainer(List<InMemoryDocument> documents) {
-        documents.removeIf(d -> d.getName().equals(META_INF_FOLDER));
+    private void validateContainer(List<ZipContainerIndex.Entry> documents) {
         long dataFileCount = documents.stream()
                 .filter(d -> !d.getName().startsWith(META_INF_FOLDER))
                 .filter(d -> !d.getName().endsWith(MIME_TYPE)).count();
@@ -121,7 +119,7 @@ public class TimeStampTokenValidationService implements ValidationService {
         return path.substring(path.lastIndexOf("/") + 1);
     }
 
-    private TimeStampToken getTimeStamp(List<InMemoryDocument> documents) {
+    private TimeStampToken getTimeStamp(List<ZipContainerIndex.Entry> documents) {
 
         try {
             CMSSignedData cms = new CMSSignedData(documents.stream()
@@ -132,15 +130,15 @@ public class TimeStampTokenValidationService implements ValidationService {
         }
     }
 
-    private List<Error> validateTimeStamp(List<InMemoryDocument> documents, TimeStampToken timeStampToken) {
+    private List<Error> validateTimeStamp(List<ZipContainerIndex.Entry> documents, TimeStampToken timeStampToken) {
         List<Error> errors = new ArrayList<>();
         boolean isSignatureValid = isSignatureValid(timeStampToken);
         if (!isSignatureValid) {
             errors.add(mapError("Signature not intact"));
         }
-        byte[] dataFile = documents.stream()
+        ZipContainerIndex.Entry dataFile = documents.stream()
                 .filter(d -> !d.getName().startsWith(META_INF_FOLDER))
-                .filter(d -> !d.getName().endsWith(MIME_TYPE)).findAny().orElseThrow(IllegalArgumentException::new).getBytes();
+                .filter(d -> !d.getName().endsWith(MIME_TYPE)).findAny().orElseThrow(IllegalArgumentException::new);
         boolean isMessageImprintsValid = isMessageImprintsValid(dataFile, timeStampToken);
         if (isSignatureValid && !isMessageImprintsValid) {
             errors.add(mapError("Signature not intact"));
@@ -178,25 +176,20 @@ public class TimeStampTokenValidationService implements ValidationService {
         return error;
     }
 
-    private boolean isMessageImprintsValid(byte[] dataFile, TimeStampToken timeStampToken) {
-        final byte[] digestValue = DSSUtils.digest(DigestAlgorithm.SHA256, dataFile);
-        return Arrays.equals(timeStampToken.getTimeStampInfo().getMessageImprintDigest(), digestValue);
-    }
-
-    private List<InMemoryDocument> getFilesFromContainer(ValidationDocument validationDocument) {
-        List<InMemoryDocument> documents = new ArrayList<>();
-        try (ZipInputStream zipStream = new ZipInputStream(new ByteArrayInputStream(validationDocument.getBytes()))) {
-
-            ZipEntry entry;
-            while ((entry = zipStream.getNextEntry()) != null) {
-                try (ZipEntryInputStream zipEntryInputStream = new ZipEntryInputStream(zipStream, null)) {
-                    documents.add(new InMemoryDocument(zipEntryInputStream, entry.getName()));
-                }
-            }
+    private boolean isMessageImprintsValid(ZipContainerIndex.Entry dataFile, TimeStampToken timeStampToken) {
+        final byte[] digestValue;
+        try (InputStream dataFileStream = dataFile.openStream()) {
+            digestValue = DSSUtils.digest(DigestAlgorithm.SHA256, dataFileStream);
         } catch (IOException e) {
             throw new MalformedDocumentException(e);
         }
-        return documents;
+        return Arrays.equals(timeStampToken.getTimeStampInfo().getMessageImprintDigest(), digestValue);
+    }
+
+    private List<ZipContainerIndex.Entry> getFilesFromContainer(ValidationDocument validationDocument) {
+        return ZipContainerIndex.of(validationDocument).getEntries().stream()
+                .filter(entry -> !entry.getName().equals(META_INF_FOLDER))
+                .collect(Collectors.toList());
     }
 
     @Autowired
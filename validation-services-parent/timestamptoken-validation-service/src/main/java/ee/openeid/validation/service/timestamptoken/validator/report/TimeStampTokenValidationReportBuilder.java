@@ -58,9 +58,9 @@ public class TimeStampTokenValidationReportBuilder {
     public Reports build() {
         ValidationConclusion validationConclusion = getValidationConclusion();
         SimpleReport simpleReport = new SimpleReport(validationConclusion);
-        DetailedReport detailedReport = new DetailedReport(validationConclusion, null);
-        DiagnosticReport diagnosticReport = new DiagnosticReport(validationConclusion, null);
-        return new Reports(simpleReport, detailedReport, diagnosticReport);
+        return Reports.of(validationDocument.getReportType(), simpleReport,
+                () -> new DetailedReport(validationConclusion, null),
+                () -> new DiagnosticReport(validationConclusion, null));
     }
 
     private ValidationConclusion getValidationConclusion() {
@@ -71,7 +71,7 @@ public class TimeStampTokenValidationReportBuilder {
         List<TimeStampTokenValidationData> timeStampTokenValidationDataList = new ArrayList<>();
         timeStampTokenValidationDataList.add(generateTimeStampTokenData());
         validationConclusion.setTimeStampTokens(timeStampTokenValidationDataList);
-        validationConclusion.setValidatedDocument(ReportBuilderUtils.createValidatedDocument(isReportSignatureEnabled, validationDocument.getName(), validationDocument.getBytes()));
+        validationConclusion.setValidatedDocument(ReportBuilderUtils.createValidatedDocument(isReportSignatureEnabled, validationDocument));
         return validationConclusion;
     }
 
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.tsl;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by {@link TSLLoader} every time a trusted list (re)load completes.
+ * The generation increases with each load, so results derived from an older
+ * trusted list can be told apart from current ones.
+ */
+public class TSLLoadedEvent extends ApplicationEvent {
+
+    private final long generation;
+
+    public TSLLoadedEvent(Object source, long generation) {
+        super(source);
+        this.generation = generation;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+}
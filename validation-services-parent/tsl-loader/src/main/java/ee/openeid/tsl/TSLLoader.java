@@ -39,12 +39,14 @@ import org.digidoc4j.utils.ResourceUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component("tslLoader")
 public class TSLLoader {
@@ -56,7 +58,8 @@ public class TSLLoader {
     private TrustedListsCertificateSource trustedListSource;
     private KeyStoreCertificateSource keyStoreCertificateSource;
     private ProxyConfig proxyConfig;
-
+    private ApplicationEventPublisher eventPublisher;
+    private final AtomicLong generation = new AtomicLong();
 
     @PostConstruct
     public void init() {
@@ -86,6 +89,14 @@ public class TSLLoader {
             tslValidationJob.onlineRefresh();
             LOGGER.info("Finished loading TSL over the network");
         }
+        eventPublisher.publishEvent(new TSLLoadedEvent(this, generation.incrementAndGet()));
+    }
+
+    /**
+     * @return number of completed trusted list loads, increases every time {@link #loadTSL()} finishes
+     */
+    public long getGeneration() {
+        return generation.get();
     }
 
     public LOTLSource europeanLOTL() {
@@ -163,5 +174,10 @@ public class TSLLoader {
         this.trustedListSource = trustedListSource;
     }
 
+    @Autowired
+    public void setEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
 
 }
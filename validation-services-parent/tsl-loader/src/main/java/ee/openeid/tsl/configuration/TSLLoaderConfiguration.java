@@ -17,8 +17,8 @@
 package ee.openeid.tsl.configuration;
 
 import ee.openeid.tsl.keystore.DSSKeyStoreFactoryBean;
-import eu.europa.esig.dss.spi.tsl.TrustedListsCertificateSource;
 import eu.europa.esig.dss.spi.x509.KeyStoreCertificateSource;
+import org.digidoc4j.impl.asic.tsl.TSLCertificateSourceImpl;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -68,9 +68,13 @@ public class TSLLoaderConfiguration {
         return new TSLLoaderConfigurationProperties();
     }
 
+    /**
+     * Trusted list source filled and refreshed by {@link ee.openeid.tsl.TSLLoader}. It is shared by DSS and DigiDoc4J
+     * validation, so the trusted lists are downloaded and parsed once.
+     */
     @Bean
-    public TrustedListsCertificateSource trustedListSource(KeyStoreCertificateSource keyStoreCertificateSource) {
-        return new TrustedListsCertificateSource();
+    public TSLCertificateSourceImpl trustedListSource(KeyStoreCertificateSource keyStoreCertificateSource) {
+        return new TSLCertificateSourceImpl();
     }
 
 }
@@ -23,13 +23,16 @@ import eu.europa.esig.dss.tsl.job.TLValidationJob;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,6 +52,8 @@ public class TSLLoaderTest {
     private TrustedListsCertificateSource trustedListSource;
     @Mock
     private KeyStoreCertificateSource keyStoreCertificateSource;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private TSLLoader tslLoader;
@@ -94,4 +99,16 @@ public class TSLLoaderTest {
         verify(tslValidationJob, never()).offlineRefresh();
     }
 
+    @Test
+    public void whenTSLIsLoadedThenLoadedEventWithIncreasingGenerationIsPublished() {
+        initCacheLoadingConfigurationProperties();
+        tslLoader.loadTSL();
+
+        ArgumentCaptor<TSLLoadedEvent> eventCaptor = ArgumentCaptor.forClass(TSLLoadedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(eventCaptor.capture());
+        assertEquals(1, eventCaptor.getAllValues().get(0).getGeneration());
+        assertEquals(2, eventCaptor.getAllValues().get(1).getGeneration());
+        assertEquals(2, tslLoader.getGeneration());
+    }
+
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.validation.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties("siva.document")
+public class DocumentContentProperties {
+
+    /**
+     * Documents of at least this size are kept off the heap while they are validated.
+     */
+    private DataSize offHeapThreshold = DataSize.ofMegabytes(10);
+
+    /**
+     * How documents above the threshold are stored.
+     */
+    private Storage storage = Storage.FILE;
+
+    /**
+     * Directory for temporary document files, defaults to the system temporary directory.
+     */
+    private String temporaryDirectory;
+
+    public enum Storage {
+        FILE,
+        MEMORY_MAPPED
+    }
+}
@@ -16,13 +16,32 @@
 
 package ee.openeid.siva.validation.document;
 
+import ee.openeid.siva.validation.document.container.ZipContainerIndex;
+import ee.openeid.siva.validation.document.content.DocumentContent;
+import ee.openeid.siva.validation.document.report.Reports;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
+import eu.europa.esig.dss.validation.executor.ValidationLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.List;
 
 @Data
 public class ValidationDocument {
 
+    /**
+     * Bytes of the document kept on the heap, {@code null} when the document is kept in {@link #content}.
+     * Use {@link #openStream()} for reading the document regardless of where it is kept.
+     */
     private byte[] bytes;
 
     private String name;
@@ -33,4 +52,83 @@ public class ValidationDocument {
 
     private List<Datafile> datafiles;
 
+    /**
+     * Report type requested by the client, {@code null} if all report types should be built.
+     */
+    private Reports.Type reportType;
+
+    /**
+     * Validation level requested by the client, {@code null} if the level of the signature policy should be used.
+     */
+    private ValidationLevel validationLevel;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ZipContainerIndex containerIndex;
+
+    /**
+     * Content of the document when it is not kept in {@link #bytes}, e.g. for large documents moved off the heap.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private DocumentContent content;
+
+    /**
+     * SHA-256 digest of the document, computed at most once and cleared whenever the document is replaced.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile byte[] sha256Digest;
+
+    public void setBytes(byte[] bytes) {
+        this.bytes = bytes;
+        sha256Digest = null;
+    }
+
+    public void setContent(DocumentContent content) {
+        this.content = content;
+        sha256Digest = null;
+    }
+
+    public InputStream openStream() {
+        if (bytes == null && content != null) {
+            return content.openStream();
+        }
+        return new ByteArrayInputStream(bytes);
+    }
+
+    /**
+     * Returns the SHA-256 digest of the document, hashing the document only if the digest is not known yet.
+     */
+    public byte[] getSha256Digest() {
+        byte[] digest = sha256Digest;
+        if (digest == null) {
+            digest = computeSha256Digest();
+            sha256Digest = digest;
+        }
+        return digest.clone();
+    }
+
+    /**
+     * Provides the SHA-256 digest of the document already computed elsewhere for this request, e.g. for request deduplication.
+     */
+    public void setSha256Digest(byte[] sha256Digest) {
+        this.sha256Digest = sha256Digest.clone();
+    }
+
+    private byte[] computeSha256Digest() {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance(DigestAlgorithm.SHA256.getJavaName());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(e);
+        }
+        try (InputStream document = new DigestInputStream(openStream(), messageDigest)) {
+            document.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return messageDigest.digest();
+    }
+
 }
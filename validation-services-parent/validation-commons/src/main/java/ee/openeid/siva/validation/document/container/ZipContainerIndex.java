@@ -0,0 +1,585 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.validation.document.container;
+
+import ee.openeid.siva.validation.document.ValidationDocument;
+import ee.openeid.siva.validation.document.content.DocumentContent;
+import ee.openeid.siva.validation.exception.MalformedDocumentException;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * Index of the entries of a ZIP-based container.
+ *
+ * Only the central directory of the container (entry names, sizes and offsets) is kept in the index. Each entry is
+ * inflated on demand from the bytes or the {@link DocumentContent} the index was built from, every time its content is
+ * requested, so the content of the entries is never held on the heap by the index itself. The index must therefore not
+ * be used after the content it was built from has been closed.
+ *
+ * While the index is built, the local file header of every entry is checked against the central directory and the
+ * entries are required to follow each other without gaps, so the index lists exactly the entries that are seen when
+ * the container is read sequentially with {@link java.util.zip.ZipInputStream}, as DSS and DigiDoc4J do. The same
+ * entry count and compression ratio limits that DSS applies when extracting containers are checked against the sizes
+ * recorded in the central directory, and an entry is never inflated beyond its recorded size.
+ */
+public final class ZipContainerIndex {
+
+    static final int MAX_ENTRY_COUNT = 1000;
+    static final long COMPRESSION_RATIO_THRESHOLD = 1_000_000;
+    static final long MAX_COMPRESSION_RATIO = 100;
+
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int DATA_DESCRIPTOR_SIGNATURE = 0x08074b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int LOCAL_FILE_HEADER_LENGTH = 30;
+    private static final int CENTRAL_DIRECTORY_HEADER_LENGTH = 46;
+    private static final int END_OF_CENTRAL_DIRECTORY_LENGTH = 22;
+    private static final int MAX_VARIABLE_FIELD_LENGTH = 0xffff;
+    private static final int SIGNATURE_LENGTH = 4;
+    private static final int DATA_DESCRIPTOR_LENGTH = 12;
+    private static final int ZIP64_ENTRY_COUNT = 0xffff;
+    private static final long ZIP64_SIZE = 0xffffffffL;
+    private static final int ENCRYPTED_FLAG = 1;
+    private static final int DATA_DESCRIPTOR_FLAG = 1 << 3;
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final List<Entry> entries;
+
+    private ZipContainerIndex(List<Entry> entries) {
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * Builds the index of the specified container. The entries of the index read their content from {@code container},
+     * which must not be modified while the index is in use.
+     *
+     * @param container bytes of the ZIP-based container
+     * @return index of the container entries, empty if the container is empty or an empty ZIP archive
+     * @throws MalformedDocumentException if the bytes do not represent a ZIP archive, the central directory does not
+     *                                    match the local file headers or the container exceeds the entry count or
+     *                                    compression ratio limits
+     */
+    public static ZipContainerIndex of(byte[] container) {
+        return of(() -> new ByteArrayInputStream(container), container.length);
+    }
+
+    /**
+     * Returns the index attached to the specified document, building and attaching it on first use. Documents kept
+     * off the heap are read from their content without reading them into memory as a whole.
+     *
+     * @param validationDocument document to get the container index for
+     * @return index of the document container entries
+     * @throws NullPointerException if the index has to be built and {@code validationDocument} contains no document
+     */
+    public static ZipContainerIndex of(ValidationDocument validationDocument) {
+        ZipContainerIndex containerIndex = validationDocument.getContainerIndex();
+        if (containerIndex == null) {
+            DocumentContent content = validationDocument.getContent();
+            containerIndex = content != null
+                    ? of(content::openStream, content.getSize())
+                    : of(Objects.requireNonNull(validationDocument.getBytes(), "No document bytes available"));
+            validationDocument.setContainerIndex(containerIndex);
+        }
+        return containerIndex;
+    }
+
+    private static ZipContainerIndex of(Supplier<InputStream> container, long containerLength) {
+        if (containerLength == 0) {
+            return new ZipContainerIndex(Collections.emptyList());
+        }
+        try {
+            EndOfCentralDirectory endOfCentralDirectory = EndOfCentralDirectory.find(container, containerLength);
+            List<Entry> entries = readCentralDirectory(container, endOfCentralDirectory);
+            checkCompressionRatio(entries, containerLength);
+            entries.sort(Comparator.comparingLong(entry -> entry.localHeaderOffset));
+            checkLocalFileHeaders(container, entries, endOfCentralDirectory.centralDirectoryOffset);
+            return new ZipContainerIndex(entries);
+        } catch (IOException e) {
+            throw new MalformedDocumentException(e);
+        }
+    }
+
+    /**
+     * @return entries of the container in the order they are stored in the container
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public Optional<Entry> findEntry(String name) {
+        return entries.stream()
+                .filter(entry -> entry.getName().equals(name))
+                .findFirst();
+    }
+
+    private static List<Entry> readCentralDirectory(Supplier<InputStream> container, EndOfCentralDirectory endOfCentralDirectory) throws IOException {
+        int entryCount = endOfCentralDirectory.entryCount;
+        if ((long) entryCount * (CENTRAL_DIRECTORY_HEADER_LENGTH + 3L * MAX_VARIABLE_FIELD_LENGTH) < endOfCentralDirectory.centralDirectorySize) {
+            throw new ZipException("Invalid central directory size");
+        }
+        ByteBuffer centralDirectory = littleEndian(readRange(container,
+                endOfCentralDirectory.centralDirectoryOffset, (int) endOfCentralDirectory.centralDirectorySize));
+        List<Entry> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; ++i) {
+            entries.add(readCentralDirectoryHeader(centralDirectory, container));
+        }
+        if (centralDirectory.hasRemaining()) {
+            throw new ZipException("Invalid central directory size");
+        }
+        return entries;
+    }
+
+    private static Entry readCentralDirectoryHeader(ByteBuffer centralDirectory, Supplier<InputStream> container) throws IOException {
+        if (centralDirectory.remaining() < CENTRAL_DIRECTORY_HEADER_LENGTH) {
+            throw new ZipException("Truncated central directory");
+        }
+        int start = centralDirectory.position();
+        if (centralDirectory.getInt(start) != CENTRAL_DIRECTORY_HEADER_SIGNATURE) {
+            throw new ZipException("Invalid central directory header signature");
+        }
+        int nameLength = unsignedShort(centralDirectory, start + 28);
+        int extraLength = unsignedShort(centralDirectory, start + 30);
+        int commentLength = unsignedShort(centralDirectory, start + 32);
+        if (centralDirectory.remaining() < CENTRAL_DIRECTORY_HEADER_LENGTH + nameLength + extraLength + commentLength) {
+            throw new ZipException("Truncated central directory");
+        }
+        byte[] name = new byte[nameLength];
+        centralDirectory.position(start + CENTRAL_DIRECTORY_HEADER_LENGTH);
+        centralDirectory.get(name);
+        centralDirectory.position(start + CENTRAL_DIRECTORY_HEADER_LENGTH + nameLength + extraLength + commentLength);
+
+        Entry entry = new Entry(container, name,
+                unsignedShort(centralDirectory, start + 8),
+                unsignedShort(centralDirectory, start + 10),
+                unsignedInt(centralDirectory, start + 16),
+                unsignedInt(centralDirectory, start + 20),
+                unsignedInt(centralDirectory, start + 24),
+                unsignedInt(centralDirectory, start + 42));
+        if (entry.compressedSize == ZIP64_SIZE || entry.size == ZIP64_SIZE || entry.localHeaderOffset == ZIP64_SIZE) {
+            throw new ZipException("ZIP64 containers are not supported");
+        }
+        if ((entry.flags & ENCRYPTED_FLAG) != 0) {
+            throw new ZipException("Encrypted container entries are not supported");
+        }
+        if (entry.method == ZipEntry.STORED) {
+            if ((entry.flags & DATA_DESCRIPTOR_FLAG) != 0 || entry.compressedSize != entry.size) {
+                throw new ZipException("Invalid stored container entry: " + entry.name);
+            }
+        } else if (entry.method != ZipEntry.DEFLATED) {
+            throw new ZipException("Unsupported compression method of container entry: " + entry.name);
+        }
+        return entry;
+    }
+
+    private static void checkCompressionRatio(List<Entry> entries, long containerLength) throws ZipException {
+        long totalSize = 0;
+        for (Entry entry : entries) {
+            totalSize += entry.size;
+        }
+        if (totalSize > COMPRESSION_RATIO_THRESHOLD && totalSize / containerLength > MAX_COMPRESSION_RATIO) {
+            throw new ZipException("Container compression ratio exceeds the allowed maximum");
+        }
+    }
+
+    private static void checkLocalFileHeaders(Supplier<InputStream> container, List<Entry> entries, long centralDirectoryOffset) throws IOException {
+        try (InputStream inputStream = container.get()) {
+            long position = 0;
+            for (Entry entry : entries) {
+                if (entry.localHeaderOffset != position) {
+                    throw new ZipException("Container entries are not stored contiguously");
+                }
+                position = checkLocalFileHeader(inputStream, entry);
+            }
+            if (position != centralDirectoryOffset) {
+                throw new ZipException("Container entries are not stored contiguously");
+            }
+        }
+    }
+
+    /**
+     * Reads the local file header, the data and the data descriptor of the specified entry from {@code inputStream}
+     * positioned at the start of the entry.
+     *
+     * @return offset of the first byte following the entry
+     */
+    private static long checkLocalFileHeader(InputStream inputStream, Entry entry) throws IOException {
+        ByteBuffer header = littleEndian(readFully(inputStream, LOCAL_FILE_HEADER_LENGTH));
+        if (header.getInt(0) != LOCAL_FILE_HEADER_SIGNATURE) {
+            throw new ZipException("Invalid local file header signature of container entry: " + entry.name);
+        }
+        boolean hasDataDescriptor = (unsignedShort(header, 6) & DATA_DESCRIPTOR_FLAG) != 0;
+        if (hasDataDescriptor != ((entry.flags & DATA_DESCRIPTOR_FLAG) != 0) || unsignedShort(header, 8) != entry.method) {
+            throw new ZipException("Local file header does not match central directory for container entry: " + entry.name);
+        }
+        if (!hasDataDescriptor) {
+            checkRecordedValues(entry, unsignedInt(header, 14), unsignedInt(header, 18), unsignedInt(header, 22));
+        }
+        int extraLength = unsignedShort(header, 28);
+        if (!Arrays.equals(readFully(inputStream, unsignedShort(header, 26)), entry.nameBytes)) {
+            throw new ZipException("Local file header does not match central directory for container entry: " + entry.name);
+        }
+        skipFully(inputStream, extraLength);
+        entry.dataOffset = entry.localHeaderOffset + LOCAL_FILE_HEADER_LENGTH + entry.nameBytes.length + extraLength;
+        skipFully(inputStream, entry.compressedSize);
+        long position = entry.dataOffset + entry.compressedSize;
+        if (hasDataDescriptor) {
+            position += checkDataDescriptor(inputStream, entry);
+        }
+        return position;
+    }
+
+    /**
+     * @return length of the data descriptor, with or without its optional signature
+     */
+    private static int checkDataDescriptor(InputStream inputStream, Entry entry) throws IOException {
+        int length = DATA_DESCRIPTOR_LENGTH;
+        long crc = unsignedInt(littleEndian(readFully(inputStream, SIGNATURE_LENGTH)), 0);
+        if (crc == DATA_DESCRIPTOR_SIGNATURE) {
+            crc = unsignedInt(littleEndian(readFully(inputStream, SIGNATURE_LENGTH)), 0);
+            length += SIGNATURE_LENGTH;
+        }
+        ByteBuffer sizes = littleEndian(readFully(inputStream, 2 * SIGNATURE_LENGTH));
+        checkRecordedValues(entry, crc, unsignedInt(sizes, 0), unsignedInt(sizes, 4));
+        return length;
+    }
+
+    private static void checkRecordedValues(Entry entry, long crc, long compressedSize, long size) throws ZipException {
+        if (crc != entry.crc || compressedSize != entry.compressedSize || size != entry.size) {
+            throw new ZipException("Local file header does not match central directory for container entry: " + entry.name);
+        }
+    }
+
+    private static byte[] readRange(Supplier<InputStream> container, long offset, int length) throws IOException {
+        try (InputStream inputStream = container.get()) {
+            skipFully(inputStream, offset);
+            return readFully(inputStream, length);
+        }
+    }
+
+    private static byte[] readFully(InputStream inputStream, int length) throws IOException {
+        byte[] bytes = inputStream.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Unexpected end of container");
+        }
+        return bytes;
+    }
+
+    private static void skipFully(InputStream inputStream, long length) throws IOException {
+        long remaining = length;
+        while (remaining > 0) {
+            long skipped = inputStream.skip(remaining);
+            if (skipped <= 0) {
+                if (inputStream.read() < 0) {
+                    throw new EOFException("Unexpected end of container");
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static ByteBuffer littleEndian(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int unsignedShort(ByteBuffer buffer, int index) {
+        return Short.toUnsignedInt(buffer.getShort(index));
+    }
+
+    private static long unsignedInt(ByteBuffer buffer, int index) {
+        return Integer.toUnsignedLong(buffer.getInt(index));
+    }
+
+    private static final class EndOfCentralDirectory {
+
+        private final long position;
+        private final int entryCount;
+        private final long centralDirectorySize;
+        private final long centralDirectoryOffset;
+
+        private EndOfCentralDirectory(long position, ByteBuffer record) throws ZipException {
+            this.position = position;
+            this.entryCount = unsignedShort(record, 10);
+            this.centralDirectorySize = unsignedInt(record, 12);
+            this.centralDirectoryOffset = unsignedInt(record, 16);
+            if (entryCount == ZIP64_ENTRY_COUNT || centralDirectorySize == ZIP64_SIZE || centralDirectoryOffset == ZIP64_SIZE) {
+                throw new ZipException("ZIP64 containers are not supported");
+            }
+            if (entryCount > MAX_ENTRY_COUNT) {
+                throw new ZipException("Too many entries in container");
+            }
+            if (unsignedShort(record, 4) != 0 || unsignedShort(record, 6) != 0 || unsignedShort(record, 8) != entryCount) {
+                throw new ZipException("Multi-volume containers are not supported");
+            }
+            if (centralDirectoryOffset + centralDirectorySize != position) {
+                throw new ZipException("Invalid central directory location");
+            }
+        }
+
+        /**
+         * Looks for the end of central directory record from the end of the container, allowing for an archive
+         * comment of up to the maximum length.
+         */
+        private static EndOfCentralDirectory find(Supplier<InputStream> container, long containerLength) throws IOException {
+            int tailLength = (int) Math.min(containerLength, END_OF_CENTRAL_DIRECTORY_LENGTH + MAX_VARIABLE_FIELD_LENGTH);
+            ByteBuffer tail = littleEndian(readRange(container, containerLength - tailLength, tailLength));
+            for (int i = tailLength - END_OF_CENTRAL_DIRECTORY_LENGTH; i >= 0; --i) {
+                if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE
+                        && i + END_OF_CENTRAL_DIRECTORY_LENGTH + unsignedShort(tail, i + 20) == tailLength) {
+                    ByteBuffer record = littleEndian(Arrays.copyOfRange(tail.array(), i, i + END_OF_CENTRAL_DIRECTORY_LENGTH));
+                    return new EndOfCentralDirectory(containerLength - tailLength + i, record);
+                }
+            }
+            throw new ZipException("Document is not a ZIP archive");
+        }
+    }
+
+    /**
+     * An entry of the indexed container.
+     */
+    public static final class Entry {
+
+        private final Supplier<InputStream> container;
+        private final byte[] nameBytes;
+        private final String name;
+        private final int flags;
+        private final int method;
+        private final long crc;
+        private final long compressedSize;
+        private final long size;
+        private final long localHeaderOffset;
+        private long dataOffset;
+
+        private Entry(Supplier<InputStream> container, byte[] nameBytes, int flags, int method,
+                      long crc, long compressedSize, long size, long localHeaderOffset) throws IOException {
+            this.container = container;
+            this.nameBytes = nameBytes;
+            this.name = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(nameBytes))
+                    .toString();
+            this.flags = flags;
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isDirectory() {
+            return name.endsWith("/");
+        }
+
+        /**
+         * @return uncompressed size of the entry content as recorded in the central directory
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Opens a stream inflating the entry from the container. The stream fails with a {@link ZipException} if the
+         * inflated content does not match the size or the CRC recorded in the central directory.
+         *
+         * @return stream of the uncompressed entry content, to be closed by the caller
+         * @throws IOException if the container cannot be read
+         */
+        public InputStream openStream() throws IOException {
+            InputStream inputStream = container.get();
+            try {
+                skipFully(inputStream, dataOffset);
+            } catch (IOException e) {
+                inputStream.close();
+                throw e;
+            }
+            InputStream data = new BoundedInputStream(inputStream, compressedSize);
+            if (method == ZipEntry.STORED) {
+                return new EntryInputStream(data, null, this);
+            }
+            Inflater inflater = new Inflater(true);
+            // The inflater needs an extra byte past the end of the raw deflate data, the same as for ZipFile
+            InputStream paddedData = new SequenceInputStream(data, new ByteArrayInputStream(new byte[1]));
+            return new EntryInputStream(new InflaterInputStream(paddedData, inflater, READ_BUFFER_SIZE), inflater, this);
+        }
+
+        /**
+         * Inflates the entry from the container. The content is not kept by the index, each call inflates it again.
+         *
+         * @return uncompressed content of the entry
+         * @throws MalformedDocumentException if the entry cannot be inflated
+         */
+        public byte[] getBytes() {
+            try (InputStream inputStream = openStream()) {
+                return inputStream.readAllBytes();
+            } catch (IOException e) {
+                throw new MalformedDocumentException(e);
+            }
+        }
+
+        /**
+         * @return {@link ZipEntry} describing the entry as recorded in the central directory
+         */
+        public ZipEntry toZipEntry() {
+            ZipEntry zipEntry = new ZipEntry(name);
+            zipEntry.setMethod(method);
+            zipEntry.setCrc(crc);
+            zipEntry.setSize(size);
+            zipEntry.setCompressedSize(compressedSize);
+            return zipEntry;
+        }
+    }
+
+    private static final class BoundedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        private BoundedInputStream(InputStream inputStream, long length) {
+            super(inputStream);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] buffer = new byte[1];
+            return read(buffer, 0, 1) < 0 ? -1 : Byte.toUnsignedInt(buffer[0]);
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int count = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (count < 0) {
+                throw new EOFException("Unexpected end of container");
+            }
+            remaining -= count;
+            return count;
+        }
+
+        @Override
+        public long skip(long length) throws IOException {
+            long skipped = super.skip(Math.min(length, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    private static final class EntryInputStream extends FilterInputStream {
+
+        private final Inflater inflater;
+        private final Entry entry;
+        private final CRC32 crc = new CRC32();
+        private long count;
+
+        private EntryInputStream(InputStream inputStream, Inflater inflater, Entry entry) {
+            super(inputStream);
+            this.inflater = inflater;
+            this.entry = entry;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] buffer = new byte[1];
+            return read(buffer, 0, 1) < 0 ? -1 : Byte.toUnsignedInt(buffer[0]);
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read < 0) {
+                if (count != entry.size || crc.getValue() != entry.crc) {
+                    throw new ZipException("Invalid content of container entry: " + entry.name);
+                }
+                return read;
+            }
+            count += read;
+            if (count > entry.size) {
+                throw new ZipException("Content of container entry exceeds its recorded size: " + entry.name);
+            }
+            crc.update(buffer, offset, read);
+            return read;
+        }
+
+        @Override
+        public long skip(long length) throws IOException {
+            byte[] buffer = new byte[(int) Math.min(length, READ_BUFFER_SIZE)];
+            long skipped = 0;
+            while (skipped < length) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, length - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (inflater != null) {
+                    inflater.end();
+                }
+            }
+        }
+    }
+}
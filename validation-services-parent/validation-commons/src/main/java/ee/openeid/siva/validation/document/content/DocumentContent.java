@@ -0,0 +1,49 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.validation.document.content;
+
+import eu.europa.esig.dss.model.DSSDocument;
+
+import java.io.InputStream;
+
+/**
+ * Content of a document under validation. Depending on its size the content is kept in a heap byte array, in a
+ * temporary file or in a memory-mapped region of a temporary file.
+ */
+public interface DocumentContent extends AutoCloseable {
+
+    long getSize();
+
+    InputStream openStream();
+
+    /**
+     * Reads the whole content into a byte array. Prefer {@link #openStream()} for content that is not kept in memory.
+     */
+    byte[] getBytes();
+
+    /**
+     * Creates a DSS document reading from the same storage as this content, without copying it to the heap.
+     */
+    DSSDocument toDssDocument();
+
+    boolean isInMemory();
+
+    /**
+     * Releases the storage of this content. The content must not be used afterwards.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.validation.document.content;
+
+import ee.openeid.siva.validation.configuration.DocumentContentProperties;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Creates document content for validation, moving documents above the configured size threshold off the heap.
+ */
+@RequiredArgsConstructor
+public class DocumentContentFactory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentContentFactory.class);
+    private static final String TEMPORARY_FILE_PREFIX = "siva-document-";
+
+    @NonNull
+    private final DocumentContentProperties properties;
+
+    public DocumentContent create(@NonNull byte[] bytes) {
+        if (bytes.length < properties.getOffHeapThreshold().toBytes()) {
+            return new InMemoryDocumentContent(bytes);
+        }
+        Path file = null;
+        try {
+            file = createTemporaryFile();
+            Files.write(file, bytes);
+            return properties.getStorage() == DocumentContentProperties.Storage.MEMORY_MAPPED
+                    ? new MappedDocumentContent(file)
+                    : new FileDocumentContent(file);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to move document of {} bytes off the heap, keeping it in memory: {}", bytes.length, e.getMessage());
+            deleteQuietly(file);
+            return new InMemoryDocumentContent(bytes);
+        }
+    }
+
+    private Path createTemporaryFile() throws IOException {
+        if (properties.getTemporaryDirectory() == null) {
+            return Files.createTempFile(TEMPORARY_FILE_PREFIX, null);
+        }
+        Path directory = Files.createDirectories(Paths.get(properties.getTemporaryDirectory()));
+        return Files.createTempFile(directory, TEMPORARY_FILE_PREFIX, null);
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete temporary document file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.validation.document.content;
+
+import eu.europa.esig.dss.model.DSSDocument;
+import eu.europa.esig.dss.model.InMemoryDocument;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+@RequiredArgsConstructor
+public class InMemoryDocumentContent implements DocumentContent {
+
+    @NonNull
+    private final byte[] bytes;
+
+    @Override
+    public long getSize() {
+        return bytes.length;
+    }
+
+    @Override
+    public InputStream openStream() {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public DSSDocument toDssDocument() {
+        return new InMemoryDocument(bytes);
+    }
+
+    @Override
+    public boolean isInMemory() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release, the byte array is garbage collected with this content
+    }
+}
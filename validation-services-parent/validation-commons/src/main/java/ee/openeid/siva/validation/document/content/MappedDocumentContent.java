@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.validation.document.content;
+
+import eu.europa.esig.dss.model.CommonDocument;
+import eu.europa.esig.dss.model.DSSDocument;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Document content read through a read-only memory mapping of a temporary file. The file is deleted when the content
+ * is closed, the mapping itself is released once it is no longer referenced.
+ */
+public class MappedDocumentContent extends FileDocumentContent {
+
+    private final MappedByteBuffer buffer;
+
+    public MappedDocumentContent(@NonNull Path file) throws IOException {
+        super(file);
+        if (getSize() > Integer.MAX_VALUE) {
+            throw new IOException("Document of " + getSize() + " bytes is too large to be mapped into memory");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, getSize());
+        }
+    }
+
+    @Override
+    public InputStream openStream() {
+        return new ByteBufferInputStream(buffer.duplicate());
+    }
+
+    @Override
+    public byte[] getBytes() {
+        byte[] bytes = new byte[(int) getSize()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public DSSDocument toDssDocument() {
+        return new MappedDocument();
+    }
+
+    private class MappedDocument extends CommonDocument {
+
+        MappedDocument() {
+            setName(getFile().getFileName().toString());
+        }
+
+        @Override
+        public InputStream openStream() {
+            return MappedDocumentContent.this.openStream();
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -18,9 +18,15 @@ package ee.openeid.siva.validation.document.report;
 
 import lombok.Data;
 
+import java.util.function.Supplier;
+
 @Data
 public class Reports {
 
+    public enum Type {
+        SIMPLE, DETAILED, DIAGNOSTIC
+    }
+
     SimpleReport simpleReport;
     DetailedReport detailedReport;
     DiagnosticReport diagnosticReport;
@@ -34,4 +40,23 @@ public class Reports {
         this.detailedReport = detailedReport;
         this.diagnosticReport = diagnosticReport;
     }
+
+    /**
+     * Creates reports containing only the requested report type. The simple report is always present as it is the
+     * base of the other report types; detailed and diagnostic reports are built only when requested.
+     *
+     * @param requestedType requested report type or {@code null} to build all report types
+     */
+    public static Reports of(Type requestedType, SimpleReport simpleReport,
+                             Supplier<DetailedReport> detailedReport, Supplier<DiagnosticReport> diagnosticReport) {
+        return new Reports(
+                simpleReport,
+                isRequested(requestedType, Type.DETAILED) ? detailedReport.get() : null,
+                isRequested(requestedType, Type.DIAGNOSTIC) ? diagnosticReport.get() : null
+        );
+    }
+
+    private static boolean isRequested(Type requestedType, Type type) {
+        return requestedType == null || requestedType == type;
+    }
 }
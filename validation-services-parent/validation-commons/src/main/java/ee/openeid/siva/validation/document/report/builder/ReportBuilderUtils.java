@@ -16,12 +16,14 @@
 
 package ee.openeid.siva.validation.document.report.builder;
 
+import ee.openeid.siva.validation.document.ValidationDocument;
 import ee.openeid.siva.validation.document.report.Error;
 import ee.openeid.siva.validation.document.report.*;
 import ee.openeid.siva.validation.service.signature.policy.properties.ValidationPolicy;
 
 import eu.europa.esig.dss.diagnostic.TimestampWrapper;
 import eu.europa.esig.dss.diagnostic.jaxb.XmlDigestMatcher;
+import eu.europa.esig.dss.enumerations.DigestAlgorithm;
 import eu.europa.esig.dss.enumerations.SignatureQualification;
 import eu.europa.esig.dss.spi.DSSASN1Utils;
 import lombok.NoArgsConstructor;
@@ -38,6 +40,7 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Base64;
 import java.util.TimeZone;
+import java.util.function.Supplier;
 
 import static lombok.AccessLevel.PRIVATE;
 
@@ -80,20 +83,28 @@ public final class ReportBuilderUtils {
     }
 
     public static ValidatedDocument createValidatedDocument(boolean reportSignatureEnabled, String filename, byte[] document) {
-        if (StringUtils.isBlank(filename) && !reportSignatureEnabled) {
-            return null;
-        }
-        ValidatedDocument validatedDocument = new ValidatedDocument();
-        if (reportSignatureEnabled) {
-            String documentHash;
+        return createValidatedDocument(reportSignatureEnabled, filename, () -> {
             try {
-                MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
-                documentHash = Base64.getEncoder().encodeToString(messageDigest.digest(document));
+                return MessageDigest.getInstance(DigestAlgorithm.SHA256.getJavaName()).digest(document);
             } catch (NoSuchAlgorithmException e) {
                 throw new IllegalArgumentException(e);
             }
+        });
+    }
 
-            validatedDocument.setFileHash(documentHash);
+    public static ValidatedDocument createValidatedDocument(boolean reportSignatureEnabled, ValidationDocument validationDocument) {
+        return createValidatedDocument(reportSignatureEnabled, validationDocument.getName(),
+                validationDocument::getSha256Digest);
+    }
+
+    private static ValidatedDocument createValidatedDocument(boolean reportSignatureEnabled, String filename,
+                                                             Supplier<byte[]> sha256Digest) {
+        if (StringUtils.isBlank(filename) && !reportSignatureEnabled) {
+            return null;
+        }
+        ValidatedDocument validatedDocument = new ValidatedDocument();
+        if (reportSignatureEnabled) {
+            validatedDocument.setFileHash(Base64.getEncoder().encodeToString(sha256Digest.get()));
             validatedDocument.setHashAlgo(DIGEST_ALGO);
         }
         validatedDocument.setFilename(filename);
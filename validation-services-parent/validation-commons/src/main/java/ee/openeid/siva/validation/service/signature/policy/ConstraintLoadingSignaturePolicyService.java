@@ -18,6 +18,7 @@ package ee.openeid.siva.validation.service.signature.policy;
 
 import ee.openeid.siva.validation.service.signature.policy.properties.ConstraintDefinedPolicy;
 import ee.openeid.siva.validation.service.signature.policy.properties.SignaturePolicyProperties;
+import eu.europa.esig.dss.policy.ValidationPolicyFacade;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +41,7 @@ public class ConstraintLoadingSignaturePolicyService extends SignaturePolicyServ
                 InputStream policyDataStream = new ByteArrayInputStream(policyData);
                 validateAgainstSchema(policyDataStream);
                 policy.setConstraintData(policyData);
+                policy.setDssValidationPolicy(ValidationPolicyFacade.newFacade().getValidationPolicy(new ByteArrayInputStream(policyData)));
                 ConstraintDefinedPolicy existingPolicyData = getSignaturePolicies().putIfAbsent(policy.getName(), policy);
                 if (existingPolicyData == null) {
                     LOGGER.info("Policy: " + policy + " loaded successfully");
@@ -16,6 +16,7 @@
 
 package ee.openeid.siva.validation.service.signature.policy.properties;
 
+import eu.europa.esig.dss.validation.executor.ValidationLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -27,10 +28,18 @@ import java.io.InputStream;
 @Getter
 @Setter
 @NoArgsConstructor
-@ToString(exclude = "constraintData")
+@ToString(exclude = {"constraintData", "dssValidationPolicy"})
 public class ConstraintDefinedPolicy extends ValidationPolicy {
     private String constraintPath;
     private byte[] constraintData;
+    /**
+     * Constraints unmarshalled once when the policy is loaded, shared read-only by all validations using this policy.
+     */
+    private eu.europa.esig.dss.policy.ValidationPolicy dssValidationPolicy;
+    /**
+     * Validation level used when the request does not specify one, {@code null} for the service default.
+     */
+    private ValidationLevel validationLevel;
 
     public ConstraintDefinedPolicy(ValidationPolicy validationPolicy) {
         setName(validationPolicy.getName());
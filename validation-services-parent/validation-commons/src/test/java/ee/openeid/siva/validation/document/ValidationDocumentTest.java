@@ -0,0 +1,94 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.validation.document;
+
+import ee.openeid.siva.validation.document.content.DocumentContent;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ValidationDocumentTest {
+
+    private static final byte[] DOCUMENT = "Document content".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void digestIsComputedOnce() throws Exception {
+        DocumentContent content = mock(DocumentContent.class);
+        when(content.openStream()).thenAnswer(invocation -> new ByteArrayInputStream(DOCUMENT));
+        ValidationDocument validationDocument = new ValidationDocument();
+        validationDocument.setContent(content);
+
+        byte[] sha256 = MessageDigest.getInstance("SHA-256").digest(DOCUMENT);
+        assertArrayEquals(sha256, validationDocument.getSha256Digest());
+        assertArrayEquals(sha256, validationDocument.getSha256Digest());
+        verify(content, times(1)).openStream();
+    }
+
+    @Test
+    void returnedDigestCanNotModifyCachedDigest() throws Exception {
+        ValidationDocument validationDocument = new ValidationDocument();
+        validationDocument.setBytes(DOCUMENT);
+
+        validationDocument.getSha256Digest()[0] ^= 1;
+
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(DOCUMENT), validationDocument.getSha256Digest());
+    }
+
+    @Test
+    void digestIsRecomputedWhenBytesAreReplaced() throws Exception {
+        byte[] otherDocument = "Other document content".getBytes(StandardCharsets.UTF_8);
+        ValidationDocument validationDocument = new ValidationDocument();
+        validationDocument.setBytes(DOCUMENT);
+        validationDocument.getSha256Digest();
+
+        validationDocument.setBytes(otherDocument);
+
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(otherDocument), validationDocument.getSha256Digest());
+    }
+
+    @Test
+    void digestIsRecomputedWhenContentIsReplaced() throws Exception {
+        DocumentContent content = mock(DocumentContent.class);
+        when(content.openStream()).thenAnswer(invocation -> new ByteArrayInputStream(DOCUMENT));
+        ValidationDocument validationDocument = new ValidationDocument();
+        validationDocument.setSha256Digest(new byte[]{1, 2, 3});
+
+        validationDocument.setContent(content);
+
+        assertArrayEquals(MessageDigest.getInstance("SHA-256").digest(DOCUMENT), validationDocument.getSha256Digest());
+    }
+
+    @Test
+    void providedDigestIsReturnedWithoutHashingDocument() {
+        DocumentContent content = mock(DocumentContent.class);
+        ValidationDocument validationDocument = new ValidationDocument();
+        validationDocument.setContent(content);
+
+        validationDocument.setSha256Digest(new byte[]{1, 2, 3});
+
+        assertArrayEquals(new byte[]{1, 2, 3}, validationDocument.getSha256Digest());
+        verify(content, never()).openStream();
+    }
+}
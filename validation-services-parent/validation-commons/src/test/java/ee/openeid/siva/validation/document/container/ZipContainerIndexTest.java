@@ -0,0 +1,294 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.validation.document.container;
+
+import ee.openeid.siva.validation.document.ValidationDocument;
+import ee.openeid.siva.validation.document.content.DocumentContent;
+import ee.openeid.siva.validation.exception.MalformedDocumentException;
+import eu.europa.esig.dss.model.DSSDocument;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipContainerIndexTest {
+
+    private static final byte[] MIMETYPE = "application/vnd.etsi.asic-s+zip".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DATA_FILE = "Data file content, data file content, data file content".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void entriesAreListedInContainerOrder() throws IOException {
+        ZipContainerIndex index = ZipContainerIndex.of(createContainer());
+
+        List<String> names = index.getEntries().stream()
+                .map(ZipContainerIndex.Entry::getName)
+                .collect(Collectors.toList());
+        assertEquals(List.of("mimetype", "META-INF/", "test.txt"), names);
+        assertTrue(index.getEntries().get(1).isDirectory());
+        assertFalse(index.getEntries().get(2).isDirectory());
+    }
+
+    @Test
+    void storedAndDeflatedEntriesAreInflated() throws IOException {
+        ZipContainerIndex index = ZipContainerIndex.of(createContainer());
+
+        assertArrayEquals(MIMETYPE, index.findEntry("mimetype").orElseThrow().getBytes());
+        assertArrayEquals(DATA_FILE, index.findEntry("test.txt").orElseThrow().getBytes());
+        assertEquals(DATA_FILE.length, index.findEntry("test.txt").orElseThrow().getSize());
+        try (InputStream inputStream = index.findEntry("test.txt").orElseThrow().openStream()) {
+            assertArrayEquals(DATA_FILE, inputStream.readAllBytes());
+        }
+    }
+
+    @Test
+    void entryIsInflatedOnEveryRequest() throws IOException {
+        ZipContainerIndex.Entry entry = ZipContainerIndex.of(createContainer()).findEntry("test.txt").orElseThrow();
+
+        byte[] content = entry.getBytes();
+        assertNotSame(content, entry.getBytes());
+        assertArrayEquals(content, entry.getBytes());
+    }
+
+    @Test
+    void zipEntryCarriesIndexedEntryProperties() throws IOException {
+        ZipEntry zipEntry = ZipContainerIndex.of(createContainer()).findEntry("test.txt").orElseThrow().toZipEntry();
+
+        CRC32 crc = new CRC32();
+        crc.update(DATA_FILE);
+        assertEquals("test.txt", zipEntry.getName());
+        assertEquals(DATA_FILE.length, zipEntry.getSize());
+        assertEquals(crc.getValue(), zipEntry.getCrc());
+        assertEquals(ZipEntry.DEFLATED, zipEntry.getMethod());
+    }
+
+    @Test
+    void emptyContentProducesEmptyIndex() throws IOException {
+        ByteArrayOutputStream emptyArchive = new ByteArrayOutputStream();
+        new ZipOutputStream(emptyArchive).close();
+
+        assertTrue(ZipContainerIndex.of(new byte[0]).getEntries().isEmpty());
+        assertTrue(ZipContainerIndex.of(emptyArchive.toByteArray()).getEntries().isEmpty());
+    }
+
+    @Test
+    void nonZipContentIsMalformed() {
+        assertThrows(MalformedDocumentException.class, () -> ZipContainerIndex.of("not a zip container".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void corruptEntryContentIsMalformedWhenInflated() throws IOException {
+        byte[] container = createStoredContainer(DATA_FILE);
+        int dataOffset = indexOf(container, DATA_FILE, 0);
+        container[dataOffset] ^= 0x01;
+        ZipContainerIndex.Entry entry = ZipContainerIndex.of(container).findEntry("test.txt").orElseThrow();
+
+        MalformedDocumentException exception = assertThrows(MalformedDocumentException.class, entry::getBytes);
+        assertTrue(exception.getCause() instanceof ZipException);
+    }
+
+    @Test
+    void entriesMatchEntriesReadByZipInputStream() throws IOException {
+        byte[] container = createContainer();
+
+        assertEquals(namesReadByZipInputStream(container), ZipContainerIndex.of(container).getEntries().stream()
+                .map(ZipContainerIndex.Entry::getName)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void centralDirectoryNotMatchingLocalFileHeadersIsMalformed() throws IOException {
+        byte[] container = createContainer();
+        byte[] localName = "test.txt".getBytes(StandardCharsets.UTF_8);
+        int centralDirectoryName = indexOf(container, localName, indexOf(container, localName, 0) + 1);
+        System.arraycopy("evil.txt".getBytes(StandardCharsets.UTF_8), 0, container, centralDirectoryName, localName.length);
+
+        assertThrows(MalformedDocumentException.class, () -> ZipContainerIndex.of(container));
+    }
+
+    @Test
+    void dataPrecedingFirstEntryIsMalformed() throws IOException {
+        byte[] container = createContainer();
+        byte[] prefixedContainer = new byte[container.length + 1];
+        System.arraycopy(container, 0, prefixedContainer, 1, container.length);
+
+        assertThrows(MalformedDocumentException.class, () -> ZipContainerIndex.of(prefixedContainer));
+    }
+
+    @Test
+    void containerWithTooManyEntriesIsMalformed() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            for (int i = 0; i <= ZipContainerIndex.MAX_ENTRY_COUNT; ++i) {
+                zipOutputStream.putNextEntry(new ZipEntry("entry" + i));
+                zipOutputStream.closeEntry();
+            }
+        }
+
+        assertThrows(MalformedDocumentException.class, () -> ZipContainerIndex.of(outputStream.toByteArray()));
+    }
+
+    @Test
+    void containerExceedingCompressionRatioIsMalformed() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            zipOutputStream.putNextEntry(new ZipEntry("zeros"));
+            zipOutputStream.write(new byte[(int) ZipContainerIndex.COMPRESSION_RATIO_THRESHOLD * 2]);
+            zipOutputStream.closeEntry();
+        }
+
+        assertThrows(MalformedDocumentException.class, () -> ZipContainerIndex.of(outputStream.toByteArray()));
+    }
+
+    @Test
+    void indexIsAttachedToValidationDocumentOnFirstUse() throws IOException {
+        ValidationDocument validationDocument = new ValidationDocument();
+        validationDocument.setBytes(createContainer());
+
+        ZipContainerIndex index = ZipContainerIndex.of(validationDocument);
+
+        assertSame(index, validationDocument.getContainerIndex());
+        assertSame(index, ZipContainerIndex.of(validationDocument));
+    }
+
+    @Test
+    void indexOfDocumentKeptInContentIsStreamedFromContent() throws IOException {
+        byte[] container = createContainer();
+        ValidationDocument validationDocument = new ValidationDocument();
+        validationDocument.setContent(new StreamOnlyDocumentContent(container));
+
+        ZipContainerIndex index = ZipContainerIndex.of(validationDocument);
+
+        assertArrayEquals(DATA_FILE, index.findEntry("test.txt").orElseThrow().getBytes());
+        assertSame(index, validationDocument.getContainerIndex());
+    }
+
+    private static byte[] createContainer() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            zipOutputStream.putNextEntry(storedEntry("mimetype", MIMETYPE));
+            zipOutputStream.write(MIMETYPE);
+            zipOutputStream.closeEntry();
+            zipOutputStream.putNextEntry(new ZipEntry("META-INF/"));
+            zipOutputStream.closeEntry();
+            zipOutputStream.putNextEntry(new ZipEntry("test.txt"));
+            zipOutputStream.write(DATA_FILE);
+            zipOutputStream.closeEntry();
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] createStoredContainer(byte[] content) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            zipOutputStream.putNextEntry(storedEntry("test.txt", content));
+            zipOutputStream.write(content);
+            zipOutputStream.closeEntry();
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static ZipEntry storedEntry(String name, byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        entry.setCompressedSize(content.length);
+        entry.setCrc(crc.getValue());
+        return entry;
+    }
+
+    private static List<String> namesReadByZipInputStream(byte[] container) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new ByteArrayInputStream(container))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+
+    private static int indexOf(byte[] array, byte[] target, int fromIndex) {
+        outer:
+        for (int i = fromIndex; i <= array.length - target.length; ++i) {
+            for (int j = 0; j < target.length; ++j) {
+                if (array[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IllegalArgumentException("Content not found");
+    }
+
+    private static class StreamOnlyDocumentContent implements DocumentContent {
+
+        private final byte[] content;
+
+        StreamOnlyDocumentContent(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public long getSize() {
+            return content.length;
+        }
+
+        @Override
+        public InputStream openStream() {
+            return new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public byte[] getBytes() {
+            throw new AssertionError("Content must be streamed");
+        }
+
+        @Override
+        public DSSDocument toDssDocument() {
+            throw new AssertionError("Content must be streamed");
+        }
+
+        @Override
+        public boolean isInMemory() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2022 Riigi Infosüsteemide Amet
+ *
+ * Licensed under the EUPL, Version 1.1 or – as soon they will be approved by
+ * the European Commission - subsequent versions of the EUPL (the "Licence");
+ * You may not use this work except in compliance with the Licence.
+ * You may obtain a copy of the Licence at:
+ *
+ * https://joinup.ec.europa.eu/software/page/eupl
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the Licence is
+ * distributed on an "AS IS" basis,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the Licence for the specific language governing permissions and limitations under the Licence.
+ */
+package ee.openeid.siva.validation.document.content;
+
+import ee.openeid.siva.validation.configuration.DocumentContentProperties;
+import ee.openeid.siva.validation.document.ValidationDocument;
+import eu.europa.esig.dss.model.DSSDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DocumentContentFactoryTest {
+
+    private static final byte[] SMALL_DOCUMENT = "small".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LARGE_DOCUMENT = "large document content above the threshold".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private DocumentContentProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DocumentContentProperties();
+        properties.setOffHeapThreshold(DataSize.ofBytes(16));
+        properties.setTemporaryDirectory(temporaryDirectory.toString());
+    }
+
+    @Test
+    void documentBelowThresholdIsKeptInMemory() throws IOException {
+        DocumentContent content = new DocumentContentFactory(properties).create(SMALL_DOCUMENT);
+
+        assertInstanceOf(InMemoryDocumentContent.class, content);
+        assertTrue(content.isInMemory());
+        assertEquals(0, countTemporaryFiles());
+    }
+
+    @Test
+    void documentAboveThresholdIsStoredInFile() throws IOException {
+        try (DocumentContent content = new DocumentContentFactory(properties).create(LARGE_DOCUMENT)) {
+            assertInstanceOf(FileDocumentContent.class, content);
+            assertFalse(content.isInMemory());
+            assertEquals(LARGE_DOCUMENT.length, content.getSize());
+            assertContent(content);
+        }
+        assertEquals(0, countTemporaryFiles());
+    }
+
+    @Test
+    void documentAboveThresholdIsMemoryMapped() throws IOException {
+        properties.setStorage(DocumentContentProperties.Storage.MEMORY_MAPPED);
+
+        try (DocumentContent content = new DocumentContentFactory(properties).create(LARGE_DOCUMENT)) {
+            assertInstanceOf(MappedDocumentContent.class, content);
+            assertFalse(content.isInMemory());
+            assertEquals(LARGE_DOCUMENT.length, content.getSize());
+            assertContent(content);
+        }
+        assertEquals(0, countTemporaryFiles());
+    }
+
+    @Test
+    void validationDocumentReadsFromContentWhenBytesAreNotSet() throws IOException {
+        ValidationDocument validationDocument = new ValidationDocument();
+        try (DocumentContent content = new DocumentContentFactory(properties).create(LARGE_DOCUMENT)) {
+            validationDocument.setContent(content);
+
+            assertNull(validationDocument.getBytes());
+            try (InputStream stream = validationDocument.openStream()) {
+                assertArrayEquals(LARGE_DOCUMENT, stream.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    void validationDocumentWithoutContentReadsFromBytes() throws IOException {
+        ValidationDocument validationDocument = new ValidationDocument();
+        validationDocument.setBytes(SMALL_DOCUMENT);
+
+        assertNull(validationDocument.getContent());
+        try (InputStream stream = validationDocument.openStream()) {
+            assertArrayEquals(SMALL_DOCUMENT, stream.readAllBytes());
+        }
+    }
+
+    private static void assertContent(DocumentContent content) throws IOException {
+        assertArrayEquals(LARGE_DOCUMENT, content.getBytes());
+        try (InputStream stream = content.openStream()) {
+            assertArrayEquals(LARGE_DOCUMENT, stream.readAllBytes());
+        }
+        DSSDocument dssDocument = content.toDssDocument();
+        try (InputStream stream = dssDocument.openStream()) {
+            assertArrayEquals(LARGE_DOCUMENT, stream.readAllBytes());
+        }
+    }
+
+    private long countTemporaryFiles() throws IOException {
+        try (Stream<Path> files = Files.list(temporaryDirectory)) {
+            return files.count();
+        }
+    }
+}
@@ -75,6 +75,14 @@ public class ConstraintLoadingSignaturePolicyServiceTest {
         assertNotNull(signaturePolicyService.getPolicy("pol1"));
     }
 
+    @Test
+    public void loadedPolicyConstraintsAreParsedOnceAndShared() {
+        ConstraintDefinedPolicy pol1 = createValidationPolicy("pol1", VALID_CLASSPATH_CONSTRAINT);
+        ConstraintLoadingSignaturePolicyService signaturePolicyService = createSignaturePolicyService("pol1", pol1);
+        assertNotNull(signaturePolicyService.getPolicy("pol1").getDssValidationPolicy());
+        assertSame(signaturePolicyService.getPolicy("pol1").getDssValidationPolicy(), signaturePolicyService.getPolicy(null).getDssValidationPolicy());
+    }
+
     @Test
     public void settingInvalidPolicyFromClasspathResourceGetsNotLoaded() {
         ConstraintDefinedPolicy pol1 = createValidationPolicy("pol1", INVALID_CLASSPATH_CONSTRAINT);